@@ -16,19 +16,46 @@ import java.util.Objects;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.ls.core.internal.managers.BasicFileDetector;
 
 public abstract class AbstractProjectImporter implements IProjectImporter {
 
 	protected File rootFolder;
 
+	private BasicFileDetector fileDetector;
+
 	@Override
 	public void initialize(File rootFolder) {
 		if (!Objects.equals(this.rootFolder, rootFolder)) {
 			reset();
+			fileDetector = null;
 		}
 		this.rootFolder = rootFolder;
 	}
 
+	/**
+	 * Returns the detector of the build files this importer is looking for in
+	 * the root folder, so that the build files of all the importers can be
+	 * found by a single scan of the root folder.
+	 *
+	 * @return the detector, or <code>null</code> if this importer doesn't look
+	 *         for build files
+	 */
+	public BasicFileDetector getFileDetector() {
+		if (fileDetector == null && rootFolder != null) {
+			fileDetector = createFileDetector();
+		}
+		return fileDetector;
+	}
+
+	/**
+	 * @return a new detector of the build files of the root folder, or
+	 *         <code>null</code>
+	 */
+	protected BasicFileDetector createFileDetector() {
+		return null;
+	}
+
 	@Override
 	public abstract boolean applies(IProgressMonitor monitor) throws OperationCanceledException, CoreException;
 
@@ -335,7 +335,7 @@ public final class JDTUtils {
 		NAME_RANGE {
 
 			@Override
-			ISourceRange getRange(IJavaElement element) throws JavaModelException {
+			public ISourceRange getRange(IJavaElement element) throws JavaModelException {
 				return getNameRange(element);
 			}
 
@@ -348,13 +348,13 @@ public final class JDTUtils {
 		FULL_RANGE {
 
 			@Override
-			ISourceRange getRange(IJavaElement element) throws JavaModelException {
+			public ISourceRange getRange(IJavaElement element) throws JavaModelException {
 				return getSourceRange(element);
 			}
 
 		};
 
-		/* default */ abstract ISourceRange getRange(IJavaElement element) throws JavaModelException;
+		public abstract ISourceRange getRange(IJavaElement element) throws JavaModelException;
 	}
 
 	/**
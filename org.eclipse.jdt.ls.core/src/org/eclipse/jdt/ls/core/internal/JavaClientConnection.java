@@ -12,16 +12,26 @@
 package org.eclipse.jdt.ls.core.internal;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.ls.core.internal.handlers.LogHandler;
 import org.eclipse.jdt.ls.core.internal.lsp.ExecuteCommandProposedClient;
 import org.eclipse.lsp4j.ApplyWorkspaceEditParams;
 import org.eclipse.lsp4j.ApplyWorkspaceEditResponse;
 import org.eclipse.lsp4j.Command;
+import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.ExecuteCommandParams;
 import org.eclipse.lsp4j.MessageActionItem;
 import org.eclipse.lsp4j.MessageParams;
@@ -68,10 +78,30 @@ public class JavaClientConnection {
 	private final LogHandler logHandler;
 	private final JavaLanguageClient client;
 
+	// the non empty diagnostics last published, by document URI, also held while sending the diagnostics,
+	// so that the pending diagnostics flushed for a document aren't sent after newer ones
+	private final Map<String, List<Diagnostic>> publishedDiagnostics = new HashMap<>();
+
+	// the diagnostics waiting to be published, by document URI, in the order of their first publish
+	private final Map<String, PublishDiagnosticsParams> pendingDiagnostics = new LinkedHashMap<>();
+
+	private final Job diagnosticsJob = new Job("Publish diagnostics") {
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			flushDiagnostics();
+			return Status.OK_STATUS;
+		}
+	};
+
+	private long diagnosticsDelay;
+	private final AtomicLong sentDiagnostics = new AtomicLong();
+	private final AtomicLong suppressedDiagnostics = new AtomicLong();
+
 	public JavaClientConnection(JavaLanguageClient client) {
 		this.client = client;
 		logHandler = new LogHandler();
 		logHandler.install(this);
+		diagnosticsJob.setSystem(true);
 	}
 
 	public Object executeClientCommand(Duration timeout, String id, Object... params) throws InterruptedException, ExecutionException, TimeoutException {
@@ -163,10 +193,112 @@ public class JavaClientConnection {
 		client.sendActionableNotification(notification);
 	}
 
-	public void publishDiagnostics(PublishDiagnosticsParams diagnostics){
+	/**
+	 * Sets how long the diagnostics published with
+	 * {@link #publishDiagnostics(PublishDiagnosticsParams)} are retained before
+	 * being sent to the client, so that several publishes of a document within
+	 * that time are coalesced into the last one. The diagnostics are sent
+	 * immediately when the delay is <code>0</code>, which is the default.
+	 *
+	 * @param delay
+	 *            the delay in milliseconds
+	 */
+	public void setDiagnosticsDelay(long delay) {
+		this.diagnosticsDelay = delay;
+		if (delay <= 0) {
+			flushDiagnostics();
+		}
+	}
+
+	/**
+	 * Publishes the given diagnostics, e.g. the markers of a resource, after the
+	 * diagnostics delay. Only the last diagnostics published for a document
+	 * during the delay are sent, unless they are the same as the ones last
+	 * published for the document.
+	 */
+	public void publishDiagnostics(PublishDiagnosticsParams diagnostics) {
+		publishDiagnostics(diagnostics, false);
+	}
+
+	/**
+	 * Publishes the given diagnostics, unless they are the same as the ones
+	 * last published for the document.
+	 *
+	 * @param diagnostics
+	 *            the diagnostics to publish
+	 * @param immediately
+	 *            whether the diagnostics are sent right away, and replace the
+	 *            pending ones of the document, e.g. the diagnostics of an open
+	 *            document which has just been reconciled
+	 */
+	public void publishDiagnostics(PublishDiagnosticsParams diagnostics, boolean immediately) {
+		if (!immediately && diagnosticsDelay > 0) {
+			synchronized (pendingDiagnostics) {
+				if (pendingDiagnostics.put(diagnostics.getUri(), diagnostics) != null) {
+					suppressedDiagnostics.incrementAndGet();
+				}
+			}
+			diagnosticsJob.schedule(diagnosticsDelay);
+			return;
+		}
+		synchronized (publishedDiagnostics) {
+			synchronized (pendingDiagnostics) {
+				if (pendingDiagnostics.remove(diagnostics.getUri()) != null) {
+					suppressedDiagnostics.incrementAndGet();
+				}
+			}
+			send(diagnostics);
+		}
+	}
+
+	/**
+	 * Sends the pending diagnostics to the client right away.
+	 */
+	public void flushDiagnostics() {
+		synchronized (publishedDiagnostics) {
+			List<PublishDiagnosticsParams> pending;
+			synchronized (pendingDiagnostics) {
+				if (pendingDiagnostics.isEmpty()) {
+					return;
+				}
+				pending = new ArrayList<>(pendingDiagnostics.values());
+				pendingDiagnostics.clear();
+			}
+			for (PublishDiagnosticsParams diagnostics : pending) {
+				send(diagnostics);
+			}
+		}
+	}
+
+	// must be called holding the lock of publishedDiagnostics
+	private void send(PublishDiagnosticsParams diagnostics) {
+		List<Diagnostic> list = diagnostics.getDiagnostics();
+		if (list == null || list.isEmpty()) {
+			// clearing the diagnostics is cheap, and always done, e.g. when closing a document
+			publishedDiagnostics.remove(diagnostics.getUri());
+		} else if (list.equals(publishedDiagnostics.put(diagnostics.getUri(), list))) {
+			suppressedDiagnostics.incrementAndGet();
+			return;
+		}
+		sentDiagnostics.incrementAndGet();
 		client.publishDiagnostics(diagnostics);
 	}
 
+	/**
+	 * @return the number of diagnostics notifications sent to the client
+	 */
+	public long getSentDiagnosticsCount() {
+		return sentDiagnostics.get();
+	}
+
+	/**
+	 * @return the number of diagnostics notifications not sent to the client,
+	 *         because they were superseded by a later publish of the same
+	 *         document, or were the same as the ones last published
+	 */
+	public long getSuppressedDiagnosticsCount() {
+		return suppressedDiagnostics.get();
+	}
 
 	/**
 	 * Sends a message to client to apply the given workspace edit.
@@ -204,6 +336,8 @@ public class JavaClientConnection {
 	}
 
 	public void disconnect() {
+		diagnosticsJob.cancel();
+		flushDiagnostics();
 		if (logHandler != null) {
 			logHandler.uninstall();
 		}
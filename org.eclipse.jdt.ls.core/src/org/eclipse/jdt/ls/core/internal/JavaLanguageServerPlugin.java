@@ -51,9 +51,12 @@ import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
 import org.eclipse.jdt.internal.core.manipulation.MembersOrderPreferenceCacheCommon;
 import org.eclipse.jdt.ls.core.internal.JavaClientConnection.JavaLanguageClient;
 import org.eclipse.jdt.ls.core.internal.handlers.JDTLanguageServer;
+import org.eclipse.jdt.ls.core.internal.handlers.LogHandler;
 import org.eclipse.jdt.ls.core.internal.managers.ContentProviderManager;
+import org.eclipse.jdt.ls.core.internal.managers.DecompiledSourceCache;
 import org.eclipse.jdt.ls.core.internal.managers.DigestStore;
 import org.eclipse.jdt.ls.core.internal.managers.ProjectsManager;
+import org.eclipse.jdt.ls.core.internal.managers.TypeNameIndex;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
 import org.eclipse.lsp4j.jsonrpc.Launcher;
 import org.eclipse.lsp4j.jsonrpc.MessageConsumer;
@@ -91,6 +94,10 @@ public class JavaLanguageServerPlugin extends Plugin {
 	public static final String DEFAULT_MEMBER_SORT_ORDER = "T,SF,SI,SM,F,I,C,M"; //$NON-NLS-1$
 
 
+	private static final boolean DEBUG = Boolean.getBoolean("jdt.ls.debug");
+	// the severities logged, set by the log.level system property
+	private static final int LOG_LEVEL_MASK = LogHandler.getLogLevelMask(System.getProperty("log.level", ""));
+
 	private static JavaLanguageServerPlugin pluginInstance;
 	private static BundleContext context;
 	private ServiceTracker<IProxyService, IProxyService> proxyServiceTracker = null;
@@ -101,6 +108,7 @@ public class JavaLanguageServerPlugin extends Plugin {
 	private LanguageServer languageServer;
 	private ProjectsManager projectsManager;
 	private DigestStore digestStore;
+	private TypeNameIndex typeNameIndex;
 	private ContentProviderManager contentProviderManager;
 
 	private JDTLanguageServer protocol;
@@ -144,7 +152,7 @@ public class JavaLanguageServerPlugin extends Plugin {
 		} catch (CoreException e) {
 			logException(e.getMessage(), e);
 		}
-		contentProviderManager = new ContentProviderManager(preferenceManager);
+		contentProviderManager = new ContentProviderManager(preferenceManager, new DecompiledSourceCache(getStateLocation().toFile()));
 		logInfo(getClass() + " is started");
 		configureProxy();
 	}
@@ -314,6 +322,12 @@ public class JavaLanguageServerPlugin extends Plugin {
 		JavaLanguageServerPlugin.pluginInstance = null;
 		JavaLanguageServerPlugin.context = null;
 		ResourcesPlugin.getWorkspace().removeSaveParticipant(IConstants.PLUGIN_ID);
+		synchronized (this) {
+			if (typeNameIndex != null) {
+				typeNameIndex.uninstall();
+				typeNameIndex = null;
+			}
+		}
 		projectsManager = null;
 		contentProviderManager = null;
 		languageServer = null;
@@ -328,7 +342,7 @@ public class JavaLanguageServerPlugin extends Plugin {
 	}
 
 	public static void log(IStatus status) {
-		if (context != null) {
+		if (context != null && status.matches(LOG_LEVEL_MASK)) {
 			Platform.getLog(JavaLanguageServerPlugin.context.getBundle()).log(status);
 		}
 	}
@@ -338,19 +352,37 @@ public class JavaLanguageServerPlugin extends Plugin {
 	}
 
 	public static void logError(String message) {
-		if (context != null) {
+		if (context != null && isLoggable(IStatus.ERROR)) {
 			log(new Status(IStatus.ERROR, context.getBundle().getSymbolicName(), message));
 		}
 	}
 
 	public static void logInfo(String message) {
-		if (context != null) {
+		if (context != null && isLoggable(IStatus.INFO)) {
 			log(new Status(IStatus.INFO, context.getBundle().getSymbolicName(), message));
 		}
 	}
 
+	/**
+	 * Returns whether the messages of the given severity are logged, according
+	 * to the <code>log.level</code> system property. Callers can check it
+	 * before building costly messages.
+	 */
+	public static boolean isLoggable(int severity) {
+		return (severity & LOG_LEVEL_MASK) != 0;
+	}
+
+	/**
+	 * Returns whether the verbose messages, e.g. the ones logged on every
+	 * reconcile, are logged. Enabled by the <code>jdt.ls.debug</code> system
+	 * property. Callers check it before building such messages.
+	 */
+	public static boolean isDebugEnabled() {
+		return DEBUG;
+	}
+
 	public static void logException(String message, Throwable ex) {
-		if (context != null) {
+		if (context != null && isLoggable(IStatus.ERROR)) {
 			log(new Status(IStatus.ERROR, context.getBundle().getSymbolicName(), message, ex));
 		}
 	}
@@ -379,6 +411,27 @@ public class JavaLanguageServerPlugin extends Plugin {
 		return pluginInstance.digestStore;
 	}
 
+	/**
+	 * Returns the type name index, installing it on the first call, so that
+	 * the workspace is only indexed if it is actually queried.
+	 *
+	 * @return the type name index, or <code>null</code> if the plugin is not
+	 *         started
+	 */
+	public static TypeNameIndex getTypeNameIndex() {
+		JavaLanguageServerPlugin plugin = pluginInstance;
+		if (plugin == null) {
+			return null;
+		}
+		synchronized (plugin) {
+			if (plugin.typeNameIndex == null && JavaLanguageServerPlugin.pluginInstance == plugin) {
+				plugin.typeNameIndex = new TypeNameIndex(plugin.getStateLocation().toFile());
+				plugin.typeNameIndex.install();
+			}
+			return plugin.typeNameIndex;
+		}
+	}
+
 	/**
 	 * @return
 	 */
@@ -398,8 +451,7 @@ public class JavaLanguageServerPlugin extends Plugin {
 		out = System.out;
 		err = System.err;
 		System.setIn(new ByteArrayInputStream(new byte[0]));
-		boolean isDebug = Boolean.getBoolean("jdt.ls.debug");
-		if (isDebug) {
+		if (DEBUG) {
 			String id = "jdt.ls-" + new SimpleDateFormat("yyyyMMddHHmmss").format(new Date());
 			IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
 			File workspaceFile = root.getRawLocation().makeAbsolute().toFile();
@@ -11,8 +11,13 @@
 package org.eclipse.jdt.ls.core.internal;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.IWorkspaceRunnable;
@@ -22,8 +27,10 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
 import org.eclipse.core.runtime.jobs.IJobManager;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
 import org.eclipse.jdt.ls.core.internal.handlers.InitHandler;
 import org.eclipse.m2e.core.internal.embedder.MavenExecutionContext;
 import org.eclipse.m2e.core.internal.jobs.IBackgroundProcessingQueue;
@@ -31,6 +38,9 @@ import org.eclipse.m2e.core.internal.jobs.IBackgroundProcessingQueue;
 /**
  * Copied from m2e's org.eclipse.m2e.tests.common/src/org/eclipse/m2e/tests/common/JobHelpers.java
  *
+ * The waits are driven by the job change events instead of polling the job
+ * manager, and the time spent waiting is recorded per kind of wait, see
+ * {@link #getWaitStatistics()}.
  */
 @SuppressWarnings("restriction")
 public final class JobHelpers {
@@ -39,7 +49,7 @@ public final class JobHelpers {
 		//no instantiation
 	}
 
-	private static final int POLLING_DELAY = 10;
+	private static final Map<String, WaitStatistics> WAIT_STATISTICS = new ConcurrentHashMap<>();
 
 	public static void waitForJobsToComplete() {
 		try {
@@ -50,6 +60,15 @@ public final class JobHelpers {
 	}
 
 	public static void waitForJobsToComplete(IProgressMonitor monitor) throws InterruptedException, CoreException {
+		long start = System.nanoTime();
+		try {
+			doWaitForJobsToComplete(monitor);
+		} finally {
+			recordWait("jobs to complete", start);
+		}
+	}
+
+	private static void doWaitForJobsToComplete(IProgressMonitor monitor) throws InterruptedException, CoreException {
 		waitForBuildJobs();
 
 		/*
@@ -81,14 +100,10 @@ public final class JobHelpers {
 				}
 			}, workspace.getRoot(), 0, monitor);
 
-			// Now we flush all background processing queues
+			// Now we flush all background processing queues, flushing a queue joins it first
 			boolean processed = flushProcessingQueues(jobManager, monitor);
 			for(int i = 0; i < 10 && processed; i++ ) {
 				processed = flushProcessingQueues(jobManager, monitor);
-				try {
-					Thread.sleep(10);
-				} catch(InterruptedException e) {
-				}
 			}
 			if (processed) {
 				JavaLanguageServerPlugin.logInfo("Could not flush background processing queues: " + getProcessingQueues(jobManager));
@@ -139,38 +154,177 @@ public final class JobHelpers {
 	}
 
 	public static void waitForInitializeJobs() {
-		waitForJobs(InitializeJobMatcher.INSTANCE, 300000);
+		long start = System.nanoTime();
+		try {
+			waitForJobs(InitializeJobMatcher.INSTANCE, 300000);
+		} finally {
+			recordWait("initialize jobs", start);
+		}
 	}
 
+	/**
+	 * Waits until no job matching the given matcher is scheduled or running,
+	 * without polling: the matching jobs are checked again only when one of
+	 * them is done or a new one is scheduled. The sleeping matching jobs are
+	 * woken up.
+	 *
+	 * @param matcher
+	 *            the matcher of the jobs to wait for
+	 * @param maxWaitMillis
+	 *            the maximum time to wait
+	 */
 	public static void waitForJobs(IJobMatcher matcher, int maxWaitMillis) {
-		final long limit = System.currentTimeMillis() + maxWaitMillis;
-		while(true) {
-			Job job = getJob(matcher);
-			if(job == null) {
-				return;
-			}
-			boolean timeout = System.currentTimeMillis() > limit;
-			if (timeout) {
-				JavaLanguageServerPlugin.logInfo("Timeout while waiting for completion of job: " + job);
-				break;
-			}
-			job.wakeUp();
-			try {
-				Thread.sleep(POLLING_DELAY);
-			} catch(InterruptedException e) {
-				// ignore and keep waiting
+		IJobManager jobManager = Job.getJobManager();
+		JobChangeListener listener = new JobChangeListener(matcher);
+		// listen before looking for the jobs, so that no change is missed
+		jobManager.addJobChangeListener(listener);
+		try {
+			final long limit = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+			while(true) {
+				long changes = listener.getChanges();
+				Job job = wakeUpJobs(jobManager, matcher);
+				if(job == null) {
+					return;
+				}
+				long remaining = limit - System.nanoTime();
+				if (remaining <= 0) {
+					JavaLanguageServerPlugin.logInfo("Timeout while waiting for completion of job: " + job);
+					break;
+				}
+				try {
+					listener.awaitChange(changes, remaining);
+				} catch(InterruptedException e) {
+					// ignore and keep waiting
+				}
 			}
+		} finally {
+			jobManager.removeJobChangeListener(listener);
 		}
 	}
 
-	private static Job getJob(IJobMatcher matcher) {
-		Job[] jobs = Job.getJobManager().find(null);
-		for(Job job : jobs) {
+	/**
+	 * Wakes up the sleeping jobs matching the given matcher.
+	 *
+	 * @return one of the scheduled or running jobs matching the given matcher,
+	 *         or <code>null</code> if there is none
+	 */
+	private static Job wakeUpJobs(IJobManager jobManager, IJobMatcher matcher) {
+		Job found = null;
+		for(Job job : jobManager.find(null)) {
 			if(matcher.matches(job)) {
-				return job;
+				if (job.getState() == Job.SLEEPING) {
+					job.wakeUp();
+				}
+				found = job;
+			}
+		}
+		return found;
+	}
+
+	private static void recordWait(String kind, long start) {
+		long waited = System.nanoTime() - start;
+		WAIT_STATISTICS.computeIfAbsent(kind, k -> new WaitStatistics()).record(waited);
+		long waitedMillis = TimeUnit.NANOSECONDS.toMillis(waited);
+		if (waitedMillis > 0) {
+			JavaLanguageServerPlugin.logInfo("Waited " + waitedMillis + " ms for " + kind);
+		}
+	}
+
+	/**
+	 * @return the statistics of the waits since the start, by kind of wait
+	 */
+	public static Map<String, WaitStatistics> getWaitStatistics() {
+		return Collections.unmodifiableMap(WAIT_STATISTICS);
+	}
+
+	/**
+	 * The number of waits of a kind, and the time spent waiting.
+	 */
+	public static final class WaitStatistics {
+
+		private final AtomicLong count = new AtomicLong();
+		private final AtomicLong totalNanos = new AtomicLong();
+		private final AtomicLong maxNanos = new AtomicLong();
+
+		private void record(long nanos) {
+			count.incrementAndGet();
+			totalNanos.addAndGet(nanos);
+			maxNanos.accumulateAndGet(nanos, Math::max);
+		}
+
+		public long getCount() {
+			return count.get();
+		}
+
+		public long getTotalMillis() {
+			return TimeUnit.NANOSECONDS.toMillis(totalNanos.get());
+		}
+
+		public long getMaxMillis() {
+			return TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+		}
+
+		@Override
+		public String toString() {
+			return count.get() + " waits, " + getTotalMillis() + " ms in total, " + getMaxMillis() + " ms at most";
+		}
+	}
+
+	/**
+	 * Counts the changes of the jobs matching a matcher: the job manager
+	 * notifies the listeners of the jobs being done after their state
+	 * changed, so the jobs aren't found anymore once notified.
+	 */
+	private static final class JobChangeListener extends JobChangeAdapter {
+
+		private final IJobMatcher matcher;
+		// guarded by this
+		private long changes;
+
+		private JobChangeListener(IJobMatcher matcher) {
+			this.matcher = matcher;
+		}
+
+		@Override
+		public void scheduled(IJobChangeEvent event) {
+			changed(event.getJob());
+		}
+
+		@Override
+		public void sleeping(IJobChangeEvent event) {
+			changed(event.getJob());
+		}
+
+		@Override
+		public void done(IJobChangeEvent event) {
+			changed(event.getJob());
+		}
+
+		private void changed(Job job) {
+			if (matcher.matches(job)) {
+				synchronized (this) {
+					changes++;
+					notifyAll();
+				}
+			}
+		}
+
+		private synchronized long getChanges() {
+			return changes;
+		}
+
+		/**
+		 * Waits until a matching job changes, unless one already did since the
+		 * given number of changes.
+		 */
+		private synchronized void awaitChange(long since, long timeoutNanos) throws InterruptedException {
+			long limit = System.nanoTime() + timeoutNanos;
+			long remaining = timeoutNanos;
+			while (changes == since && remaining > 0) {
+				TimeUnit.NANOSECONDS.timedWait(this, remaining);
+				remaining = limit - System.nanoTime();
 			}
 		}
-		return null;
 	}
 
 	interface IJobMatcher {
@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.contentassist;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.CompletionContext;
+import org.eclipse.jdt.core.CompletionProposal;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.Signature;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.codeassist.InternalCompletionProposal;
+import org.eclipse.jdt.internal.codeassist.RelevanceConstants;
+import org.eclipse.jdt.ls.core.internal.handlers.CompletionResponse;
+
+/**
+ * Reuses the proposals of a previous completion response when the user has
+ * only typed more identifier characters at the same completion location,
+ * instead of running the completion engine again.
+ *
+ * The reused proposals are copies, whose ranges are extended to the new
+ * offset, so that the previous response is left unchanged. Their relevance is
+ * adjusted to the case matching of the new prefix, as the completion engine
+ * would compute it, the other relevance criteria don't depend on the prefix.
+ * The context of the previous response is reused as is, so the prefixes the
+ * snippets depend on are never filtered.
+ */
+public final class CompletionProposalFilter {
+
+	private static final char[] CLASS_KEYWORD = "class".toCharArray();
+	private static final char[] INTERFACE_KEYWORD = "interface".toCharArray();
+
+	private CompletionProposalFilter() {
+		//No public instantiation
+	}
+
+	/**
+	 * Records the state of the document in the given response.
+	 */
+	public static void recordDocumentState(CompletionResponse response, String contents) {
+		CompletionContext context = response.getContext();
+		int offset = response.getOffset();
+		if (context == null || context.getTokenKind() != CompletionContext.TOKEN_KIND_NAME || context.isInJavadoc()) {
+			return;
+		}
+		int tokenStart = context.getTokenStart();
+		if (tokenStart < 0 || tokenStart > offset || offset > contents.length()) {
+			return;
+		}
+		response.setDocumentState(contents.substring(tokenStart, offset), contents);
+	}
+
+	/**
+	 * Returns the proposals of the previous response matching the prefix at the
+	 * given offset, or <code>null</code> if the previous response cannot be
+	 * reused and the completion engine must run.
+	 *
+	 * @param previous
+	 *            the previous response, may be <code>null</code>
+	 * @param uri
+	 *            the uri of the document
+	 * @param contents
+	 *            the current contents of the document
+	 * @param offset
+	 *            the completion offset
+	 */
+	public static List<CompletionProposal> filter(CompletionResponse previous, String uri, String contents, int offset) {
+		if (previous == null || !previous.isComplete() || previous.getPrefix() == null || previous.getPrefix().isEmpty() || !uri.equals(previous.getUri())) {
+			return null;
+		}
+		int previousOffset = previous.getOffset();
+		int tokenStart = previous.getContext().getTokenStart();
+		int delta = offset - previousOffset;
+		// the document must be unchanged, except for the characters typed at the end of the prefix
+		if (delta <= 0 || offset > contents.length()) {
+			return null;
+		}
+		String prefix = contents.substring(tokenStart, offset);
+		if (!prefix.startsWith(previous.getPrefix())) {
+			return null;
+		}
+		for (int i = previousOffset; i < offset; i++) {
+			if (!Character.isJavaIdentifierPart(contents.charAt(i))) {
+				return null;
+			}
+		}
+		char[] token = prefix.toCharArray();
+		char[] previousToken = previous.getPrefix().toCharArray();
+		if (isSnippetToken(token) || isSnippetToken(previousToken)) {
+			// the snippets are computed from the token of the context, which is the previous one
+			return null;
+		}
+		String previousContents = previous.getContents();
+		if (previousContents == null || previousContents.length() + delta != contents.length() || !previousContents.regionMatches(0, contents, 0, previousOffset)
+				|| !previousContents.regionMatches(previousOffset, contents, offset, previousContents.length() - previousOffset)) {
+			return null;
+		}
+		boolean camelCase = JavaCore.ENABLED.equals(JavaCore.getOption(JavaCore.CODEASSIST_CAMEL_CASE_MATCH));
+		boolean substring = JavaCore.ENABLED.equals(JavaCore.getOption(JavaCore.CODEASSIST_SUBSTRING_MATCH));
+		List<CompletionProposal> proposals = new ArrayList<>();
+		for (CompletionProposal proposal : previous.getProposals()) {
+			char[] name = getMatchName(proposal);
+			if (name == null) {
+				return null;
+			}
+			if (CharOperation.prefixEquals(token, name, false) || (camelCase && CharOperation.camelCaseMatch(token, name)) || (substring && CharOperation.substringMatch(token, name))) {
+				CompletionProposal copy = copy(proposal, previousOffset, delta);
+				if (!(proposal instanceof GetterSetterCompletionProposal)) {
+					// the relevance of the getters and setters isn't computed by the completion engine
+					int relevance = proposal.getRelevance() - computeRelevanceForCaseMatching(previousToken, name, camelCase, substring) + computeRelevanceForCaseMatching(token, name, camelCase, substring);
+					copy.setRelevance(relevance);
+				}
+				proposals.add(copy);
+			}
+		}
+		return proposals;
+	}
+
+	/**
+	 * Returns the relevance of the case matching of the given token and name,
+	 * as computed by the completion engine.
+	 */
+	private static int computeRelevanceForCaseMatching(char[] token, char[] name, boolean camelCase, boolean substring) {
+		if (CharOperation.equals(token, name, true)) {
+			return RelevanceConstants.R_EXACT_NAME + RelevanceConstants.R_CASE;
+		} else if (CharOperation.equals(token, name, false)) {
+			return RelevanceConstants.R_EXACT_NAME;
+		} else if (CharOperation.prefixEquals(token, name, false)) {
+			return CharOperation.prefixEquals(token, name, true) ? RelevanceConstants.R_CASE : 0;
+		} else if (camelCase && CharOperation.camelCaseMatch(token, name)) {
+			return RelevanceConstants.R_CAMEL_CASE;
+		} else if (substring && CharOperation.substringMatch(token, name)) {
+			return RelevanceConstants.R_SUBSTRING;
+		}
+		return 0;
+	}
+
+	/**
+	 * Returns the name the completion engine matches the token against, or
+	 * <code>null</code> if proposals of that kind cannot be filtered.
+	 */
+	private static char[] getMatchName(CompletionProposal proposal) {
+		switch (proposal.getKind()) {
+			case CompletionProposal.FIELD_REF:
+			case CompletionProposal.FIELD_REF_WITH_CASTED_RECEIVER:
+			case CompletionProposal.LOCAL_VARIABLE_REF:
+			case CompletionProposal.METHOD_REF:
+			case CompletionProposal.METHOD_REF_WITH_CASTED_RECEIVER:
+			case CompletionProposal.METHOD_DECLARATION:
+			case CompletionProposal.POTENTIAL_METHOD_DECLARATION:
+			case CompletionProposal.METHOD_NAME_REFERENCE:
+			case CompletionProposal.ANNOTATION_ATTRIBUTE_REF:
+			case CompletionProposal.VARIABLE_DECLARATION:
+			case CompletionProposal.KEYWORD:
+			case CompletionProposal.LABEL_REF:
+				return proposal.getName();
+			case CompletionProposal.TYPE_REF:
+				char[] signature = proposal.getSignature();
+				if (signature == null) {
+					return null;
+				}
+				char[] typeName = Signature.toCharArray(Signature.getTypeErasure(signature));
+				return CharOperation.lastSegment(CharOperation.lastSegment(typeName, '.'), '$');
+			default:
+				return null;
+		}
+	}
+
+	/**
+	 * Returns a copy of the given proposal, with its replace and token ranges
+	 * extended by <code>delta</code> if they end at or after the previous
+	 * offset.
+	 */
+	private static CompletionProposal copy(CompletionProposal proposal, int previousOffset, int delta) {
+		CompletionProposal copy;
+		if (proposal instanceof GetterSetterCompletionProposal) {
+			copy = ((GetterSetterCompletionProposal) proposal).copy();
+			copy.setParameterNames(proposal.findParameterNames(null));
+		} else {
+			copy = new CopiedCompletionProposal(proposal);
+		}
+		copy.setDeclarationSignature(proposal.getDeclarationSignature());
+		copy.setDeclarationKey(proposal.getDeclarationKey());
+		copy.setName(proposal.getName());
+		copy.setKey(proposal.getKey());
+		copy.setSignature(proposal.getSignature());
+		copy.setFlags(proposal.getFlags());
+		copy.setAdditionalFlags(proposal.getAdditionalFlags());
+		copy.setRelevance(proposal.getRelevance());
+		copy.setCompletion(proposal.getCompletion());
+		copy.setReceiverSignature(proposal.getReceiverSignature());
+		copy.setReceiverRange(proposal.getReceiverStart(), proposal.getReceiverEnd());
+		int replaceEnd = proposal.getReplaceEnd();
+		copy.setReplaceRange(proposal.getReplaceStart(), replaceEnd >= previousOffset ? replaceEnd + delta : replaceEnd);
+		int tokenEnd = proposal.getTokenEnd();
+		copy.setTokenRange(proposal.getTokenStart(), tokenEnd >= previousOffset ? tokenEnd + delta : tokenEnd);
+		CompletionProposal[] requiredProposals = proposal.getRequiredProposals();
+		if (requiredProposals != null) {
+			CompletionProposal[] requiredCopies = new CompletionProposal[requiredProposals.length];
+			for (int i = 0; i < requiredProposals.length; i++) {
+				requiredCopies[i] = copy(requiredProposals[i], previousOffset, delta);
+			}
+			copy.setRequiredProposals(requiredCopies);
+		}
+		return copy;
+	}
+
+	private static boolean isSnippetToken(char[] token) {
+		return CharOperation.prefixEquals(token, CLASS_KEYWORD) || CharOperation.prefixEquals(token, INTERFACE_KEYWORD);
+	}
+
+	/**
+	 * A copy of a proposal of the completion engine, whose attributes computed
+	 * from the internal state of the engine are read from the original.
+	 */
+	private static final class CopiedCompletionProposal extends InternalCompletionProposal {
+
+		private final CompletionProposal original;
+
+		private CopiedCompletionProposal(CompletionProposal original) {
+			super(original.getKind(), original.getCompletionLocation());
+			this.original = original;
+		}
+
+		@Override
+		public char[][] findParameterNames(IProgressMonitor monitor) {
+			return original.findParameterNames(monitor);
+		}
+
+		@Override
+		public boolean isConstructor() {
+			return original.isConstructor();
+		}
+
+		@Override
+		public int getAccessibility() {
+			return original.getAccessibility();
+		}
+
+		@Override
+		public boolean canUseDiamond(CompletionContext coreContext) {
+			return original.canUseDiamond(coreContext);
+		}
+	}
+}
@@ -11,6 +11,7 @@
 package org.eclipse.jdt.ls.core.internal.contentassist;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -45,6 +46,9 @@ public final class CompletionProposalRequestor extends CompletionRequestor {
 	private CompletionResponse response;
 	private boolean fIsTestCodeExcluded;
 	private CompletionContext context;
+	private int maxResults;
+	private boolean isComplete = true;
+	private String uri;
 
 	// Update SUPPORTED_KINDS when mapKind changes
 	// @formatter:off
@@ -59,6 +63,8 @@ public final class CompletionProposalRequestor extends CompletionRequestor {
 																				CompletionItemKind.Text);
 	// @formatter:on
 
+	private static final Comparator<CompletionProposal> PROPOSAL_COMPARATOR = (p1, p2) -> Integer.compare(SortTextHelper.computeRelevance(p2), SortTextHelper.computeRelevance(p1));
+
 	public CompletionProposalRequestor(ICompilationUnit aUnit, int offset) {
 		this.unit = aUnit;
 		response = new CompletionResponse();
@@ -104,9 +110,42 @@ public final class CompletionProposalRequestor extends CompletionRequestor {
 		}
 	}
 
+	/**
+	 * Sets the maximum number of proposals converted to completion items, or 0
+	 * for no limit.
+	 */
+	public void setMaxResults(int maxResults) {
+		this.maxResults = maxResults;
+	}
+
+	/**
+	 * @return <code>false</code> if some proposals have been left out because of
+	 *         the maximum number of results
+	 */
+	public boolean isComplete() {
+		return isComplete;
+	}
+
+	/**
+	 * Accepts the proposals of a previous response instead of the ones of the
+	 * completion engine.
+	 */
+	public void acceptAll(CompletionContext context, List<CompletionProposal> cachedProposals) {
+		acceptContext(context);
+		proposals.addAll(cachedProposals);
+	}
+
 	public List<CompletionItem> getCompletionItems() {
+		if (maxResults > 0 && proposals.size() > maxResults) {
+			// keep the most relevant proposals, before paying for their conversion
+			proposals.sort(PROPOSAL_COMPARATOR);
+			proposals = new ArrayList<>(proposals.subList(0, maxResults));
+			isComplete = false;
+		}
+		response.setUri(getUri());
 		response.setProposals(proposals);
-		CompletionResponses.store(response);
+		response.setComplete(isComplete);
+		CompletionResponses.store(response, true);
 		List<CompletionItem> completionItems = new ArrayList<>(proposals.size());
 		for (int i = 0; i < proposals.size(); i++) {
 			completionItems.add(toCompletionItem(proposals.get(i), i));
@@ -117,10 +156,11 @@ public final class CompletionProposalRequestor extends CompletionRequestor {
 	public CompletionItem toCompletionItem(CompletionProposal proposal, int index) {
 		final CompletionItem $ = new CompletionItem();
 		$.setKind(mapKind(proposal.getKind()));
-		Map<String, String> data = new HashMap<>();
+		Map<String, String> data = new HashMap<>(8);
 		// append data field so that resolve request can use it.
-		data.put(CompletionResolveHandler.DATA_FIELD_URI, JDTUtils.toURI(unit));
-		data.put(CompletionResolveHandler.DATA_FIELD_REQUEST_ID,String.valueOf(response.getId()));
+		// the uri and request id are shared by all items of the response.
+		data.put(CompletionResolveHandler.DATA_FIELD_URI, getUri());
+		data.put(CompletionResolveHandler.DATA_FIELD_REQUEST_ID, response.getIdString());
 		data.put(CompletionResolveHandler.DATA_FIELD_PROPOSAL_ID,String.valueOf(index));
 		$.setData(data);
 		this.descriptionProvider.updateDescription(proposal, $);
@@ -128,6 +168,13 @@ public final class CompletionProposalRequestor extends CompletionRequestor {
 		return $;
 	}
 
+	private String getUri() {
+		if (uri == null) {
+			uri = JDTUtils.toURI(unit);
+		}
+		return uri;
+	}
+
 	@Override
 	public void acceptContext(CompletionContext context) {
 		super.acceptContext(context);
@@ -224,4 +271,8 @@ public final class CompletionProposalRequestor extends CompletionRequestor {
 		return context;
 	}
 
+	public CompletionResponse getResponse() {
+		return response;
+	}
+
 }
\ No newline at end of file
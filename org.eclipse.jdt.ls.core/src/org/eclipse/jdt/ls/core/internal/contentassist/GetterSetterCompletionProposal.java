@@ -103,6 +103,13 @@ public class GetterSetterCompletionProposal extends InternalCompletionProposal {
 		fIsGetter = isGetter;
 	}
 
+	/**
+	 * @return a new proposal for the same accessor, without its attributes
+	 */
+	GetterSetterCompletionProposal copy() {
+		return new GetterSetterCompletionProposal(fField, fIsGetter, getCompletionLocation());
+	}
+
 	/**
 	 * @param document
 	 * @param offset
@@ -29,6 +29,7 @@ import org.eclipse.jdt.ls.core.internal.Messages;
 import org.eclipse.jdt.ls.core.internal.corext.refactoring.RefactoringCoreMessages;
 import org.eclipse.jdt.ls.core.internal.corext.refactoring.base.RefactoringStatusCodes;
 import org.eclipse.jdt.ls.core.internal.corext.util.JavaElementUtil;
+import org.eclipse.jdt.ls.core.internal.corext.util.TypeHierarchyCache;
 import org.eclipse.jdt.ls.core.internal.hover.JavaElementLabels;
 import org.eclipse.ltk.core.refactoring.RefactoringStatus;
 import org.eclipse.ltk.core.refactoring.RefactoringStatusContext;
@@ -117,7 +118,7 @@ public class MethodChecks {
 				if (clazz.equals(hierarchy.getType())) {
 					superinterfaces= hierarchy.getAllSuperInterfaces(clazz);
 				} else {
-					superinterfaces= clazz.newSupertypeHierarchy(new SubProgressMonitor(subMonitor, 1)).getAllSuperInterfaces(clazz);
+					superinterfaces= TypeHierarchyCache.getSupertypeHierarchy(clazz, new SubProgressMonitor(subMonitor, 1)).getAllSuperInterfaces(clazz);
 				}
 				for (int j= 0; j < superinterfaces.length; j++) {
 					IMethod found= Checks.findSimilarMethod(method, superinterfaces[j]);
@@ -163,7 +164,7 @@ public class MethodChecks {
 		final IType declaringType= method.getDeclaringType();
 		if (!declaringType.isInterface()) {
 			if ((hierarchy == null) || !declaringType.equals(hierarchy.getType())) {
-				hierarchy= declaringType.newTypeHierarchy(monitor);
+				hierarchy= TypeHierarchyCache.getTypeHierarchy(declaringType, monitor);
 			}
 
 			IMethod inInterface= isDeclaredInInterface(method, hierarchy, monitor);
@@ -173,7 +174,7 @@ public class MethodChecks {
 		}
 		if (topmostMethod == null) {
 			if (hierarchy == null) {
-				hierarchy= declaringType.newSupertypeHierarchy(monitor);
+				hierarchy= TypeHierarchyCache.getSupertypeHierarchy(declaringType, monitor);
 			}
 			IMethod overrides= overridesAnotherMethod(method, hierarchy);
 			if (overrides != null && !overrides.equals(method)) {
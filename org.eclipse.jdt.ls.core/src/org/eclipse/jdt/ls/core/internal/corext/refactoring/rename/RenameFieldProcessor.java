@@ -42,7 +42,6 @@ import org.eclipse.jdt.core.refactoring.descriptors.JavaRefactoringDescriptor;
 import org.eclipse.jdt.core.refactoring.descriptors.RenameJavaElementDescriptor;
 import org.eclipse.jdt.core.search.IJavaSearchConstants;
 import org.eclipse.jdt.core.search.IJavaSearchScope;
-import org.eclipse.jdt.core.search.SearchEngine;
 import org.eclipse.jdt.core.search.SearchMatch;
 import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
@@ -79,6 +78,7 @@ import org.eclipse.jdt.ls.core.internal.corext.refactoring.util.ResourceUtil;
 import org.eclipse.jdt.ls.core.internal.corext.util.JavaElementUtil;
 import org.eclipse.jdt.ls.core.internal.corext.util.SearchUtils;
 import org.eclipse.jdt.ls.core.internal.corext.util.TextChangeManager;
+import org.eclipse.jdt.ls.core.internal.corext.util.TypeHierarchyCache;
 import org.eclipse.jdt.ls.core.internal.hover.JavaElementLabels;
 import org.eclipse.ltk.core.refactoring.Change;
 import org.eclipse.ltk.core.refactoring.GroupCategorySet;
@@ -313,7 +313,7 @@ public class RenameFieldProcessor extends JavaRenameProcessor implements IRefere
 		}
 		final NullProgressMonitor monitor= new NullProgressMonitor();
 		if (MethodChecks.isVirtual(getter)) {
-			final ITypeHierarchy hierarchy= getter.getDeclaringType().newTypeHierarchy(monitor);
+			final ITypeHierarchy hierarchy= TypeHierarchyCache.getTypeHierarchy(getter.getDeclaringType(), monitor);
 			if (MethodChecks.isDeclaredInInterface(getter, hierarchy, monitor) != null || MethodChecks.overridesAnotherMethod(getter, hierarchy) != null) {
 				return RefactoringCoreMessages.RenameFieldRefactoring_declared_in_supertype;
 			}
@@ -338,7 +338,7 @@ public class RenameFieldProcessor extends JavaRenameProcessor implements IRefere
 		}
 		final NullProgressMonitor monitor= new NullProgressMonitor();
 		if (MethodChecks.isVirtual(setter)) {
-			final ITypeHierarchy hierarchy= setter.getDeclaringType().newTypeHierarchy(monitor);
+			final ITypeHierarchy hierarchy= TypeHierarchyCache.getTypeHierarchy(setter.getDeclaringType(), monitor);
 			if (MethodChecks.isDeclaredInInterface(setter, hierarchy, monitor) != null || MethodChecks.overridesAnotherMethod(setter, hierarchy) != null) {
 				return RefactoringCoreMessages.RenameFieldRefactoring_declared_in_supertype;
 			}
@@ -527,7 +527,7 @@ public class RenameFieldProcessor extends JavaRenameProcessor implements IRefere
 	private RefactoringStatus checkAccessorDeclarations(IProgressMonitor pm, IMethod existingAccessor) throws CoreException{
 		RefactoringStatus result= new RefactoringStatus();
 		SearchPattern pattern= SearchPattern.createPattern(existingAccessor, IJavaSearchConstants.DECLARATIONS, SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
-		IJavaSearchScope scope= SearchEngine.createHierarchyScope(fField.getDeclaringType());
+		IJavaSearchScope scope= TypeHierarchyCache.getHierarchyScope(fField.getDeclaringType());
 		SearchResultGroup[] groupDeclarations= RefactoringSearchEngine.search(pattern, scope, pm, result);
 		Assert.isTrue(groupDeclarations.length > 0);
 		if (groupDeclarations.length != 1){
@@ -100,6 +100,7 @@ import org.eclipse.jdt.ls.core.internal.corext.util.JavaElementUtil;
 import org.eclipse.jdt.ls.core.internal.corext.util.QualifiedNameSearchResult;
 import org.eclipse.jdt.ls.core.internal.corext.util.SearchUtils;
 import org.eclipse.jdt.ls.core.internal.corext.util.TextChangeManager;
+import org.eclipse.jdt.ls.core.internal.corext.util.TypeHierarchyCache;
 import org.eclipse.jdt.ls.core.internal.hover.JavaElementLabels;
 import org.eclipse.ltk.core.refactoring.Change;
 import org.eclipse.ltk.core.refactoring.GroupCategory;
@@ -1444,7 +1445,7 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 					final IType declaringType = currentMethod.getDeclaringType();
 					ITypeHierarchy hierarchy = null;
 					if (!declaringType.isInterface()) {
-						hierarchy = declaringType.newTypeHierarchy(new NullProgressMonitor());
+						hierarchy = TypeHierarchyCache.getTypeHierarchy(declaringType, new NullProgressMonitor());
 					}
 
 					final IMethod topmost = MethodChecks.getTopmostMethod(currentMethod, hierarchy, new NullProgressMonitor());
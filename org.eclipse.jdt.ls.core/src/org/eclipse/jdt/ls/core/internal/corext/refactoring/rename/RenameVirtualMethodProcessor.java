@@ -35,6 +35,7 @@ import org.eclipse.jdt.ls.core.internal.corext.refactoring.RefactoringAvailabili
 import org.eclipse.jdt.ls.core.internal.corext.refactoring.RefactoringCoreMessages;
 import org.eclipse.jdt.ls.core.internal.corext.util.JdtFlags;
 import org.eclipse.jdt.ls.core.internal.corext.util.TextChangeManager;
+import org.eclipse.jdt.ls.core.internal.corext.util.TypeHierarchyCache;
 import org.eclipse.ltk.core.refactoring.GroupCategorySet;
 import org.eclipse.ltk.core.refactoring.RefactoringStatus;
 import org.eclipse.ltk.core.refactoring.RefactoringStatusContext;
@@ -97,7 +98,7 @@ public class RenameVirtualMethodProcessor extends RenameMethodProcessor {
 		if (fCachedHierarchy != null && declaring.equals(fCachedHierarchy.getType())) {
 			return fCachedHierarchy;
 		}
-		fCachedHierarchy= declaring.newTypeHierarchy(new SubProgressMonitor(monitor, 1));
+		fCachedHierarchy= TypeHierarchyCache.getTypeHierarchy(declaring, new SubProgressMonitor(monitor, 1));
 		return fCachedHierarchy;
 	}
 
@@ -207,7 +208,7 @@ public class RenameVirtualMethodProcessor extends RenameMethodProcessor {
 			for (Iterator<IType> iter= types.iterator(); iter.hasNext(); ) {
 				final IMethod found= Checks.findMethod(method, iter.next());
 				final IType declaring= found.getDeclaringType();
-				result.addAll(Arrays.asList(hierarchyDeclaresMethodName(new SubProgressMonitor(pm, 1), declaring.newTypeHierarchy(new SubProgressMonitor(pm, 1)), found, newName)));
+				result.addAll(Arrays.asList(hierarchyDeclaresMethodName(new SubProgressMonitor(pm, 1), TypeHierarchyCache.getTypeHierarchy(declaring, new SubProgressMonitor(pm, 1)), found, newName)));
 			}
 			return result.toArray(new IMethod[result.size()]);
 		} finally {
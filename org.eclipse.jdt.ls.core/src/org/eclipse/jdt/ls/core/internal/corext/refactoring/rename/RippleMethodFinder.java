@@ -46,6 +46,7 @@ import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jdt.core.search.SearchRequestor;
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 import org.eclipse.jdt.internal.corext.util.JdtFlags;
+import org.eclipse.jdt.ls.core.internal.corext.util.TypeHierarchyCache;
 
 public class RippleMethodFinder {
 
@@ -231,7 +232,7 @@ public class RippleMethodFinder {
 				IType relatedType = iter.next();
 				ITypeHierarchy hierarchy = getCachedHierarchy(relatedType, owner, new SubProgressMonitor(pm, 1));
 				if (hierarchy == null) {
-					hierarchy = relatedType.newTypeHierarchy(owner, new SubProgressMonitor(pm, 1));
+					hierarchy = TypeHierarchyCache.getTypeHierarchy(relatedType, owner, new SubProgressMonitor(pm, 1));
 				}
 				IType[] allSubTypes = hierarchy.getAllSubtypes(relatedType);
 				for (int i = 0; i < allSubTypes.length; i++) {
@@ -249,7 +250,7 @@ public class RippleMethodFinder {
 				IMethod alienMethod = fTypeToMethod.get(alienType);
 				ITypeHierarchy hierarchy = getCachedHierarchy(alienType, owner, new SubProgressMonitor(pm, 1));
 				if (hierarchy == null) {
-					hierarchy = alienType.newTypeHierarchy(owner, new SubProgressMonitor(pm, 1));
+					hierarchy = TypeHierarchyCache.getTypeHierarchy(alienType, owner, new SubProgressMonitor(pm, 1));
 				}
 				IType[] allSubtypes = hierarchy.getAllSubtypes(alienType);
 				for (int i = 0; i < allSubtypes.length; i++) {
@@ -296,7 +297,7 @@ public class RippleMethodFinder {
 				IType root = iter.next();
 				ITypeHierarchy hierarchy = fRootHierarchies.get(root);
 				if (hierarchy == null) {
-					hierarchy = root.newTypeHierarchy(owner, new SubProgressMonitor(monitor, 1));
+					hierarchy = TypeHierarchyCache.getTypeHierarchy(root, owner, new SubProgressMonitor(monitor, 1));
 					fRootHierarchies.put(root, hierarchy);
 				}
 				if (hierarchy.contains(type)) {
@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.corext.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.ITypeHierarchyChangedListener;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.internal.core.DefaultWorkingCopyOwner;
+import org.eclipse.jdt.internal.corext.util.SuperTypeHierarchyCache;
+
+/**
+ * Cache of the type hierarchies of the types, shared by the searches of the
+ * implementations and the refactorings, so that the hierarchy of a widely
+ * implemented type isn't computed again by every one of them.
+ *
+ * A hierarchy is discarded as soon as it changes, as reported by its
+ * {@link ITypeHierarchyChangedListener}. The hierarchy scopes are refreshed by
+ * jdt.core itself when the Java elements change, so they are kept. Only the
+ * hierarchies of the primary working copies are cached, and only the
+ * {@link #CACHE_SIZE} most recently used ones, since every cached hierarchy
+ * listens to the Java element deltas.
+ */
+@SuppressWarnings("restriction")
+public final class TypeHierarchyCache {
+
+	static final int CACHE_SIZE = 16;
+
+	// guarded by itself
+	private static final Map<IType, Entry> ENTRIES = new LinkedHashMap<IType, Entry>(CACHE_SIZE, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<IType, Entry> eldest) {
+			if (size() > CACHE_SIZE) {
+				eldest.getValue().dispose();
+				return true;
+			}
+			return false;
+		}
+	};
+
+	private static final AtomicLong hits = new AtomicLong();
+	private static final AtomicLong misses = new AtomicLong();
+
+	private TypeHierarchyCache() {
+		//Don't instantiate
+	}
+
+	/**
+	 * Returns the type hierarchy of the given type, with its supertypes and
+	 * all its subtypes in the workspace.
+	 *
+	 * @see IType#newTypeHierarchy(IProgressMonitor)
+	 */
+	public static ITypeHierarchy getTypeHierarchy(IType type, IProgressMonitor monitor) throws JavaModelException {
+		Entry entry = getEntry(type);
+		ITypeHierarchy hierarchy = entry == null ? null : entry.hierarchy;
+		if (hierarchy != null && hierarchy.exists()) {
+			hits.incrementAndGet();
+			return hierarchy;
+		}
+		misses.incrementAndGet();
+		hierarchy = type.newTypeHierarchy(monitor);
+		synchronized (ENTRIES) {
+			entry = getOrCreateEntry(type);
+			entry.setHierarchy(hierarchy);
+		}
+		return hierarchy;
+	}
+
+	/**
+	 * Returns the type hierarchy of the given type for the given working copy
+	 * owner, only cached for the primary working copies.
+	 *
+	 * @see IType#newTypeHierarchy(WorkingCopyOwner, IProgressMonitor)
+	 */
+	public static ITypeHierarchy getTypeHierarchy(IType type, WorkingCopyOwner owner, IProgressMonitor monitor) throws JavaModelException {
+		if (owner == null || owner.equals(DefaultWorkingCopyOwner.PRIMARY)) {
+			return getTypeHierarchy(type, monitor);
+		}
+		return type.newTypeHierarchy(owner, monitor);
+	}
+
+	/**
+	 * Returns a hierarchy of the given type containing at least its
+	 * supertypes: the type hierarchy of the type if it is cached, its
+	 * supertype hierarchy otherwise.
+	 *
+	 * @see IType#newSupertypeHierarchy(IProgressMonitor)
+	 */
+	public static ITypeHierarchy getSupertypeHierarchy(IType type, IProgressMonitor monitor) throws JavaModelException {
+		Entry entry = getEntry(type);
+		ITypeHierarchy hierarchy = entry == null ? null : entry.hierarchy;
+		if (hierarchy != null && hierarchy.exists()) {
+			hits.incrementAndGet();
+			return hierarchy;
+		}
+		// the supertype hierarchies are cached by jdt.core.manipulation
+		return SuperTypeHierarchyCache.getTypeHierarchy(type, monitor);
+	}
+
+	/**
+	 * Returns the search scope of the hierarchy of the given type, which
+	 * computes its hierarchy on the first search only, then refreshes it when
+	 * the Java elements change.
+	 *
+	 * @see SearchEngine#createHierarchyScope(IType)
+	 */
+	public static IJavaSearchScope getHierarchyScope(IType type) throws JavaModelException {
+		synchronized (ENTRIES) {
+			Entry entry = ENTRIES.get(type);
+			if (entry != null && entry.scope != null) {
+				hits.incrementAndGet();
+				return entry.scope;
+			}
+		}
+		misses.incrementAndGet();
+		IJavaSearchScope scope = SearchEngine.createHierarchyScope(type);
+		synchronized (ENTRIES) {
+			getOrCreateEntry(type).scope = scope;
+		}
+		return scope;
+	}
+
+	/**
+	 * @return the number of hierarchies and scopes found in the cache
+	 */
+	public static long getHitCount() {
+		return hits.get();
+	}
+
+	/**
+	 * @return the number of hierarchies and scopes computed because they
+	 *         weren't in the cache
+	 */
+	public static long getMissCount() {
+		return misses.get();
+	}
+
+	public static void clear() {
+		synchronized (ENTRIES) {
+			for (Entry entry : ENTRIES.values()) {
+				entry.dispose();
+			}
+			ENTRIES.clear();
+		}
+	}
+
+	private static Entry getEntry(IType type) {
+		synchronized (ENTRIES) {
+			return ENTRIES.get(type);
+		}
+	}
+
+	// must be called holding the lock of ENTRIES
+	private static Entry getOrCreateEntry(IType type) {
+		Entry entry = ENTRIES.get(type);
+		if (entry == null) {
+			entry = new Entry(type);
+			ENTRIES.put(type, entry);
+		}
+		return entry;
+	}
+
+	private static final class Entry implements ITypeHierarchyChangedListener {
+
+		private final IType type;
+		private ITypeHierarchy hierarchy;
+		// the scope computes and refreshes its own hierarchy
+		private IJavaSearchScope scope;
+
+		private Entry(IType type) {
+			this.type = type;
+		}
+
+		private void setHierarchy(ITypeHierarchy newHierarchy) {
+			if (hierarchy != null) {
+				hierarchy.removeTypeHierarchyChangedListener(this);
+			}
+			hierarchy = newHierarchy;
+			hierarchy.addTypeHierarchyChangedListener(this);
+		}
+
+		private void dispose() {
+			if (hierarchy != null) {
+				hierarchy.removeTypeHierarchyChangedListener(this);
+			}
+		}
+
+		@Override
+		public void typeHierarchyChanged(ITypeHierarchy changedHierarchy) {
+			synchronized (ENTRIES) {
+				if (ENTRIES.get(type) == this) {
+					ENTRIES.remove(type);
+				}
+			}
+			changedHierarchy.removeTypeHierarchyChangedListener(this);
+		}
+	}
+}
@@ -25,6 +25,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.function.Predicate;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jdt.core.IBuffer;
@@ -42,6 +43,7 @@ import org.eclipse.jdt.ls.core.internal.corrections.proposals.ReplaceCorrectionP
 import org.eclipse.jdt.ls.core.internal.corrections.proposals.TypeMismatchSubProcessor;
 import org.eclipse.jdt.ls.core.internal.corrections.proposals.UnresolvedElementsSubProcessor;
 import org.eclipse.jdt.ls.core.internal.text.correction.ModifierCorrectionSubProcessor;
+import org.eclipse.lsp4j.CodeActionKind;
 
 /**
  */
@@ -64,9 +66,25 @@ public class QuickFixProcessor {
 
 	public List<CUCorrectionProposal> getCorrections(IInvocationContext context, IProblemLocationCore[] locations)
 			throws CoreException {
+		return getCorrections(context, locations, kind -> true);
+	}
+
+	/**
+	 * Returns the corrections of the given problems, unless none of the kinds of
+	 * the corrections are requested.
+	 *
+	 * @param kindFilter
+	 *            tests whether the code actions of a kind are requested
+	 */
+	public List<CUCorrectionProposal> getCorrections(IInvocationContext context, IProblemLocationCore[] locations, Predicate<String> kindFilter)
+			throws CoreException {
 		if (locations == null || locations.length == 0) {
 			return Collections.emptyList();
 		}
+		// the corrections are quick fixes, but the self encapsulating field refactoring
+		if (!kindFilter.test(CodeActionKind.QuickFix) && !kindFilter.test(CodeActionKind.Refactor)) {
+			return Collections.emptyList();
+		}
 
 		HashSet<Integer> handledProblems = new HashSet<>(locations.length);
 		ArrayList<CUCorrectionProposal> resultingCollections = new ArrayList<>();
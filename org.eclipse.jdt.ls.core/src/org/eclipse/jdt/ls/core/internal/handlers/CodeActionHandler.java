@@ -11,10 +11,14 @@
 package org.eclipse.jdt.ls.core.internal.handlers;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
 
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.core.runtime.CoreException;
@@ -28,6 +32,7 @@ import org.eclipse.jdt.internal.ui.text.correction.IProblemLocationCore;
 import org.eclipse.jdt.internal.ui.text.correction.ProblemLocationCore;
 import org.eclipse.jdt.ls.core.internal.ChangeUtil;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
+import org.eclipse.jdt.ls.core.internal.JSONUtility;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.TextEditConverter;
 import org.eclipse.jdt.ls.core.internal.corrections.DiagnosticsHelper;
@@ -43,6 +48,8 @@ import org.eclipse.lsp4j.CodeActionParams;
 import org.eclipse.lsp4j.Command;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticSeverity;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
 import org.eclipse.lsp4j.WorkspaceEdit;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.eclipse.ltk.core.refactoring.Change;
@@ -54,6 +61,12 @@ public class CodeActionHandler {
 
 	public static final String COMMAND_ID_APPLY_EDIT = "java.apply.workspaceEdit";
 
+	/**
+	 * The command of the code actions whose changes are computed by
+	 * <code>java/resolveCodeAction</code>, which is never executed.
+	 */
+	public static final String COMMAND_ID_RESOLVE = "java.resolveCodeAction";
+
 	private QuickFixProcessor quickFixProcessor = new QuickFixProcessor();
 
 	private QuickAssistProcessor quickAssistProcessor = new QuickAssistProcessor();
@@ -71,60 +84,132 @@ public class CodeActionHandler {
 	 * @return
 	 */
 	public List<Either<Command, CodeAction>> getCodeActionCommands(CodeActionParams params, IProgressMonitor monitor) {
+		List<CUCorrectionProposal> candidates = getProposals(params, monitor);
+		boolean resolveLazily = preferenceManager.getClientPreferences().isResolveCodeActionSupported();
+
+		List<Either<Command, CodeAction>> $ = new ArrayList<>();
+		Set<String> titles = new HashSet<>();
+		try {
+			for (CUCorrectionProposal proposal : candidates) {
+				if (titles.contains(proposal.getName())) {
+					continue;
+				}
+				Optional<Either<Command, CodeAction>> codeActionFromProposal;
+				if (resolveLazily && preferenceManager.getClientPreferences().isSupportedCodeActionKind(proposal.getKind())) {
+					codeActionFromProposal = Optional.of(Either.forRight(getUnresolvedCodeAction(proposal, params)));
+				} else {
+					codeActionFromProposal = getCodeActionFromProposal(proposal, params.getContext());
+				}
+				if (codeActionFromProposal.isPresent()) {
+					titles.add(proposal.getName());
+					$.add(codeActionFromProposal.get());
+				}
+			}
+		} catch (CoreException e) {
+			JavaLanguageServerPlugin.logException("Problem converting proposal to code actions", e);
+		}
+
+		return $;
+	}
+
+	/**
+	 * Computes the changes of a code action returned by
+	 * {@link #getCodeActionCommands(CodeActionParams, IProgressMonitor)} when the
+	 * client supports resolving them lazily.
+	 *
+	 * @param codeAction
+	 *            the code action to resolve
+	 * @return the code action, with the command applying its changes
+	 */
+	public CodeAction resolveCodeAction(CodeAction codeAction, IProgressMonitor monitor) {
+		Command command = codeAction.getCommand();
+		if (command == null || !COMMAND_ID_RESOLVE.equals(command.getCommand()) || command.getArguments() == null || command.getArguments().size() < 2) {
+			return codeAction;
+		}
+		codeAction.setCommand(null);
+		String uri = JSONUtility.toModel(command.getArguments().get(0), String.class);
+		Range range = JSONUtility.toModel(command.getArguments().get(1), Range.class);
+		List<Diagnostic> diagnostics = codeAction.getDiagnostics() == null ? Collections.emptyList() : codeAction.getDiagnostics();
+		CodeActionContext context = new CodeActionContext(diagnostics);
+		if (codeAction.getKind() != null) {
+			context.setOnly(Collections.singletonList(codeAction.getKind()));
+		}
+		CodeActionParams params = new CodeActionParams(new TextDocumentIdentifier(uri), range, context);
+		for (CUCorrectionProposal proposal : getProposals(params, monitor)) {
+			if (proposal.getName().equals(codeAction.getTitle())) {
+				try {
+					WorkspaceEdit edit = convertChangeToWorkspaceEdit(proposal.getCompilationUnit(), proposal.getChange());
+					codeAction.setCommand(new Command(proposal.getName(), COMMAND_ID_APPLY_EDIT, Collections.singletonList(edit)));
+				} catch (CoreException e) {
+					JavaLanguageServerPlugin.logException("Problem resolving code action " + codeAction.getTitle(), e);
+				}
+				break;
+			}
+		}
+		return codeAction;
+	}
+
+	private List<CUCorrectionProposal> getProposals(CodeActionParams params, IProgressMonitor monitor) {
 		final ICompilationUnit unit = JDTUtils.resolveCompilationUnit(params.getTextDocument().getUri());
 		if (unit == null) {
 			return Collections.emptyList();
 		}
 		int start = DiagnosticsHelper.getStartOffset(unit, params.getRange());
 		int end = DiagnosticsHelper.getEndOffset(unit, params.getRange());
-		InnovationContext context = new InnovationContext(unit, start, end - start);
-		context.setASTRoot(getASTRoot(unit));
+		InnovationContext context = new InnovationContext(unit, start, end - start) {
+			private boolean hasASTRoot;
+
+			@Override
+			public CompilationUnit getASTRoot() {
+				// the shared AST is only retrieved if one of the requested proposals needs it
+				if (!hasASTRoot) {
+					setASTRoot(CodeActionHandler.getASTRoot(unit));
+					hasASTRoot = true;
+				}
+				return super.getASTRoot();
+			}
+		};
 		IProblemLocationCore[] locations = this.getProblemLocationCores(unit, params.getContext().getDiagnostics());
+		List<String> acceptedActionKinds = params.getContext().getOnly();
+		Predicate<String> kindFilter = acceptedActionKinds == null || acceptedActionKinds.isEmpty() ? kind -> true : acceptedActionKinds::contains;
 
-		List<Either<Command, CodeAction>> $ = new ArrayList<>();
 		List<CUCorrectionProposal> candidates = new ArrayList<>();
 		try {
-			List<CUCorrectionProposal> corrections = this.quickFixProcessor.getCorrections(context, locations);
+			List<CUCorrectionProposal> corrections = this.quickFixProcessor.getCorrections(context, locations, kindFilter);
 			candidates.addAll(corrections);
 		} catch (CoreException e) {
 			JavaLanguageServerPlugin.logException("Problem resolving quick fix code actions", e);
 		}
 
 		try {
-			List<CUCorrectionProposal> corrections = this.quickAssistProcessor.getAssists(context, locations);
+			List<CUCorrectionProposal> corrections = this.quickAssistProcessor.getAssists(context, locations, kindFilter);
 			candidates.addAll(corrections);
 		} catch (CoreException e) {
 			JavaLanguageServerPlugin.logException("Problem resolving quick assist code actions", e);
 		}
 
-		List<CUCorrectionProposal> corrections = this.sourceAssistProcessor.getAssists(context, locations);
+		List<CUCorrectionProposal> corrections = this.sourceAssistProcessor.getAssists(context, locations, kindFilter);
 		candidates.addAll(corrections);
 
+		// the processors may still return proposals of other kinds than the requested ones
+		candidates.removeIf(proposal -> !kindFilter.test(proposal.getKind()));
 		candidates.sort(new CUCorrectionProposalComparator());
+		return candidates;
+	}
 
-		if (params.getContext().getOnly() != null && !params.getContext().getOnly().isEmpty()) {
-			List<CUCorrectionProposal> resultList = new ArrayList<>();
-			List<String> acceptedActionKinds = params.getContext().getOnly();
-			for (CUCorrectionProposal proposal : candidates) {
-				if (acceptedActionKinds.contains(proposal.getKind())) {
-					resultList.add(proposal);
-				}
-			}
-			candidates = resultList;
-		}
-
-		try {
-			for (CUCorrectionProposal proposal : candidates) {
-				Optional<Either<Command, CodeAction>> codeActionFromProposal = getCodeActionFromProposal(proposal, params.getContext());
-				if (codeActionFromProposal.isPresent() && !$.contains(codeActionFromProposal.get())) {
-					$.add(codeActionFromProposal.get());
-				}
-			}
-		} catch (CoreException e) {
-			JavaLanguageServerPlugin.logException("Problem converting proposal to code actions", e);
-		}
-
-		return $;
+	/**
+	 * Returns the code action of the given proposal without computing its
+	 * changes, its command only holding what is needed to find the proposal
+	 * again in {@link #resolveCodeAction(CodeAction, IProgressMonitor)}: the
+	 * document and range of the request. The proposal is identified by its
+	 * title, which is unique in the result.
+	 */
+	private static CodeAction getUnresolvedCodeAction(CUCorrectionProposal proposal, CodeActionParams params) {
+		CodeAction codeAction = new CodeAction(proposal.getName());
+		codeAction.setKind(proposal.getKind());
+		codeAction.setCommand(new Command(proposal.getName(), COMMAND_ID_RESOLVE, Arrays.asList(params.getTextDocument().getUri(), params.getRange())));
+		codeAction.setDiagnostics(params.getContext().getDiagnostics());
+		return codeAction;
 	}
 
 	private Optional<Either<Command, CodeAction>> getCodeActionFromProposal(CUCorrectionProposal proposal, CodeActionContext context) throws CoreException {
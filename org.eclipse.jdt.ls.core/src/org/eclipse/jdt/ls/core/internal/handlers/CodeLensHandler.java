@@ -14,8 +14,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
@@ -25,6 +28,7 @@ import org.eclipse.jdt.core.IClassFile;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.ISourceRange;
 import org.eclipse.jdt.core.ISourceReference;
 import org.eclipse.jdt.core.IType;
@@ -95,7 +99,7 @@ public class CodeLensHandler {
 				IJavaElement element = JDTUtils.findElementAtSelection(typeRoot, position.getLine(), position.getCharacter(), this.preferenceManager, monitor);
 				if (REFERENCES_TYPE.equals(type)) {
 					try {
-						locations = findReferences(element, monitor);
+						locations = findReferences(typeRoot, element, monitor);
 					} catch (CoreException e) {
 						JavaLanguageServerPlugin.logException(e.getMessage(), e);
 					}
@@ -134,6 +138,150 @@ public class CodeLensHandler {
 		return searcher.findImplementations(monitor);
 	}
 
+	/**
+	 * Returns the references of the given element, finding the references of the
+	 * elements of all the other code lenses of the document at the same time, as
+	 * clients usually resolve all the visible code lenses one after the other.
+	 */
+	private List<Location> findReferences(ITypeRoot typeRoot, IJavaElement element, IProgressMonitor monitor) throws CoreException {
+		if (element == null) {
+			return Collections.emptyList();
+		}
+		List<Location> locations = CodeLensReferencesCache.get(element);
+		if (locations != null) {
+			return locations;
+		}
+		long generation = CodeLensReferencesCache.getGeneration();
+		Set<IJavaElement> elements = new LinkedHashSet<>();
+		elements.add(element);
+		collectCodeLensElements(typeRoot.getChildren(), elements);
+		elements.removeIf(e -> !e.equals(element) && CodeLensReferencesCache.get(e) != null);
+		Map<IJavaElement, List<Location>> references = findReferences(elements, monitor);
+		if (monitor.isCanceled()) {
+			return references.get(element);
+		}
+		for (Map.Entry<IJavaElement, List<Location>> entry : references.entrySet()) {
+			CodeLensReferencesCache.put(entry.getKey(), entry.getValue(), generation);
+		}
+		return references.get(element);
+	}
+
+	/**
+	 * Finds the references of all the given elements with a single search, then
+	 * distributes the matches to the elements they reference.
+	 */
+	private Map<IJavaElement, List<Location>> findReferences(Collection<IJavaElement> elements, IProgressMonitor monitor) throws CoreException {
+		Map<IJavaElement, List<Location>> references = new LinkedHashMap<>();
+		if (elements.size() == 1) {
+			IJavaElement element = elements.iterator().next();
+			references.put(element, findReferences(element, monitor));
+			return references;
+		}
+		SearchPattern pattern = null;
+		for (IJavaElement element : elements) {
+			SearchPattern elementPattern = SearchPattern.createPattern(element, IJavaSearchConstants.REFERENCES);
+			if (elementPattern != null) {
+				references.put(element, new ArrayList<>());
+				pattern = pattern == null ? elementPattern : SearchPattern.createOrPattern(pattern, elementPattern);
+			}
+		}
+		if (pattern == null) {
+			return references;
+		}
+		Map<ICompilationUnit, List<SearchMatch>> matches = new LinkedHashMap<>();
+		new SearchEngine().search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, createSearchScope(), new SearchRequestor() {
+
+			@Override
+			public void acceptSearchMatch(SearchMatch match) throws CoreException {
+				Object o = match.getElement();
+				if (o instanceof IJavaElement) {
+					ICompilationUnit compilationUnit = (ICompilationUnit) ((IJavaElement) o).getAncestor(IJavaElement.COMPILATION_UNIT);
+					if (compilationUnit != null) {
+						matches.computeIfAbsent(compilationUnit, k -> new ArrayList<>()).add(match);
+					}
+				}
+			}
+		}, monitor);
+		if (monitor.isCanceled()) {
+			return references;
+		}
+		// the matches are attributed from their text, only the ambiguous ones are searched again, element by element
+		Set<IJavaElement> unresolved = new LinkedHashSet<>();
+		for (Map.Entry<ICompilationUnit, List<SearchMatch>> entry : matches.entrySet()) {
+			ICompilationUnit unit = entry.getKey();
+			for (SearchMatch match : entry.getValue()) {
+				Collection<IJavaElement> candidates = getCandidates(unit, match, references.keySet());
+				if (candidates.size() == 1) {
+					references.get(candidates.iterator().next()).add(JDTUtils.toLocation(unit, match.getOffset(), match.getLength()));
+				} else {
+					unresolved.addAll(candidates);
+				}
+			}
+		}
+		for (IJavaElement element : unresolved) {
+			references.put(element, findReferences(element, monitor));
+		}
+		return references;
+	}
+
+	/**
+	 * @return the elements the given match may reference, from the name of the
+	 *         matched text, or all the given elements if none matches it
+	 */
+	private static Collection<IJavaElement> getCandidates(ICompilationUnit unit, SearchMatch match, Set<IJavaElement> elements) throws JavaModelException {
+		List<IJavaElement> candidates = new ArrayList<>();
+		if (match.isImplicit()) {
+			// implicit super constructor invocations
+			for (IJavaElement element : elements) {
+				if (isConstructor(element)) {
+					candidates.add(element);
+				}
+			}
+		} else if (unit.getBuffer() != null) {
+			String text = unit.getBuffer().getText(match.getOffset(), match.getLength());
+			String name = getMatchedName(text);
+			boolean invocation = text.indexOf('(') >= 0 || "new".equals(name);
+			for (IJavaElement element : elements) {
+				if (isConstructor(element)) {
+					// e.g. new Foo(), this(), super() or Foo::new
+					if (invocation && (name.equals(element.getElementName()) || "this".equals(name) || "super".equals(name) || "new".equals(name))) {
+						candidates.add(element);
+					}
+				} else if (name.equals(element.getElementName()) && (element.getElementType() == IJavaElement.METHOD || !invocation)) {
+					candidates.add(element);
+				}
+			}
+		}
+		return candidates.isEmpty() ? elements : candidates;
+	}
+
+	/**
+	 * @return the last simple name of the given matched text, ignoring its
+	 *         arguments and type arguments
+	 */
+	private static String getMatchedName(String text) {
+		int end = text.length();
+		for (char c : new char[] { '(', '<' }) {
+			int index = text.indexOf(c);
+			if (index >= 0 && index < end) {
+				end = index;
+			}
+		}
+		int start = end;
+		while (start > 0 && Character.isWhitespace(text.charAt(start - 1))) {
+			start--;
+		}
+		end = start;
+		while (start > 0 && Character.isJavaIdentifierPart(text.charAt(start - 1))) {
+			start--;
+		}
+		return text.substring(start, end);
+	}
+
+	private static boolean isConstructor(IJavaElement element) throws JavaModelException {
+		return element instanceof IMethod && ((IMethod) element).isConstructor();
+	}
+
 	private List<Location> findReferences(IJavaElement element, IProgressMonitor monitor)
 			throws JavaModelException, CoreException {
 		if (element == null) {
@@ -204,16 +352,8 @@ public class CodeLensHandler {
 			}
 			if (element.getElementType() == IJavaElement.TYPE) {
 				collectCodeLenses(typeRoot, ((IType) element).getChildren(), lenses, monitor);
-			} else if (element.getElementType() == IJavaElement.METHOD) {
-				if (JDTUtils.isHiddenGeneratedElement(element)) {
-					continue;
-				}
-				//ignore element if method range overlaps the type range, happens for generated bytcode, i.e. with lombok
-				IJavaElement parentType = element.getAncestor(IJavaElement.TYPE);
-				if (parentType != null && overlaps(((ISourceReference) parentType).getNameRange(), ((ISourceReference) element).getNameRange())) {
-					continue;
-				}
-			} else {//neither a type nor a method, we bail
+			}
+			if (!hasCodeLens(element)) {
 				continue;
 			}
 
@@ -235,6 +375,33 @@ public class CodeLensHandler {
 		}
 	}
 
+	private void collectCodeLensElements(IJavaElement[] elements, Collection<IJavaElement> result) throws JavaModelException {
+		for (IJavaElement element : elements) {
+			if (hasCodeLens(element)) {
+				result.add(element);
+			}
+			if (element.getElementType() == IJavaElement.TYPE) {
+				collectCodeLensElements(((IType) element).getChildren(), result);
+			}
+		}
+	}
+
+	private boolean hasCodeLens(IJavaElement element) throws JavaModelException {
+		if (element.getElementType() == IJavaElement.TYPE) {
+			return true;
+		}
+		if (element.getElementType() == IJavaElement.METHOD) {
+			if (JDTUtils.isHiddenGeneratedElement(element)) {
+				return false;
+			}
+			//ignore element if method range overlaps the type range, happens for generated bytcode, i.e. with lombok
+			IJavaElement parentType = element.getAncestor(IJavaElement.TYPE);
+			return parentType == null || !overlaps(((ISourceReference) parentType).getNameRange(), ((ISourceReference) element).getNameRange());
+		}
+		//neither a type nor a method, we bail
+		return false;
+	}
+
 	private boolean overlaps(ISourceRange typeRange, ISourceRange methodRange) {
 		if (typeRange == null || methodRange == null) {
 			return false;
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.lsp4j.Location;
+
+/**
+ * Cache of the references found for the elements of the "references" code
+ * lenses.
+ *
+ * Any change of a Java element may add or remove references, so the whole
+ * cache is discarded on every Java element delta, except the ones only
+ * reporting that working copies have been opened or closed.
+ */
+public final class CodeLensReferencesCache {
+
+	private static final Map<IJavaElement, List<Location>> REFERENCES = new ConcurrentHashMap<>();
+
+	// incremented on every invalidation, so that references computed before it are not stored
+	private static final AtomicLong generation = new AtomicLong();
+
+	private static final IElementChangedListener LISTENER = CodeLensReferencesCache::elementChanged;
+
+	static {
+		JavaCore.addElementChangedListener(LISTENER, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	private CodeLensReferencesCache() {
+		//Don't instantiate
+	}
+
+	/**
+	 * @return the cached references of the given element, or <code>null</code>
+	 */
+	public static List<Location> get(IJavaElement element) {
+		return REFERENCES.get(element);
+	}
+
+	/**
+	 * @return the current generation of the cache, to pass to
+	 *         {@link #put(IJavaElement, List, long)} once the references have
+	 *         been computed
+	 */
+	public static long getGeneration() {
+		return generation.get();
+	}
+
+	/**
+	 * Stores the references of the given element, unless the cache has been
+	 * invalidated since the given generation.
+	 */
+	public static void put(IJavaElement element, List<Location> locations, long expectedGeneration) {
+		REFERENCES.put(element, locations);
+		if (generation.get() != expectedGeneration) {
+			REFERENCES.remove(element);
+		}
+	}
+
+	public static void clear() {
+		generation.incrementAndGet();
+		REFERENCES.clear();
+	}
+
+	private static void elementChanged(ElementChangedEvent event) {
+		if (affectsReferences(event.getDelta())) {
+			clear();
+		}
+	}
+
+	private static boolean affectsReferences(IJavaElementDelta delta) {
+		if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & ~(IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_PRIMARY_WORKING_COPY)) != 0) {
+			return true;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (affectsReferences(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
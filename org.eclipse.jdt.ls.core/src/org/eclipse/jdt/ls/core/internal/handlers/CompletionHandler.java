@@ -24,6 +24,7 @@ import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.contentassist.CompletionProposalFilter;
 import org.eclipse.jdt.ls.core.internal.contentassist.CompletionProposalRequestor;
 import org.eclipse.jdt.ls.core.internal.contentassist.JavadocCompletionProposal;
 import org.eclipse.jdt.ls.core.internal.contentassist.SnippetCompletionProposal;
@@ -41,11 +42,12 @@ public class CompletionHandler{
 	Either<List<CompletionItem>, CompletionList> completion(CompletionParams position,
 			IProgressMonitor monitor) {
 		List<CompletionItem> completionItems = null;
+		CompletionList $ = new CompletionList();
 		try {
 			ICompilationUnit unit = JDTUtils.resolveCompilationUnit(position.getTextDocument().getUri());
 			completionItems = this.computeContentAssist(unit,
 					position.getPosition().getLine(),
-					position.getPosition().getCharacter(), monitor);
+					position.getPosition().getCharacter(), $, monitor);
 		} catch (OperationCanceledException ignorable) {
 			// No need to pollute logs when query is cancelled
 			monitor.setCanceled(true);
@@ -53,7 +55,6 @@ public class CompletionHandler{
 			JavaLanguageServerPlugin.logException("Problem with codeComplete for " +  position.getTextDocument().getUri(), e);
 			monitor.setCanceled(true);
 		}
-		CompletionList $ = new CompletionList();
 		if (monitor.isCanceled()) {
 			$.setIsIncomplete(true);
 			completionItems = null;
@@ -65,8 +66,8 @@ public class CompletionHandler{
 		return Either.forRight($);
 	}
 
-	private List<CompletionItem> computeContentAssist(ICompilationUnit unit, int line, int column, IProgressMonitor monitor) throws JavaModelException {
-		CompletionResponses.clear();
+	private List<CompletionItem> computeContentAssist(ICompilationUnit unit, int line, int column, CompletionList completionList, IProgressMonitor monitor) throws JavaModelException {
+		CompletionResponse previous = CompletionResponses.getLatest();
 		if (unit == null) {
 			return Collections.emptyList();
 		}
@@ -91,6 +92,7 @@ public class CompletionHandler{
 		collector.setAllowsRequiredProposals(CompletionProposal.TYPE_REF, CompletionProposal.TYPE_REF, true);
 
 		collector.setFavoriteReferences(getFavoriteStaticMembers());
+		collector.setMaxResults(getMaxResults());
 
 		if (offset >-1 && !monitor.isCanceled()) {
 			IBuffer buffer = unit.getBuffer();
@@ -111,8 +113,21 @@ public class CompletionHandler{
 
 				};
 				try {
-					unit.codeComplete(offset, collector, subMonitor);
+					String uri = JDTUtils.toURI(unit);
+					String contents = buffer.getContents();
+					List<CompletionProposal> cachedProposals = CompletionProposalFilter.filter(previous, uri, contents, offset);
+					if (cachedProposals != null) {
+						// only the prefix has been extended, filter the previous proposals
+						collector.acceptAll(previous.getContext(), cachedProposals);
+					} else {
+						unit.codeComplete(offset, collector, subMonitor);
+					}
+					CompletionProposalFilter.recordDocumentState(collector.getResponse(), contents);
 					proposals.addAll(collector.getCompletionItems());
+					if (!collector.isComplete()) {
+						// let the client query again as the user types
+						completionList.setIsIncomplete(true);
+					}
 					proposals.addAll(SnippetCompletionProposal.getSnippets(unit, collector.getContext(), subMonitor));
 					proposals.addAll(new JavadocCompletionProposal().getProposals(unit, offset, collector, subMonitor));
 				} catch (OperationCanceledException e) {
@@ -130,4 +145,12 @@ public class CompletionHandler{
 		}
 		return new String[0];
 	}
+
+	private int getMaxResults() {
+		PreferenceManager preferenceManager = JavaLanguageServerPlugin.getPreferencesManager();
+		if (preferenceManager != null) {
+			return preferenceManager.getPreferences().getCompletionMaxResults();
+		}
+		return 0;
+	}
 }
@@ -79,6 +79,9 @@ public class CompletionResolveHandler {
 		int proposalId = Integer.parseInt(data.get(DATA_FIELD_PROPOSAL_ID));
 		long requestId = Long.parseLong(data.get(DATA_FIELD_REQUEST_ID));
 		CompletionResponse completionResponse = CompletionResponses.get(requestId);
+		if (completionResponse == null) {
+			JavaLanguageServerPlugin.logInfo("Completion response " + requestId + " is no longer available (hits: " + CompletionResponses.getHitCount() + ", misses: " + CompletionResponses.getMissCount() + ")");
+		}
 		if (completionResponse == null || completionResponse.getProposals().size() <= proposalId) {
 			throw new IllegalStateException("Invalid completion proposal");
 		}
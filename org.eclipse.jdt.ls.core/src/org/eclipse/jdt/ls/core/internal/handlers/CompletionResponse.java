@@ -25,12 +25,19 @@ public class CompletionResponse {
 
 	private static AtomicLong idSeed = new AtomicLong(0);
 	private Long id;
+	private String idString;
 	private int offset;
 	private CompletionContext context;
 	private List<CompletionProposal> proposals;
+	private boolean complete = true;
+	private String uri;
+	private String prefix;
+	private String contents;
+	private long estimatedSize;
 
 	public CompletionResponse() {
 		id = idSeed.getAndIncrement();
+		idString = String.valueOf(id);
 	}
 
 	/**
@@ -40,6 +47,13 @@ public class CompletionResponse {
 		return id;
 	}
 
+	/**
+	 * @return the id, as a string
+	 */
+	public String getIdString() {
+		return idString;
+	}
+
 	/**
 	 * @return the context
 	 */
@@ -76,4 +90,71 @@ public class CompletionResponse {
 	public void setOffset(int offset) {
 		this.offset = offset;
 	}
+
+	/**
+	 * @return <code>false</code> if some proposals have been left out of the
+	 *         response
+	 */
+	public boolean isComplete() {
+		return complete;
+	}
+
+	/**
+	 * @param complete whether all the proposals are part of the response
+	 */
+	public void setComplete(boolean complete) {
+		this.complete = complete;
+	}
+
+	/**
+	 * @return the uri of the document the response was computed for
+	 */
+	public String getUri() {
+		return uri;
+	}
+
+	/**
+	 * @param uri the uri of the document the response was computed for
+	 */
+	public void setUri(String uri) {
+		this.uri = uri;
+	}
+
+	/**
+	 * @return the text between the start of the completion token and the
+	 *         offset, or <code>null</code> if the document state is unknown
+	 */
+	public String getPrefix() {
+		return prefix;
+	}
+
+	/**
+	 * @return the contents of the document the response was computed for, or
+	 *         <code>null</code> if the document state is unknown
+	 */
+	public String getContents() {
+		return contents;
+	}
+
+	/**
+	 * Records the state of the document the response was computed for, so that
+	 * subsequent requests can tell whether only the completion prefix has
+	 * changed since.
+	 */
+	public void setDocumentState(String prefix, String contents) {
+		this.prefix = prefix;
+		this.contents = contents;
+	}
+
+	/**
+	 * @return the estimated size in bytes of the proposals, as computed when
+	 *         the response was stored
+	 */
+	long getEstimatedSize() {
+		return estimatedSize;
+	}
+
+	void setEstimatedSize(long estimatedSize) {
+		this.estimatedSize = estimatedSize;
+	}
 }
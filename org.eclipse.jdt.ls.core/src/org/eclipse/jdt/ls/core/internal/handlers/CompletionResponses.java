@@ -10,12 +10,20 @@
  *******************************************************************************/
 package org.eclipse.jdt.ls.core.internal.handlers;
 
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.core.CompletionProposal;
 
 /**
  * Cache of {@link CompletionResponse}s.
  *
+ * The cache is bounded, both by the number of responses and by their estimated
+ * size, and evicts the least recently used responses first.
+ *
  * @author Fred Bricon
  */
 public final class CompletionResponses {
@@ -24,25 +32,221 @@ public final class CompletionResponses {
 		//Don't instantiate
 	}
 
-	private static final Map<Long, CompletionResponse> COMPLETIONS = new ConcurrentHashMap<>();
+	/**
+	 * Maximum number of responses kept in the cache
+	 */
+	static final int MAX_RESPONSES = 16;
+
+	/**
+	 * Maximum estimated size, in bytes, of the responses kept in the cache
+	 */
+	static final long MAX_RETAINED_SIZE = 32L * 1024 * 1024;
+
+	// fixed cost of a proposal, excluding the char arrays it references
+	private static final int PROPOSAL_OVERHEAD = 160;
+
+	// access ordered, guarded by itself
+	private static final Map<Long, CompletionResponse> COMPLETIONS = new LinkedHashMap<>(MAX_RESPONSES, 0.75f, true);
+
+	private static long retainedSize;
+
+	private static final AtomicLong hits = new AtomicLong();
+
+	private static final AtomicLong misses = new AtomicLong();
+
+	private static volatile CompletionResponse latest;
 
 	public static CompletionResponse get(Long id) {
-		return COMPLETIONS.get(id);
+		CompletionResponse response;
+		synchronized (COMPLETIONS) {
+			response = COMPLETIONS.get(id);
+		}
+		if (response == null) {
+			misses.incrementAndGet();
+		} else {
+			hits.incrementAndGet();
+		}
+		return response;
 	}
 
 	public static void store(CompletionResponse response) {
+		store(response, false);
+	}
+
+	/**
+	 * Stores the given response.
+	 *
+	 * @param response
+	 *            the response to store
+	 * @param completion
+	 *            whether the response is a completion response, whose proposals
+	 *            may be filtered by the next completion request, unlike the
+	 *            responses of the signature help
+	 */
+	public static void store(CompletionResponse response, boolean completion) {
 		if (response != null) {
-			COMPLETIONS.put(response.getId(), response);
+			response.setEstimatedSize(estimateSize(response));
+			synchronized (COMPLETIONS) {
+				remove(COMPLETIONS.put(response.getId(), response));
+				retainedSize += response.getEstimatedSize();
+				Iterator<CompletionResponse> iterator = COMPLETIONS.values().iterator();
+				while ((COMPLETIONS.size() > MAX_RESPONSES || retainedSize > MAX_RETAINED_SIZE) && iterator.hasNext()) {
+					CompletionResponse eldest = iterator.next();
+					if (eldest == response) {
+						// always keep the response being stored
+						break;
+					}
+					iterator.remove();
+					remove(eldest);
+				}
+			}
+			if (completion) {
+				latest = response;
+			}
 		}
 	}
 
 	public static void delete(CompletionResponse response) {
 		if (response != null) {
-			COMPLETIONS.remove(response.getId());
+			synchronized (COMPLETIONS) {
+				if (COMPLETIONS.remove(response.getId(), response)) {
+					remove(response);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Discards the responses computed for the given document, after it has been
+	 * changed. The most recent response of the document is kept, as clients
+	 * keep filtering it and resolving its items while the user types.
+	 */
+	public static void invalidate(String uri) {
+		invalidate(uri, true);
+	}
+
+	/**
+	 * Discards all the responses computed for the given document, after it has
+	 * been closed.
+	 */
+	public static void invalidateAll(String uri) {
+		invalidate(uri, false);
+		CompletionResponse response = latest;
+		if (response != null && Objects.equals(uri, response.getUri())) {
+			latest = null;
 		}
 	}
 
+	private static void invalidate(String uri, boolean keepMostRecent) {
+		if (uri == null) {
+			return;
+		}
+		synchronized (COMPLETIONS) {
+			CompletionResponse mostRecent = null;
+			if (keepMostRecent) {
+				for (CompletionResponse response : COMPLETIONS.values()) {
+					if (uri.equals(response.getUri()) && (mostRecent == null || response.getId() > mostRecent.getId())) {
+						mostRecent = response;
+					}
+				}
+			}
+			Iterator<CompletionResponse> iterator = COMPLETIONS.values().iterator();
+			while (iterator.hasNext()) {
+				CompletionResponse response = iterator.next();
+				if (response != mostRecent && uri.equals(response.getUri())) {
+					iterator.remove();
+					remove(response);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the last stored completion response, or <code>null</code> if the
+	 *         store has been cleared since
+	 */
+	public static CompletionResponse getLatest() {
+		return latest;
+	}
+
 	public static void clear() {
-		COMPLETIONS.clear();
+		synchronized (COMPLETIONS) {
+			COMPLETIONS.clear();
+			retainedSize = 0;
+		}
+		latest = null;
+	}
+
+	/**
+	 * @return the number of responses in the cache
+	 */
+	public static int size() {
+		synchronized (COMPLETIONS) {
+			return COMPLETIONS.size();
+		}
+	}
+
+	/**
+	 * @return the estimated size, in bytes, of the responses in the cache
+	 */
+	public static long getRetainedSize() {
+		synchronized (COMPLETIONS) {
+			return retainedSize;
+		}
+	}
+
+	/**
+	 * @return the number of lookups which found their response
+	 */
+	public static long getHitCount() {
+		return hits.get();
+	}
+
+	/**
+	 * @return the number of lookups for a response which was evicted or
+	 *         invalidated
+	 */
+	public static long getMissCount() {
+		return misses.get();
+	}
+
+	private static void remove(CompletionResponse response) {
+		if (response != null) {
+			retainedSize -= response.getEstimatedSize();
+		}
+	}
+
+	private static long estimateSize(CompletionResponse response) {
+		long size = 0;
+		if (response.getProposals() != null) {
+			for (CompletionProposal proposal : response.getProposals()) {
+				size += estimateSize(proposal);
+			}
+		}
+		if (response.getContents() != null) {
+			size += 2L * response.getContents().length();
+		}
+		return size;
+	}
+
+	private static long estimateSize(CompletionProposal proposal) {
+		long size = PROPOSAL_OVERHEAD;
+		size += sizeOf(proposal.getCompletion());
+		size += sizeOf(proposal.getName());
+		size += sizeOf(proposal.getSignature());
+		size += sizeOf(proposal.getDeclarationSignature());
+		size += sizeOf(proposal.getDeclarationKey());
+		size += sizeOf(proposal.getKey());
+		CompletionProposal[] requiredProposals = proposal.getRequiredProposals();
+		if (requiredProposals != null) {
+			for (CompletionProposal requiredProposal : requiredProposals) {
+				size += estimateSize(requiredProposal);
+			}
+		}
+		return size;
+	}
+
+	private static int sizeOf(char[] chars) {
+		return chars == null ? 0 : 16 + 2 * chars.length;
 	}
 }
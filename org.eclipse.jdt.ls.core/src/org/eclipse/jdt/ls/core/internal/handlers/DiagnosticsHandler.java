@@ -14,7 +14,9 @@ package org.eclipse.jdt.ls.core.internal.handlers;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jdt.core.ICompilationUnit;
@@ -88,36 +90,53 @@ public class DiagnosticsHandler implements IProblemRequestor {
 				return false;
 			default:
 				//We log problems for troubleshooting purposes
-				String error = getError(problem);
-				JavaLanguageServerPlugin.logInfo(problem.getMessage() + " is of type " + error);
+				if (JavaLanguageServerPlugin.isDebugEnabled()) {
+					JavaLanguageServerPlugin.logInfo(problem.getMessage() + " is of type " + getError(problem));
+				}
 		}
 		return true;
 	}
 
-	private String getError(IProblem problem) {
-		try {
-			for (Field field : IProblem.class.getDeclaredFields()) {
-				if (int.class.equals(field.getType())
-						&& Integer.valueOf(problem.getID()).equals(field.get(null))) {
-					return field.getName();
+	private static String getError(IProblem problem) {
+		String name = ProblemNames.NAMES.get(problem.getID());
+		return name == null ? "unknown" : name;
+	}
+
+	/**
+	 * The names of the {@link IProblem} constants, by problem ID, computed once.
+	 */
+	private static final class ProblemNames {
+
+		private static final Map<Integer, String> NAMES = new HashMap<>();
+
+		static {
+			try {
+				for (Field field : IProblem.class.getDeclaredFields()) {
+					if (int.class.equals(field.getType())) {
+						// the first declared constant wins, for the IDs having several names
+						NAMES.putIfAbsent(field.getInt(null), field.getName());
+					}
 				}
+			} catch (Exception e) {
 			}
-		} catch (Exception e) {
 		}
-		return "unknown";
 	}
 
 	@Override
 	public void beginReporting() {
-		JavaLanguageServerPlugin.logInfo("begin problem for " + this.uri.substring(this.uri.lastIndexOf('/')));
+		if (JavaLanguageServerPlugin.isDebugEnabled()) {
+			JavaLanguageServerPlugin.logInfo("begin problem for " + this.uri.substring(this.uri.lastIndexOf('/')));
+		}
 		problems.clear();
 	}
 
 	@Override
 	public void endReporting() {
-		JavaLanguageServerPlugin.logInfo(problems.size() + " problems reported for " + this.uri.substring(this.uri.lastIndexOf('/')));
+		if (JavaLanguageServerPlugin.isDebugEnabled()) {
+			JavaLanguageServerPlugin.logInfo(problems.size() + " problems reported for " + this.uri.substring(this.uri.lastIndexOf('/')));
+		}
 		PublishDiagnosticsParams $ = new PublishDiagnosticsParams(ResourceUtils.toClientUri(uri), toDiagnosticsArray(this.cu, problems));
-		this.connection.publishDiagnostics($);
+		this.connection.publishDiagnostics($, true);
 	}
 
 	@Override
@@ -177,7 +196,7 @@ public class DiagnosticsHandler implements IProblemRequestor {
 		JavaLanguageServerPlugin.logInfo("Clearing problems for " + this.uri.substring(this.uri.lastIndexOf('/')));
 		problems.clear();
 		PublishDiagnosticsParams $ = new PublishDiagnosticsParams(ResourceUtils.toClientUri(uri), Collections.emptyList());
-		this.connection.publishDiagnostics($);
+		this.connection.publishDiagnostics($, true);
 	}
 
 	/**
@@ -10,18 +10,22 @@
  *******************************************************************************/
 package org.eclipse.jdt.ls.core.internal.handlers;
 
-import static com.google.common.collect.Lists.newArrayList;
-
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.resources.WorkspaceJob;
@@ -30,11 +34,18 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.MultiRule;
+import org.eclipse.jdt.core.ElementChangedEvent;
 import org.eclipse.jdt.core.IBuffer;
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
 import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IProblemRequestor;
 import org.eclipse.jdt.core.JavaCore;
@@ -43,14 +54,12 @@ import org.eclipse.jdt.core.WorkingCopyOwner;
 import org.eclipse.jdt.core.compiler.IProblem;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.manipulation.CoreASTProvider;
-import org.eclipse.jdt.internal.ui.javaeditor.HighlightedPositionCore;
 import org.eclipse.jdt.ls.core.internal.ActionableNotification;
 import org.eclipse.jdt.ls.core.internal.DocumentAdapter;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.highlighting.SemanticHighlightingService;
-import org.eclipse.jdt.ls.core.internal.highlighting.SemanticHighlightingService.HighlightedPositionDiffContext;
 import org.eclipse.jdt.ls.core.internal.managers.ProjectsManager;
 import org.eclipse.jdt.ls.core.internal.managers.ProjectsManager.CHANGE_TYPE;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
@@ -58,8 +67,6 @@ import org.eclipse.jdt.ls.core.internal.preferences.Preferences;
 import org.eclipse.jdt.ls.core.internal.preferences.Preferences.Severity;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.BadPositionCategoryException;
-import org.eclipse.jface.text.Document;
-import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.lsp4j.Command;
 import org.eclipse.lsp4j.DidChangeTextDocumentParams;
@@ -68,15 +75,12 @@ import org.eclipse.lsp4j.DidOpenTextDocumentParams;
 import org.eclipse.lsp4j.DidSaveTextDocumentParams;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
-import org.eclipse.lsp4j.VersionedTextDocumentIdentifier;
 import org.eclipse.text.edits.DeleteEdit;
 import org.eclipse.text.edits.InsertEdit;
 import org.eclipse.text.edits.MalformedTreeException;
 import org.eclipse.text.edits.ReplaceEdit;
 import org.eclipse.text.edits.TextEdit;
 
-import com.google.common.collect.Iterables;
-
 public class DocumentLifeCycleHandler {
 
 	public static final String DOCUMENT_LIFE_CYCLE_JOBS = "DocumentLifeCycleJobs";
@@ -86,8 +90,16 @@ public class DocumentLifeCycleHandler {
 
 	private CoreASTProvider sharedASTProvider;
 	private WorkspaceJob validationTimer;
+	private Job highlightingJob;
 	private Set<ICompilationUnit> toReconcile = new HashSet<>();
+	private boolean fullValidation;
+	// the types changed by the reconciles of a cancelled validation, guarded by toReconcile
+	private Set<String> pendingChangedTypes = new HashSet<>();
+	private WorkingCopyDependencyTracker dependencyTracker = new WorkingCopyDependencyTracker();
+	private Set<ICompilationUnit> toHighlight = new LinkedHashSet<>();
 	private SemanticHighlightingService semanticHighlightingService;
+	// the locks of the buffers of the opened documents, by URI
+	private Map<String, Object> documentLocks = new ConcurrentHashMap<>();
 
 	public DocumentLifeCycleHandler(JavaClientConnection connection, PreferenceManager preferenceManager, ProjectsManager projectsManager, boolean delayValidation) {
 		this.connection = connection;
@@ -96,10 +108,20 @@ public class DocumentLifeCycleHandler {
 		this.sharedASTProvider = CoreASTProvider.getInstance();
 		this.semanticHighlightingService = new SemanticHighlightingService(this.connection, this.sharedASTProvider, this.preferenceManager);
 		if (delayValidation) {
+			// the validation only locks the projects of the documents, see performValidation
 			this.validationTimer = new WorkspaceJob("Validate documents") {
 				@Override
 				public IStatus runInWorkspace(IProgressMonitor monitor) throws CoreException {
-					return performValidation(monitor);
+					try {
+						return performValidation(monitor);
+					} finally {
+						// highlight once the reconciler's AST is available
+						synchronized (toHighlight) {
+							if (!toHighlight.isEmpty()) {
+								highlightingJob.schedule();
+							}
+						}
+					}
 				}
 
 				/* (non-Javadoc)
@@ -110,7 +132,13 @@ public class DocumentLifeCycleHandler {
 					return DOCUMENT_LIFE_CYCLE_JOBS.equals(family);
 				}
 			};
-			this.validationTimer.setRule(ResourcesPlugin.getWorkspace().getRoot());
+			this.highlightingJob = new Job("Update semantic highlighting") {
+				@Override
+				protected IStatus run(IProgressMonitor monitor) {
+					return performSemanticHighlighting(monitor);
+				}
+			};
+			this.highlightingJob.setSystem(true);
 		}
 	}
 
@@ -119,8 +147,18 @@ public class DocumentLifeCycleHandler {
 	}
 
 	private void triggerValidation(ICompilationUnit cu, long delay) throws JavaModelException {
+		triggerValidation(cu, delay, false);
+	}
+
+	/**
+	 * Schedules the validation of the given unit. Unless <code>full</code> is
+	 * set, only the working copies depending on the API changed by the
+	 * reconcile of the unit are re-validated.
+	 */
+	private void triggerValidation(ICompilationUnit cu, long delay, boolean full) throws JavaModelException {
 		synchronized (toReconcile) {
 			toReconcile.add(cu);
+			fullValidation |= full;
 			sharedASTProvider.setActiveJavaElement(cu);
 		}
 		if (validationTimer != null) {
@@ -131,36 +169,150 @@ public class DocumentLifeCycleHandler {
 		}
 	}
 
+	/**
+	 * Reconciles the changed documents, then validates the documents affected
+	 * by the changes. Each step only locks the projects of its documents, so
+	 * that the validation doesn't wait for the workspace operations on the
+	 * other projects.
+	 */
 	private IStatus performValidation(IProgressMonitor monitor) throws JavaModelException {
 		long start = System.currentTimeMillis();
 
-		List<ICompilationUnit> cusToReconcile = new ArrayList<>();
+		Set<ICompilationUnit> cusToReconcile = new LinkedHashSet<>();
+		Set<String> changedTypes = new HashSet<>();
+		boolean structuralChange;
 		synchronized (toReconcile) {
 			cusToReconcile.addAll(toReconcile);
 			toReconcile.clear();
+			structuralChange = fullValidation;
+			fullValidation = false;
+			changedTypes.addAll(pendingChangedTypes);
+			pendingChangedTypes.clear();
 		}
 		if (cusToReconcile.isEmpty()) {
 			return Status.OK_STATUS;
 		}
-		// first reconcile all units with content changes
+		// first reconcile all units with content changes, collecting the resulting deltas
 		SubMonitor progress = SubMonitor.convert(monitor, cusToReconcile.size() + 1);
-		for (ICompilationUnit cu : cusToReconcile) {
-			cu.reconcile(ICompilationUnit.NO_AST, true, null, progress.newChild(1));
+		List<IJavaElementDelta> deltas = Collections.synchronizedList(new ArrayList<>());
+		IElementChangedListener deltaCollector = event -> deltas.add(event.getDelta());
+		try {
+			try {
+				runWithRule(reconcileMonitor -> {
+					JavaCore.addElementChangedListener(deltaCollector, ElementChangedEvent.POST_RECONCILE);
+					try {
+						for (ICompilationUnit cu : cusToReconcile) {
+							cu.reconcile(ICompilationUnit.NO_AST, true, null, progress.newChild(1));
+						}
+					} finally {
+						JavaCore.removeElementChangedListener(deltaCollector);
+					}
+				}, getProjectsRule(cusToReconcile), monitor);
+			} finally {
+				// also when cancelled, since the reconciled units won't produce these deltas again
+				synchronized (deltas) {
+					for (IJavaElementDelta delta : deltas) {
+						if (structuralChange) {
+							break;
+						}
+						structuralChange = WorkingCopyDependencyTracker.collectChangedTypes(delta, changedTypes);
+					}
+				}
+			}
+			this.sharedASTProvider.disposeAST();
+			// then only validate the working copies affected by the changes
+			List<ICompilationUnit> toValidate = new ArrayList<>();
+			for (ICompilationUnit workingCopy : JavaCore.getWorkingCopies(null)) {
+				if (structuralChange || cusToReconcile.contains(workingCopy) || (!changedTypes.isEmpty() && dependencyTracker.dependsOn(workingCopy, changedTypes))) {
+					toValidate.add(workingCopy);
+				}
+			}
+			progress.setWorkRemaining(toValidate.size());
+			runWithRule(validateMonitor -> {
+				List<CompilationUnit> astRoots = new ArrayList<>();
+				for (ICompilationUnit rootToValidate : toValidate) {
+					CompilationUnit astRoot = this.sharedASTProvider.getAST(rootToValidate, CoreASTProvider.WAIT_YES, monitor);
+					dependencyTracker.update(rootToValidate, astRoot);
+					astRoots.add(astRoot);
+				}
+				for (CompilationUnit astRoot : astRoots) {
+					// report errors, even if there are no problems in the file: The client need to know that they got fixed.
+					ICompilationUnit unit = (ICompilationUnit) astRoot.getTypeRoot();
+					publishDiagnostics(unit, progress.newChild(1));
+				}
+			}, getProjectsRule(toValidate), monitor);
+			JavaLanguageServerPlugin.logInfo("Reconciled " + cusToReconcile.size() + ", validated: " + toValidate.size() + (structuralChange ? " (full)" : "") + ". Took " + (System.currentTimeMillis() - start) + " ms");
+		} catch (OperationCanceledException e) {
+			// e.g. cancelled while waiting for the projects, the units and their dependents are validated by the next run
+			synchronized (toReconcile) {
+				toReconcile.addAll(cusToReconcile);
+				fullValidation |= structuralChange;
+				pendingChangedTypes.addAll(changedTypes);
+			}
+			throw e;
 		}
-		this.sharedASTProvider.disposeAST();
-		List<ICompilationUnit> toValidate = Arrays.asList(JavaCore.getWorkingCopies(null));
-		List<CompilationUnit> astRoots = new ArrayList<>();
-		for (ICompilationUnit rootToValidate : toValidate) {
-			CompilationUnit astRoot = this.sharedASTProvider.getAST(rootToValidate, CoreASTProvider.WAIT_YES, monitor);
-			astRoots.add(astRoot);
+		return Status.OK_STATUS;
+	}
+
+	private static void runWithRule(IWorkspaceRunnable runnable, ISchedulingRule rule, IProgressMonitor monitor) throws JavaModelException {
+		try {
+			ResourcesPlugin.getWorkspace().run(runnable, rule, IWorkspace.AVOID_UPDATE, monitor);
+		} catch (JavaModelException e) {
+			throw e;
+		} catch (CoreException e) {
+			throw new JavaModelException(e);
 		}
-		for (CompilationUnit astRoot : astRoots) {
-			// report errors, even if there are no problems in the file: The client need to know that they got fixed.
-			ICompilationUnit unit = (ICompilationUnit) astRoot.getTypeRoot();
-			publishDiagnostics(unit, progress.newChild(1));
+	}
+
+	private static ISchedulingRule getProjectsRule(Collection<ICompilationUnit> units) {
+		ISchedulingRule rule = null;
+		for (ICompilationUnit unit : units) {
+			IResource resource = unit.getResource();
+			if (resource != null) {
+				rule = MultiRule.combine(rule, resource.getProject());
+			}
 		}
-		JavaLanguageServerPlugin.logInfo("Reconciled " + toReconcile.size() + ", validated: " + toValidate.size() + ". Took " + (System.currentTimeMillis() - start) + " ms");
-		return Status.OK_STATUS;
+		return rule;
+	}
+
+	private Object getDocumentLock(String uri) {
+		return documentLocks.computeIfAbsent(uri, u -> new Object());
+	}
+
+	private void triggerSemanticHighlighting(ICompilationUnit cu) {
+		synchronized (toHighlight) {
+			toHighlight.add(cu);
+		}
+		if (highlightingJob != null) {
+			// the job is scheduled once the pending validation is done
+			highlightingJob.cancel();
+		} else {
+			performSemanticHighlighting(new NullProgressMonitor());
+		}
+	}
+
+	private IStatus performSemanticHighlighting(IProgressMonitor monitor) {
+		List<ICompilationUnit> cusToHighlight;
+		synchronized (toHighlight) {
+			cusToHighlight = new ArrayList<>(toHighlight);
+			toHighlight.clear();
+		}
+		for (ICompilationUnit cu : cusToHighlight) {
+			try {
+				if (!monitor.isCanceled()) {
+					updateSemanticHighlightings(cu, monitor);
+				}
+			} catch (JavaModelException | BadLocationException | BadPositionCategoryException e) {
+				JavaLanguageServerPlugin.logException("Error while updating semantic highlighting of " + cu.getElementName(), e);
+			}
+			if (monitor.isCanceled()) {
+				// the pending changes are highlighted by the next run
+				synchronized (toHighlight) {
+					toHighlight.add(cu);
+				}
+			}
+		}
+		return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
 	}
 
 	private void publishDiagnostics(ICompilationUnit unit, IProgressMonitor monitor) throws JavaModelException {
@@ -193,41 +345,35 @@ public class DocumentLifeCycleHandler {
 	}
 
 	public void didClose(DidCloseTextDocumentParams params) {
+		String uri = params.getTextDocument().getUri();
+		if (projectsManager != null) {
+			projectsManager.documentClosed(uri);
+		}
+		// like the edits, closing a working copy doesn't change the workspace, only deleting its resource locks its project
 		try {
-			ResourcesPlugin.getWorkspace().run(new IWorkspaceRunnable() {
-				@Override
-				public void run(IProgressMonitor monitor) throws CoreException {
-					handleClosed(params);
-				}
-			}, new NullProgressMonitor());
-		} catch (CoreException e) {
-			JavaLanguageServerPlugin.logException("Handle document close ", e);
+			synchronized (getDocumentLock(uri)) {
+				handleClosed(params);
+			}
+		} finally {
+			documentLocks.remove(uri);
 		}
 	}
 
 	public void didOpen(DidOpenTextDocumentParams params) {
-		try {
-			ResourcesPlugin.getWorkspace().run(new IWorkspaceRunnable() {
-				@Override
-				public void run(IProgressMonitor monitor) throws CoreException {
-					handleOpen(params);
-				}
-			}, new NullProgressMonitor());
-		} catch (CoreException e) {
-			JavaLanguageServerPlugin.logException("Handle document open ", e);
+		// recorded before waiting for the workspace, which may be importing projects
+		if (projectsManager != null) {
+			projectsManager.documentOpened(params.getTextDocument().getUri());
+		}
+		// like the edits, opening a working copy doesn't change the workspace, only refreshing its resource locks its project
+		synchronized (getDocumentLock(params.getTextDocument().getUri())) {
+			handleOpen(params);
 		}
 	}
 
 	public void didChange(DidChangeTextDocumentParams params) {
-		try {
-			ResourcesPlugin.getWorkspace().run(new IWorkspaceRunnable() {
-				@Override
-				public void run(IProgressMonitor monitor) throws CoreException {
-					handleChanged(params);
-				}
-			}, new NullProgressMonitor());
-		} catch (CoreException e) {
-			JavaLanguageServerPlugin.logException("Handle document change ", e);
+		// editing the buffer of a working copy doesn't change the workspace, so that the edits don't wait for the builds
+		synchronized (getDocumentLock(params.getTextDocument().getUri())) {
+			handleChanged(params);
 		}
 	}
 
@@ -255,14 +401,18 @@ public class DocumentLifeCycleHandler {
 			// checks if the underlying resource exists and refreshes to sync the newly created file.
 			if (!unit.getResource().isAccessible()) {
 				try {
-					unit.getResource().refreshLocal(IResource.DEPTH_ONE, new NullProgressMonitor());
-					if (unit.getResource().exists()) {
-						IJavaElement parent = unit.getParent();
-						if (parent instanceof IPackageFragment) {
-							IPackageFragment pkg = (IPackageFragment) parent;
-							unit = pkg.createCompilationUnit(unit.getElementName(), unit.getSource(), true, new NullProgressMonitor());
+					ICompilationUnit[] created = { unit };
+					runWithRule(monitor -> {
+						created[0].getResource().refreshLocal(IResource.DEPTH_ONE, monitor);
+						if (created[0].getResource().exists()) {
+							IJavaElement parent = created[0].getParent();
+							if (parent instanceof IPackageFragment) {
+								IPackageFragment pkg = (IPackageFragment) parent;
+								created[0] = pkg.createCompilationUnit(created[0].getElementName(), created[0].getSource(), true, monitor);
+							}
 						}
-					}
+					}, unit.getResource().getProject(), new NullProgressMonitor());
+					unit = created[0];
 				} catch (CoreException e) {
 					// ignored
 				}
@@ -298,7 +448,7 @@ public class DocumentLifeCycleHandler {
 			if (buffer != null && !buffer.getContents().equals(newContent)) {
 				buffer.setContents(newContent);
 			}
-			triggerValidation(unit);
+			triggerValidation(unit, 400, true);
 			installSemanticHighlightings(unit);
 			// see https://github.com/redhat-developer/vscode-java/issues/274
 			checkPackageDeclaration(uri, unit);
@@ -319,58 +469,45 @@ public class DocumentLifeCycleHandler {
 			if (unit.equals(sharedASTProvider.getActiveJavaElement())) {
 				sharedASTProvider.disposeAST();
 			}
-			List<TextDocumentContentChangeEvent> contentChanges = params.getContentChanges();
-			List<HighlightedPositionDiffContext> diffContexts = newArrayList();
-			for (TextDocumentContentChangeEvent changeEvent : contentChanges) {
-
-				Range range = changeEvent.getRange();
-				int length;
-
-				if (range != null) {
-					length = changeEvent.getRangeLength().intValue();
-				} else {
-					// range is optional and if not given, the whole file content is replaced
-					length = unit.getSource().length();
-					range = JDTUtils.toRange(unit, 0, length);
-				}
-
-				int startOffset = JsonRpcHelpers.toOffset(unit.getBuffer(), range.getStart().getLine(), range.getStart().getCharacter());
+			semanticHighlightingService.beginChange(unit, params.getTextDocument());
+			try {
+				IDocument document = JsonRpcHelpers.toDocument(unit.getBuffer());
+				for (TextDocumentContentChangeEvent changeEvent : params.getContentChanges()) {
+
+					Range range = changeEvent.getRange();
+					int length;
+
+					if (range != null) {
+						length = changeEvent.getRangeLength().intValue();
+					} else {
+						// range is optional and if not given, the whole file content is replaced
+						length = unit.getSource().length();
+						range = JDTUtils.toRange(unit, 0, length);
+					}
 
-				TextEdit edit = null;
-				String text = changeEvent.getText();
-				if (length == 0) {
-					edit = new InsertEdit(startOffset, text);
-				} else if (text.isEmpty()) {
-					edit = new DeleteEdit(startOffset, length);
-				} else {
-					edit = new ReplaceEdit(startOffset, length, text);
-				}
+					int startOffset = JsonRpcHelpers.toOffset(document, range.getStart().getLine(), range.getStart().getCharacter());
 
-				// Avoid any computation if the `SemanticHighlightingService#isEnabled` is `false`.
-				if (semanticHighlightingService.isEnabled()) {
-					IDocument oldState = new Document(unit.getBuffer().getContents());
-					IDocument newState = JsonRpcHelpers.toDocument(unit.getBuffer());
-					//@formatter:off
-					List<HighlightedPositionCore> oldPositions = diffContexts.isEmpty()
-						? semanticHighlightingService.getHighlightedPositions(uri)
-						: Iterables.getLast(diffContexts).newPositions;
-					//@formatter:on
-					edit.apply(newState, TextEdit.NONE);
-					// This is a must. Make the document immutable.
-					// Otherwise, any consecutive `newStates` get out-of-sync due to the shared buffer from the compilation unit.
-					newState = new Document(newState.get());
-					List<HighlightedPositionCore> newPositions = semanticHighlightingService.calculateHighlightedPositions(unit, true);
-					DocumentEvent event = new DocumentEvent(newState, startOffset, length, text);
-					diffContexts.add(new HighlightedPositionDiffContext(oldState, event, oldPositions, newPositions));
-				} else {
-					IDocument document = JsonRpcHelpers.toDocument(unit.getBuffer());
+					TextEdit edit = null;
+					String text = changeEvent.getText();
+					if (length == 0) {
+						edit = new InsertEdit(startOffset, text);
+					} else if (text.isEmpty()) {
+						edit = new DeleteEdit(startOffset, length);
+					} else {
+						edit = new ReplaceEdit(startOffset, length, text);
+					}
 					edit.apply(document, TextEdit.NONE);
 				}
-
+			} finally {
+				semanticHighlightingService.endChange(unit);
 			}
+			CompletionResponses.invalidate(JDTUtils.toURI(unit));
 			triggerValidation(unit);
-			updateSemanticHighlightings(params.getTextDocument(), diffContexts);
-		} catch (JavaModelException | MalformedTreeException | BadLocationException | BadPositionCategoryException e) {
+			// Avoid any computation if the `SemanticHighlightingService#isEnabled` is `false`.
+			if (semanticHighlightingService.isEnabled()) {
+				triggerSemanticHighlighting(unit);
+			}
+		} catch (JavaModelException | MalformedTreeException | BadLocationException e) {
 			JavaLanguageServerPlugin.logException("Error while handling document change. URI: " + uri, e);
 		}
 	}
@@ -385,6 +522,11 @@ public class DocumentLifeCycleHandler {
 			synchronized (toReconcile) {
 				toReconcile.remove(unit);
 			}
+			synchronized (toHighlight) {
+				toHighlight.remove(unit);
+			}
+			dependencyTracker.remove(unit);
+			CompletionResponses.invalidateAll(JDTUtils.toURI(unit));
 			if (JDTUtils.isDefaultProject(unit) || !JDTUtils.isOnClassPath(unit) || unit.getResource().isDerived()) {
 				new DiagnosticsHandler(connection, unit).clearDiagnostics();
 			} else if (unit.hasUnsavedChanges()) {
@@ -399,7 +541,7 @@ public class DocumentLifeCycleHandler {
 			if (JDTUtils.isDefaultProject(unit)) {
 				File f = new File(unit.getUnderlyingResource().getLocationURI());
 				if (!f.exists()) {
-					unit.delete(true, null);
+					runWithRule(monitor -> unit.delete(true, monitor), unit.getResource().getProject(), new NullProgressMonitor());
 				}
 			}
 			uninstallSemanticHighlightings(uri);
@@ -480,8 +622,8 @@ public class DocumentLifeCycleHandler {
 		this.semanticHighlightingService.uninstall(uri);
 	}
 
-	protected void updateSemanticHighlightings(VersionedTextDocumentIdentifier textDocument, List<HighlightedPositionDiffContext> diffContexts) throws BadLocationException, BadPositionCategoryException, JavaModelException {
-		this.semanticHighlightingService.update(textDocument, diffContexts);
+	protected boolean updateSemanticHighlightings(ICompilationUnit unit, IProgressMonitor monitor) throws BadLocationException, BadPositionCategoryException, JavaModelException {
+		return this.semanticHighlightingService.update(unit, monitor);
 	}
 
 }
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.lsp4j.DocumentSymbol;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+
+/**
+ * Cache of the document symbols of the type roots.
+ *
+ * The symbols of a compilation unit are discarded on every Java element delta
+ * of the unit, e.g. when its working copy is reconciled, and all the symbols
+ * are discarded on the deltas of its ancestors, e.g. on classpath changes. Only
+ * the symbols of the {@link #MAX_ENTRIES} most recently used type roots are
+ * kept, since the class files are rarely invalidated.
+ */
+public final class DocumentSymbolCache {
+
+	static final int MAX_ENTRIES = 32;
+
+	// guarded by itself
+	private static final Map<ITypeRoot, List<Either<SymbolInformation, DocumentSymbol>>> SYMBOLS = newCache();
+
+	// guarded by itself
+	private static final Map<ITypeRoot, List<Either<SymbolInformation, DocumentSymbol>>> HIERARCHICAL_SYMBOLS = newCache();
+
+	// incremented on every invalidation, so that symbols computed before it are not stored
+	private static final AtomicLong generation = new AtomicLong();
+
+	private static final IElementChangedListener LISTENER = DocumentSymbolCache::elementChanged;
+
+	static {
+		JavaCore.addElementChangedListener(LISTENER, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	private DocumentSymbolCache() {
+		//Don't instantiate
+	}
+
+	/**
+	 * @return the cached symbols of the given type root, or <code>null</code>
+	 */
+	public static List<Either<SymbolInformation, DocumentSymbol>> get(ITypeRoot typeRoot, boolean hierarchical) {
+		Map<ITypeRoot, List<Either<SymbolInformation, DocumentSymbol>>> cache = getSymbols(hierarchical);
+		synchronized (cache) {
+			return cache.get(typeRoot);
+		}
+	}
+
+	/**
+	 * @return the current generation of the cache, to pass to
+	 *         {@link #put(ITypeRoot, boolean, List, long)} once the symbols
+	 *         have been computed
+	 */
+	public static long getGeneration() {
+		return generation.get();
+	}
+
+	/**
+	 * Stores the symbols of the given type root, unless the cache has been
+	 * invalidated since the given generation.
+	 */
+	public static void put(ITypeRoot typeRoot, boolean hierarchical, List<Either<SymbolInformation, DocumentSymbol>> symbols, long expectedGeneration) {
+		Map<ITypeRoot, List<Either<SymbolInformation, DocumentSymbol>>> cache = getSymbols(hierarchical);
+		synchronized (cache) {
+			if (generation.get() == expectedGeneration) {
+				cache.put(typeRoot, symbols);
+			}
+		}
+	}
+
+	public static void clear() {
+		generation.incrementAndGet();
+		synchronized (SYMBOLS) {
+			SYMBOLS.clear();
+		}
+		synchronized (HIERARCHICAL_SYMBOLS) {
+			HIERARCHICAL_SYMBOLS.clear();
+		}
+	}
+
+	private static Map<ITypeRoot, List<Either<SymbolInformation, DocumentSymbol>>> newCache() {
+		return new LinkedHashMap<ITypeRoot, List<Either<SymbolInformation, DocumentSymbol>>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<ITypeRoot, List<Either<SymbolInformation, DocumentSymbol>>> eldest) {
+				return size() > MAX_ENTRIES;
+			}
+		};
+	}
+
+	private static Map<ITypeRoot, List<Either<SymbolInformation, DocumentSymbol>>> getSymbols(boolean hierarchical) {
+		return hierarchical ? HIERARCHICAL_SYMBOLS : SYMBOLS;
+	}
+
+	private static void elementChanged(ElementChangedEvent event) {
+		invalidate(event.getDelta());
+	}
+
+	private static void invalidate(IJavaElementDelta delta) {
+		IJavaElement element = delta.getElement();
+		int type = element.getElementType();
+		if (type == IJavaElement.COMPILATION_UNIT || type == IJavaElement.CLASS_FILE) {
+			generation.incrementAndGet();
+			synchronized (SYMBOLS) {
+				SYMBOLS.remove(element);
+			}
+			synchronized (HIERARCHICAL_SYMBOLS) {
+				HIERARCHICAL_SYMBOLS.remove(element);
+			}
+			return;
+		}
+		if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & ~(IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_PRIMARY_WORKING_COPY)) != 0) {
+			clear();
+			return;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			invalidate(child);
+		}
+	}
+}
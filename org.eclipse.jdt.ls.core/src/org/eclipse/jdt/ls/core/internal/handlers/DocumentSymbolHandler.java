@@ -18,29 +18,37 @@ import static org.eclipse.jdt.core.IJavaElement.METHOD;
 import static org.eclipse.jdt.core.IJavaElement.PACKAGE_DECLARATION;
 import static org.eclipse.jdt.core.IJavaElement.TYPE;
 import static org.eclipse.jdt.ls.core.internal.JDTUtils.LocationType.FULL_RANGE;
+import static org.eclipse.jdt.ls.core.internal.JDTUtils.LocationType.NAME_RANGE;
 import static org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin.logInfo;
 import static org.eclipse.jdt.ls.core.internal.hover.JavaElementLabels.ALL_DEFAULT;
 import static org.eclipse.jdt.ls.core.internal.hover.JavaElementLabels.M_APP_RETURNTYPE;
 import static org.eclipse.jdt.ls.core.internal.hover.JavaElementLabels.ROOT_VARIABLE;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.IClassFile;
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IParent;
+import org.eclipse.jdt.core.ISourceRange;
+import org.eclipse.jdt.core.ISourceReference;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.SourceRange;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
+import org.eclipse.jdt.ls.core.internal.JDTUtils.LocationType;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.ResourceUtils;
 import org.eclipse.jdt.ls.core.internal.hover.JavaElementLabels;
@@ -70,20 +78,37 @@ public class DocumentSymbolHandler {
 			return Collections.emptyList();
 		}
 
+		List<Either<SymbolInformation, DocumentSymbol>> result = null;
+		long generation = DocumentSymbolCache.getGeneration();
+		// the reconcile of the last changes may not have run yet, e.g. because the workspace is being imported,
+		// the symbols of the current model are returned then, but not cached, as the reconcile will change them
+		boolean consistent = unit.isConsistent();
+		if (consistent) {
+			result = DocumentSymbolCache.get(unit, hierarchicalDocumentSymbolSupported);
+			if (result != null) {
+				return result;
+			}
+		}
 		if (hierarchicalDocumentSymbolSupported) {
 			List<DocumentSymbol> symbols = this.getHierarchicalOutline(unit, monitor);
-			return symbols.stream().map(Either::<SymbolInformation, DocumentSymbol>forRight).collect(toList());
+			result = symbols.stream().map(Either::<SymbolInformation, DocumentSymbol>forRight).collect(toList());
 		} else {
 			SymbolInformation[] elements = this.getOutline(unit, monitor);
-			return Arrays.asList(elements).stream().map(Either::<SymbolInformation, DocumentSymbol>forLeft).collect(toList());
+			result = Arrays.asList(elements).stream().map(Either::<SymbolInformation, DocumentSymbol>forLeft).collect(toList());
 		}
+		if (consistent && !monitor.isCanceled()) {
+			result = Collections.unmodifiableList(result);
+			DocumentSymbolCache.put(unit, hierarchicalDocumentSymbolSupported, result, generation);
+		}
+		return result;
 	}
 
 	private SymbolInformation[] getOutline(ITypeRoot unit, IProgressMonitor monitor) {
 		try {
 			IJavaElement[] elements = unit.getChildren();
-			ArrayList<SymbolInformation> symbols = new ArrayList<>(elements.length);
-			collectChildren(unit, elements, symbols, monitor);
+			// the symbols are compared by hash, as there can be thousands of them
+			Set<SymbolInformation> symbols = new LinkedHashSet<>(elements.length);
+			collectChildren(unit, getURI(unit), elements, symbols, monitor);
 			return symbols.toArray(new SymbolInformation[symbols.size()]);
 		} catch (JavaModelException e) {
 			JavaLanguageServerPlugin.logException("Problem getting outline for" + unit.getElementName(), e);
@@ -91,7 +116,7 @@ public class DocumentSymbolHandler {
 		return new SymbolInformation[0];
 	}
 
-	private void collectChildren(ITypeRoot unit, IJavaElement[] elements, ArrayList<SymbolInformation> symbols,
+	private void collectChildren(ITypeRoot unit, String uri, IJavaElement[] elements, Set<SymbolInformation> symbols,
 			IProgressMonitor monitor)
 			throws JavaModelException {
 		for (IJavaElement element : elements) {
@@ -99,34 +124,30 @@ public class DocumentSymbolHandler {
 				throw new OperationCanceledException();
 			}
 			if (element instanceof IParent) {
-				collectChildren(unit, filter(((IParent) element).getChildren()), symbols, monitor);
+				collectChildren(unit, uri, filter(((IParent) element).getChildren()), symbols, monitor);
 			}
 			int type = element.getElementType();
 			if (type != IJavaElement.TYPE && type != IJavaElement.FIELD && type != IJavaElement.METHOD) {
 				continue;
 			}
 
-			Location location = JDTUtils.toLocation(element);
-			if (location != null) {
+			Range range = uri == null ? null : toRange(unit, element, NAME_RANGE);
+			if (range != null) {
 				SymbolInformation si = new SymbolInformation();
-				String name = JavaElementLabels.getElementLabel(element, JavaElementLabels.ALL_DEFAULT);
-				si.setName(name == null ? element.getElementName() : name);
+				si.setName(getName(element));
 				si.setKind(mapKind(element));
 				if (element.getParent() != null) {
 					si.setContainerName(element.getParent().getElementName());
 				}
-				location.setUri(ResourceUtils.toClientUri(location.getUri()));
-				si.setLocation(location);
-				if (!symbols.contains(si)) {
-					symbols.add(si);
-				}
+				si.setLocation(new Location(uri, range));
+				symbols.add(si);
 			}
 		}
 	}
 
 	private List<DocumentSymbol> getHierarchicalOutline(ITypeRoot unit, IProgressMonitor monitor) {
 		try {
-			return Stream.of(filter(unit.getChildren())).map(child -> toDocumentSymbol(child, monitor)).filter(Objects::nonNull).collect(Collectors.toList());
+			return Stream.of(filter(unit.getChildren())).map(child -> toDocumentSymbol(unit, child, monitor)).filter(Objects::nonNull).collect(Collectors.toList());
 		} catch (OperationCanceledException e) {
 			logInfo("User abort while collecting the document symbols.");
 		} catch (JavaModelException e) {
@@ -135,7 +156,7 @@ public class DocumentSymbolHandler {
 		return emptyList();
 	}
 
-	private DocumentSymbol toDocumentSymbol(IJavaElement unit, IProgressMonitor monitor) {
+	private DocumentSymbol toDocumentSymbol(ITypeRoot typeRoot, IJavaElement unit, IProgressMonitor monitor) {
 		int type = unit.getElementType();
 		if (type != TYPE && type != FIELD && type != METHOD && type != PACKAGE_DECLARATION && type != COMPILATION_UNIT) {
 			return null;
@@ -147,8 +168,8 @@ public class DocumentSymbolHandler {
 		try {
 			String name = getName(unit);
 			symbol.setName(name);
-			symbol.setRange(getRange(unit));
-			symbol.setSelectionRange(getSelectionRange(unit));
+			symbol.setRange(getRange(typeRoot, unit));
+			symbol.setSelectionRange(getSelectionRange(typeRoot, unit));
 			symbol.setKind(mapKind(unit));
 			symbol.setDeprecated(isDeprecated(unit));
 			symbol.setDetail(getDetail(unit, name));
@@ -156,7 +177,7 @@ public class DocumentSymbolHandler {
 				//@formatter:off
 				IJavaElement[] children = filter(((IParent) unit).getChildren());
 				symbol.setChildren(Stream.of(children)
-						.map(child -> toDocumentSymbol(child, monitor))
+						.map(child -> toDocumentSymbol(typeRoot, child, monitor))
 						.filter(Objects::nonNull)
 						.collect(Collectors.toList()));
 				//@formatter:off
@@ -172,14 +193,41 @@ public class DocumentSymbolHandler {
 		return name == null ? element.getElementName() : name;
 	}
 
-	private Range getRange(IJavaElement element) throws JavaModelException {
-		Location location = JDTUtils.toLocation(element, FULL_RANGE);
-		return location == null ? DEFAULT_RANGE : location.getRange();
+	private Range getRange(ITypeRoot typeRoot, IJavaElement element) throws JavaModelException {
+		Range range = toRange(typeRoot, element, FULL_RANGE);
+		return range == null ? DEFAULT_RANGE : range;
+	}
+
+	private Range getSelectionRange(ITypeRoot typeRoot, IJavaElement element) throws JavaModelException {
+		Range range = toRange(typeRoot, element, NAME_RANGE);
+		return range == null ? DEFAULT_RANGE : range;
+	}
+
+	/**
+	 * Returns the range of the given element of the type root, without
+	 * computing the URI of the type root again, as
+	 * {@link JDTUtils#toLocation(IJavaElement, LocationType)} would.
+	 */
+	private static Range toRange(ITypeRoot typeRoot, IJavaElement element, LocationType type) throws JavaModelException {
+		if (!(element instanceof ISourceReference)) {
+			return null;
+		}
+		ISourceRange sourceRange = type.getRange(element);
+		if (!SourceRange.isAvailable(sourceRange)) {
+			return null;
+		}
+		return JDTUtils.toRange(typeRoot, sourceRange.getOffset(), sourceRange.getLength());
 	}
 
-	private Range getSelectionRange(IJavaElement element) throws JavaModelException {
-		Location location = JDTUtils.toLocation(element);
-		return location == null ? DEFAULT_RANGE : location.getRange();
+	private static String getURI(ITypeRoot unit) {
+		if (unit instanceof ICompilationUnit) {
+			return ResourceUtils.toClientUri(JDTUtils.toURI((ICompilationUnit) unit));
+		}
+		if (unit instanceof IClassFile) {
+			String uri = JDTUtils.toUri((IClassFile) unit);
+			return uri == null ? null : ResourceUtils.toClientUri(uri);
+		}
+		return null;
 	}
 
 	private boolean isDeprecated(IJavaElement element) throws JavaModelException {
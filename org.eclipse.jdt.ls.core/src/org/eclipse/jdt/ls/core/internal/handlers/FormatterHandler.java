@@ -22,8 +22,9 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
-import org.eclipse.jdt.core.ToolFactory;
 import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.jdt.core.dom.BodyDeclaration;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.NodeFinder;
 import org.eclipse.jdt.core.formatter.CodeFormatter;
@@ -33,6 +34,7 @@ import org.eclipse.jdt.internal.compiler.env.IModule;
 import org.eclipse.jdt.internal.corext.refactoring.util.TextEditUtil;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.managers.FormatterManager;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
@@ -102,12 +104,21 @@ public class FormatterHandler {
 			return Collections.emptyList();
 		}
 
-		CodeFormatter formatter = ToolFactory.createCodeFormatter(getOptions(options, cu));
+		Map<String, String> formatterOptions = getOptions(options, cu);
+		CodeFormatter formatter = FormatterManager.getCodeFormatter(formatterOptions);
 
 		String lineDelimiter = TextUtilities.getDefaultLineDelimiter(document);
-		String sourceToFormat = document.get();
 		int kind = getFormattingKind(cu, includeComments);
-		TextEdit format = formatter.format(kind, sourceToFormat, region.getOffset(), region.getLength(), 0, lineDelimiter);
+		TextEdit format = null;
+		if (region.getLength() < document.getLength() && (kind & CodeFormatter.K_COMPILATION_UNIT) != 0) {
+			format = formatMember(cu, document, region, formatter, formatterOptions, includeComments, lineDelimiter, monitor);
+		}
+		if (format == null) {
+			String sourceToFormat = document.get();
+			synchronized (formatter) {
+				format = formatter.format(kind, sourceToFormat, region.getOffset(), region.getLength(), 0, lineDelimiter);
+			}
+		}
 		if (format == null || format.getChildren().length == 0 || monitor.isCanceled()) {
 			// nothing to return
 			return Collections.<org.eclipse.lsp4j.TextEdit>emptyList();
@@ -116,6 +127,64 @@ public class FormatterHandler {
 		return convertEdits(flatEdit.getChildren(), document);
 	}
 
+	/**
+	 * Formats the given region of the member of a type enclosing it, instead of
+	 * the whole source, e.g. when typing <code>}</code> in a large file.
+	 *
+	 * @return the edits formatting the region, or <code>null</code> if the
+	 *         region is not in a member starting and ending on its own lines
+	 */
+	private static TextEdit formatMember(ICompilationUnit cu, IDocument document, IRegion region, CodeFormatter formatter, Map<String, String> options, boolean includeComments, String lineDelimiter, IProgressMonitor monitor) {
+		// the shared AST is disposed when the document changes, so its positions match the document
+		CompilationUnit astRoot = CoreASTProvider.getInstance().getAST(cu, CoreASTProvider.WAIT_YES, monitor);
+		if (astRoot == null) {
+			return null;
+		}
+		ASTNode node = NodeFinder.perform(astRoot, region.getOffset(), region.getLength());
+		BodyDeclaration member = null;
+		int indentationLevel = 0;
+		for (; node != null; node = node.getParent()) {
+			if (member == null && node instanceof BodyDeclaration && node.getParent() instanceof AbstractTypeDeclaration) {
+				member = (BodyDeclaration) node;
+				indentationLevel = 0;
+			} else if (member != null && node instanceof AbstractTypeDeclaration) {
+				indentationLevel++;
+			} else if (member != null && !(node instanceof CompilationUnit)) {
+				// the member of a local or anonymous type is formatted with its enclosing member
+				member = null;
+			}
+		}
+		if (member == null) {
+			return null;
+		}
+		try {
+			int start = member.getStartPosition();
+			int end = start + member.getLength();
+			IRegion startLine = document.getLineInformationOfOffset(start);
+			IRegion endLine = document.getLineInformationOfOffset(end);
+			int offset = startLine.getOffset();
+			int length = endLine.getOffset() + endLine.getLength() - offset;
+			if (!document.get(offset, start - offset).trim().isEmpty() || !document.get(end, offset + length - end).trim().isEmpty()) {
+				return null;
+			}
+			if (region.getOffset() < offset || region.getOffset() + region.getLength() > offset + length) {
+				return null;
+			}
+			int kind = CodeFormatter.K_CLASS_BODY_DECLARATIONS | (includeComments ? CodeFormatter.F_INCLUDE_COMMENTS : 0);
+			TextEdit format;
+			synchronized (formatter) {
+				format = formatter.format(kind, document.get(offset, length), region.getOffset() - offset, region.getLength(), indentationLevel, lineDelimiter);
+			}
+			if (format != null) {
+				format.moveTree(offset);
+			}
+			return format;
+		} catch (BadLocationException e) {
+			JavaLanguageServerPlugin.logException(e.getMessage(), e);
+			return null;
+		}
+	}
+
 	private int getFormattingKind(ICompilationUnit cu, boolean includeComments) {
 		int kind = includeComments ? CodeFormatter.F_INCLUDE_COMMENTS : 0;
 		if (cu.getResource() != null && cu.getResource().getName().equals(IModule.MODULE_INFO_JAVA)) {
@@ -56,6 +56,7 @@ import org.eclipse.jdt.internal.corext.util.JdtFlags;
 import org.eclipse.jdt.internal.corext.util.MethodOverrideTester;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.Messages;
+import org.eclipse.jdt.ls.core.internal.corext.util.TypeHierarchyCache;
 import org.eclipse.jface.text.IRegion;
 
 
@@ -124,7 +125,7 @@ public class ImplementationCollector<T> {
 		try {
 			String typeLabel = JavaElementLabelsCore.getElementLabel(type, JavaElementLabelsCore.DEFAULT_QUALIFIED);
 			monitor.beginTask(Messages.format(JavaElementImplementationHyperlink_search_method_implementors, typeLabel), 10);
-			IType[] allTypes = type.newTypeHierarchy(monitor).getAllSubtypes(type);
+			IType[] allTypes = TypeHierarchyCache.getTypeHierarchy(type, monitor).getAllSubtypes(type);
 			results = Arrays.stream(allTypes).map(el -> mapper.convert(el, 0, 0)).filter(Objects::nonNull).collect(Collectors.toList());
 			if (monitor.isCanceled()) {
 				throw new OperationCanceledException();
@@ -202,10 +203,10 @@ public class ImplementationCollector<T> {
 
 			IJavaSearchScope hierarchyScope;
 			if (receiverType.isInterface()) {
-				hierarchyScope = SearchEngine.createHierarchyScope(method.getDeclaringType());
+				hierarchyScope = TypeHierarchyCache.getHierarchyScope(method.getDeclaringType());
 			} else {
 				if (isFullHierarchyNeeded(new SubProgressMonitor(monitor, 3), method, receiverType)) {
-					hierarchyScope = SearchEngine.createHierarchyScope(receiverType);
+					hierarchyScope = TypeHierarchyCache.getHierarchyScope(receiverType);
 				} else {
 					boolean isMethodAbstract = JdtFlags.isAbstract(method);
 					hierarchyScope = SearchEngine.createStrictHierarchyScope(null, receiverType, true, isMethodAbstract, null);
@@ -269,7 +270,7 @@ public class ImplementationCollector<T> {
 	 * @since 3.6
 	 */
 	private static boolean isFullHierarchyNeeded(IProgressMonitor monitor, IMethod method, IType receiverType) throws JavaModelException {
-		ITypeHierarchy superTypeHierarchy= receiverType.newSupertypeHierarchy(monitor);
+		ITypeHierarchy superTypeHierarchy= TypeHierarchyCache.getSupertypeHierarchy(receiverType, monitor);
 		MethodOverrideTester methodOverrideTester= new MethodOverrideTester(receiverType, superTypeHierarchy);
 		return methodOverrideTester.findOverriddenMethodInType(receiverType, method) == null;
 	}
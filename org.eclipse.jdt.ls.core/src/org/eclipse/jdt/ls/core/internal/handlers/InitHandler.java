@@ -231,6 +231,23 @@ final public class InitHandler {
 	}
 
 	private void triggerInitialization(Collection<IPath> roots) {
+		Collection<IPath> importedRoots = roots;
+		Collection<IPath> backgroundRoots = Collections.emptyList();
+		if (preferenceManager.getPreferences().isImportStagedEnabled()) {
+			// only import the root folders of the files the server has been started for
+			Collection<IPath> triggerFiles = preferenceManager.getPreferences().getTriggerFiles();
+			importedRoots = new ArrayList<>();
+			backgroundRoots = new ArrayList<>();
+			for (IPath root : roots) {
+				if (triggerFiles != null && triggerFiles.stream().anyMatch(root::isPrefixOf)) {
+					importedRoots.add(root);
+				} else {
+					backgroundRoots.add(root);
+				}
+			}
+		}
+		Collection<IPath> firstRoots = importedRoots;
+		Collection<IPath> remainingRoots = backgroundRoots;
 		Job job = new WorkspaceJob("Initialize Workspace") {
 			@Override
 			public IStatus runInWorkspace(IProgressMonitor monitor) {
@@ -239,9 +256,14 @@ final public class InitHandler {
 				SubMonitor subMonitor = SubMonitor.convert(monitor, 100);
 				try {
 					projectsManager.setAutoBuilding(false);
-					projectsManager.initializeProjects(roots, subMonitor);
+					projectsManager.initializeProjects(roots, firstRoots, subMonitor);
+					// the imported projects are built first, before the background import
 					projectsManager.setAutoBuilding(preferenceManager.getPreferences().isAutobuildEnabled());
 					JavaLanguageServerPlugin.logInfo("Workspace initialized in " + (System.currentTimeMillis() - start) + "ms");
+					if (!remainingRoots.isEmpty()) {
+						JavaLanguageServerPlugin.logInfo("Importing " + remainingRoots.size() + " root folder(s) in the background");
+						projectsManager.importProjectsInBackground(remainingRoots);
+					}
 					connection.sendStatus(ServiceStatus.Started, "Ready");
 				} catch (OperationCanceledException e) {
 					connection.sendStatus(ServiceStatus.Error, "Initialization has been cancelled.");
@@ -44,6 +44,7 @@ import org.eclipse.jdt.launching.JavaRuntime;
 import org.eclipse.jdt.launching.VMStandin;
 import org.eclipse.jdt.ls.core.internal.BuildWorkspaceStatus;
 import org.eclipse.jdt.ls.core.internal.CancellableProgressMonitor;
+import org.eclipse.jdt.ls.core.internal.IConstants;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JSONUtility;
 import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
@@ -52,6 +53,7 @@ import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.JobHelpers;
 import org.eclipse.jdt.ls.core.internal.LanguageServerWorkingCopyOwner;
 import org.eclipse.jdt.ls.core.internal.ServiceStatus;
+import org.eclipse.jdt.ls.core.internal.handlers.RequestScheduler.LatencyClass;
 import org.eclipse.jdt.ls.core.internal.lsp.JavaProtocolExtensions;
 import org.eclipse.jdt.ls.core.internal.managers.ContentProviderManager;
 import org.eclipse.jdt.ls.core.internal.managers.FormatterManager;
@@ -125,6 +127,11 @@ public class JDTLanguageServer implements LanguageServer, TextDocumentService, W
 	 * Exit code returned when JDTLanguageServer is forced to exit.
 	 */
 	private static final int FORCED_EXIT_CODE = 1;
+	/**
+	 * Delay coalescing the diagnostics published for the same document, e.g.
+	 * during a build.
+	 */
+	private static final long DIAGNOSTICS_DELAY = 200;
 	private JavaClientConnection client;
 	private ProjectsManager pm;
 	private LanguageServerWorkingCopyOwner workingCopyOwner;
@@ -136,6 +143,8 @@ public class JDTLanguageServer implements LanguageServer, TextDocumentService, W
 
 	private ProgressReporterManager progressReporterManager;
 
+	private RequestScheduler requestScheduler = new RequestScheduler();
+
 	public LanguageServerWorkingCopyOwner getWorkingCopyOwner() {
 		return workingCopyOwner;
 	}
@@ -147,6 +156,7 @@ public class JDTLanguageServer implements LanguageServer, TextDocumentService, W
 
 	public void connectClient(JavaLanguageClient client) {
 		this.client = new JavaClientConnection(client);
+		this.client.setDiagnosticsDelay(DIAGNOSTICS_DELAY);
 		progressReporterManager = new ProgressReporterManager(client, preferenceManager);
 		Job.getJobManager().setProgressProvider(progressReporterManager);
 		this.workingCopyOwner = new LanguageServerWorkingCopyOwner(this.client);
@@ -302,6 +312,7 @@ public class JDTLanguageServer implements LanguageServer, TextDocumentService, W
 	@Override
 	public void exit() {
 		logInfo(">> exit");
+		requestScheduler.shutdown();
 		JavaLanguageServerPlugin.getLanguageServer().exit();
 		Executors.newSingleThreadScheduledExecutor().schedule(() -> {
 			logInfo("Forcing exit after 1 min.");
@@ -460,7 +471,7 @@ public class JDTLanguageServer implements LanguageServer, TextDocumentService, W
 		logInfo(">> document/completion");
 		CompletionHandler handler = new CompletionHandler();
 		final IProgressMonitor[] monitors = new IProgressMonitor[1];
-		CompletableFuture<Either<List<CompletionItem>, CompletionList>> result = computeAsync((monitor) -> {
+		CompletableFuture<Either<List<CompletionItem>, CompletionList>> result = computeAsync(LatencyClass.INTERACTIVE, position.getTextDocument().getUri(), (monitor) -> {
 			monitors[0] = monitor;
 			if (Boolean.getBoolean(JAVA_LSP_JOIN_ON_COMPLETION)) {
 				waitForLifecycleJobs(monitor);
@@ -482,7 +493,7 @@ public class JDTLanguageServer implements LanguageServer, TextDocumentService, W
 		logInfo(">> document/resolveCompletionItem");
 		CompletionResolveHandler handler = new CompletionResolveHandler(preferenceManager);
 		final IProgressMonitor[] monitors = new IProgressMonitor[1];
-		CompletableFuture<CompletionItem> result = computeAsync((monitor) -> {
+		CompletableFuture<CompletionItem> result = computeAsync(LatencyClass.INTERACTIVE, null, (monitor) -> {
 			monitors[0] = monitor;
 			if ((Boolean.getBoolean(JAVA_LSP_JOIN_ON_COMPLETION))) {
 				waitForLifecycleJobs(monitor);
@@ -503,7 +514,7 @@ public class JDTLanguageServer implements LanguageServer, TextDocumentService, W
 	public CompletableFuture<Hover> hover(TextDocumentPositionParams position) {
 		logInfo(">> document/hover");
 		HoverHandler handler = new HoverHandler(this.preferenceManager);
-		return computeAsync((monitor) -> handler.hover(position, monitor));
+		return computeAsync(LatencyClass.INTERACTIVE, position.getTextDocument().getUri(), (monitor) -> handler.hover(position, monitor));
 	}
 
 	/* (non-Javadoc)
@@ -513,7 +524,7 @@ public class JDTLanguageServer implements LanguageServer, TextDocumentService, W
 	public CompletableFuture<SignatureHelp> signatureHelp(TextDocumentPositionParams position) {
 		logInfo(">> document/signatureHelp");
 		SignatureHelpHandler handler = new SignatureHelpHandler(preferenceManager);
-		return computeAsync((monitor) -> handler.signatureHelp(position, monitor));
+		return computeAsync(LatencyClass.INTERACTIVE, position.getTextDocument().getUri(), (monitor) -> handler.signatureHelp(position, monitor));
 	}
 
 	/* (non-Javadoc)
@@ -549,7 +560,7 @@ public class JDTLanguageServer implements LanguageServer, TextDocumentService, W
 	public CompletableFuture<List<? extends Location>> references(ReferenceParams params) {
 		logInfo(">> document/references");
 		ReferencesHandler handler = new ReferencesHandler(this.preferenceManager);
-		return computeAsync((monitor) -> handler.findReferences(params, monitor));
+		return computeAsync(LatencyClass.BACKGROUND, params.getTextDocument().getUri(), (monitor) -> handler.findReferences(params, monitor));
 	}
 
 	/* (non-Javadoc)
@@ -559,7 +570,7 @@ public class JDTLanguageServer implements LanguageServer, TextDocumentService, W
 	public CompletableFuture<List<? extends DocumentHighlight>> documentHighlight(TextDocumentPositionParams position) {
 		logInfo(">> document/documentHighlight");
 		DocumentHighlightHandler handler = new DocumentHighlightHandler();
-		return computeAsync((monitor) -> handler.documentHighlight(position, monitor));
+		return computeAsync(LatencyClass.INTERACTIVE, position.getTextDocument().getUri(), (monitor) -> handler.documentHighlight(position, monitor));
 	}
 
 	/* (non-Javadoc)
@@ -570,8 +581,11 @@ public class JDTLanguageServer implements LanguageServer, TextDocumentService, W
 		logInfo(">> document/documentSymbol");
 		boolean hierarchicalDocumentSymbolSupported = preferenceManager.getClientPreferences().isHierarchicalDocumentSymbolSupported();
 		DocumentSymbolHandler handler = new DocumentSymbolHandler(hierarchicalDocumentSymbolSupported);
-		return computeAsync((monitor) -> {
-			waitForLifecycleJobs(monitor);
+		return computeAsync(LatencyClass.BACKGROUND, params.getTextDocument().getUri(), (monitor) -> {
+			// during a staged import, the lifecycle jobs wait for the projects being imported in the background, the handler serves the document as is
+			if (!preferenceManager.getPreferences().isImportStagedEnabled() || Job.getJobManager().find(IConstants.UPDATE_WORKSPACE_FOLDERS_FAMILY).length == 0) {
+				waitForLifecycleJobs(monitor);
+			}
 			return handler.documentSymbol(params, monitor);
 		});
 	}
@@ -596,7 +610,7 @@ public class JDTLanguageServer implements LanguageServer, TextDocumentService, W
 	public CompletableFuture<List<? extends CodeLens>> codeLens(CodeLensParams params) {
 		logInfo(">> document/codeLens");
 		CodeLensHandler handler = new CodeLensHandler(preferenceManager);
-		return computeAsync((monitor) -> {
+		return computeAsync(LatencyClass.BACKGROUND, params.getTextDocument().getUri(), (monitor) -> {
 			waitForLifecycleJobs(monitor);
 			return handler.getCodeLensSymbols(params.getTextDocument().getUri(), monitor);
 		});
@@ -609,7 +623,7 @@ public class JDTLanguageServer implements LanguageServer, TextDocumentService, W
 	public CompletableFuture<CodeLens> resolveCodeLens(CodeLens unresolved) {
 		logInfo(">> codeLens/resolve");
 		CodeLensHandler handler = new CodeLensHandler(preferenceManager);
-		return computeAsync((monitor) -> {
+		return computeAsync(LatencyClass.BACKGROUND, null, (monitor) -> {
 			waitForLifecycleJobs(monitor);
 			return handler.resolve(unresolved, monitor);
 		});
@@ -681,6 +695,8 @@ public class JDTLanguageServer implements LanguageServer, TextDocumentService, W
 	@Override
 	public void didChange(DidChangeTextDocumentParams params) {
 		logInfo(">> document/didChange");
+		// the results of the pending requests on the document would be stale
+		requestScheduler.cancel(params.getTextDocument().getUri());
 		documentLifeCycleHandler.didChange(params);
 	}
 
@@ -690,6 +706,7 @@ public class JDTLanguageServer implements LanguageServer, TextDocumentService, W
 	@Override
 	public void didClose(DidCloseTextDocumentParams params) {
 		logInfo(">> document/didClose");
+		requestScheduler.remove(params.getTextDocument().getUri());
 		documentLifeCycleHandler.didClose(params);
 	}
 
@@ -733,6 +750,19 @@ public class JDTLanguageServer implements LanguageServer, TextDocumentService, W
 		handler.updateConfiguration(param);
 	}
 
+	/* (non-Javadoc)
+	 * @see org.eclipse.jdt.ls.core.internal.JavaProtocolExtensions#resolveCodeAction(org.eclipse.lsp4j.CodeAction)
+	 */
+	@Override
+	public CompletableFuture<CodeAction> resolveCodeAction(CodeAction codeAction) {
+		logInfo(">> java/resolveCodeAction");
+		CodeActionHandler handler = new CodeActionHandler(this.preferenceManager);
+		return computeAsync((monitor) -> {
+			waitForLifecycleJobs(monitor);
+			return handler.resolveCodeAction(codeAction, monitor);
+		});
+	}
+
 	/* (non-Javadoc)
 	 * @see org.eclipse.jdt.ls.core.internal.JavaProtocolExtensions#buildWorkspace(boolean)
 	 */
@@ -793,6 +823,14 @@ public class JDTLanguageServer implements LanguageServer, TextDocumentService, W
 		return CompletableFutures.computeAsync(cc -> code.apply(toMonitor(cc)));
 	}
 
+	private <R> CompletableFuture<R> computeAsync(LatencyClass latencyClass, String uri, Function<IProgressMonitor, R> code) {
+		return requestScheduler.computeAsync(latencyClass, uri, cc -> code.apply(toMonitor(cc)));
+	}
+
+	public RequestScheduler getRequestScheduler() {
+		return requestScheduler;
+	}
+
 	private <R> CompletableFuture<R> computeAsyncWithClientProgress(Function<IProgressMonitor, R> code) {
 		return CompletableFutures.computeAsync((cc) -> {
 			IProgressMonitor monitor = progressReporterManager.getProgressReporter(cc);
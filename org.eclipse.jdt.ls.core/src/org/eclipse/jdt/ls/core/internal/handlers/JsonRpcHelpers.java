@@ -38,7 +38,15 @@ final public class JsonRpcHelpers {
 	 */
 	public static int toOffset(IBuffer buffer, int line, int column){
 		if (buffer != null) {
-			return toOffset(toDocument(buffer), line, column);
+			LineIndex index = getLineIndex(buffer);
+			if (index == null) {
+				return toOffset(toDocument(buffer), line, column);
+			}
+			try {
+				return index.getLineOffset(line) + column;
+			} catch (BadLocationException e) {
+				JavaLanguageServerPlugin.logException(e.getMessage(), e);
+			}
 		}
 		return -1;
 	}
@@ -68,7 +76,31 @@ final public class JsonRpcHelpers {
 	 * @return
 	 */
 	public static int[] toLine(IBuffer buffer, int offset){
-		return toLine(toDocument(buffer), offset);
+		LineIndex index = getLineIndex(buffer);
+		if (index == null) {
+			return toLine(toDocument(buffer), offset);
+		}
+		try {
+			int line = index.getLineOfOffset(offset);
+			return new int[] { line, offset - index.getLineOffset(line) };
+		} catch (BadLocationException e) {
+			JavaLanguageServerPlugin.logException(e.getMessage(), e);
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the cached line index of a buffer which is not backed by a
+	 * document, as {@link #toDocument(IBuffer)} would copy the whole buffer.
+	 */
+	private static LineIndex getLineIndex(IBuffer buffer) {
+		if (buffer instanceof IDocument) {
+			return null;
+		}
+		if (buffer instanceof org.eclipse.jdt.ls.core.internal.DocumentAdapter && ((org.eclipse.jdt.ls.core.internal.DocumentAdapter) buffer).getDocument() != null) {
+			return null;
+		}
+		return LineIndex.get(buffer);
 	}
 
 	/**
@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.eclipse.jdt.core.BufferChangedEvent;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.IBufferChangedListener;
+import org.eclipse.jface.text.BadLocationException;
+
+/**
+ * Index of the offsets the lines of a text start at, converting offsets to
+ * lines, and lines to offsets, with a binary search.
+ *
+ * The indexes of the buffers which are not backed by an
+ * {@link org.eclipse.jface.text.IDocument} are cached until the buffer
+ * changes, so that converting many offsets of a buffer, e.g. the matches of a
+ * search, doesn't copy the whole buffer for every offset.
+ */
+public final class LineIndex {
+
+	private static final Map<IBuffer, LineIndex> INDEXES = Collections.synchronizedMap(new WeakHashMap<>());
+
+	private static final IBufferChangedListener INVALIDATOR = new IBufferChangedListener() {
+		@Override
+		public void bufferChanged(BufferChangedEvent event) {
+			IBuffer buffer = event.getBuffer();
+			INDEXES.remove(buffer);
+			buffer.removeBufferChangedListener(this);
+		}
+	};
+
+	private final int[] lineStarts;
+	private final int lineCount;
+	private final int length;
+
+	LineIndex(char[] text) {
+		this(new Builder().append(text, text.length));
+	}
+
+	private LineIndex(Builder builder) {
+		this.lineStarts = builder.starts;
+		this.lineCount = builder.count;
+		this.length = builder.length;
+	}
+
+	/**
+	 * Reads the line index of the given text, without retaining the text.
+	 *
+	 * @param reader
+	 *            the reader of the text, which is not closed
+	 * @return the line index of the text
+	 */
+	static LineIndex read(Reader reader) throws IOException {
+		Builder builder = new Builder();
+		char[] chars = new char[8192];
+		int read;
+		while ((read = reader.read(chars)) != -1) {
+			builder.append(chars, read);
+		}
+		return new LineIndex(builder);
+	}
+
+	/**
+	 * Returns the line index of the given buffer, computing it if the buffer
+	 * changed since the last call.
+	 *
+	 * @param buffer
+	 *            a buffer
+	 * @return the line index of the buffer, or <code>null</code> if the buffer is
+	 *         closed
+	 */
+	public static LineIndex get(IBuffer buffer) {
+		if (buffer == null || buffer.isClosed()) {
+			return null;
+		}
+		LineIndex index = INDEXES.get(buffer);
+		if (index != null && index.length == buffer.getLength()) {
+			return index;
+		}
+		// listen before reading the contents, so that no change is missed
+		buffer.removeBufferChangedListener(INVALIDATOR);
+		buffer.addBufferChangedListener(INVALIDATOR);
+		char[] text = buffer.getCharacters();
+		if (text == null) {
+			return null;
+		}
+		index = new LineIndex(text);
+		INDEXES.put(buffer, index);
+		return index;
+	}
+
+	/**
+	 * @return the number of lines, which is at least 1
+	 */
+	public int getNumberOfLines() {
+		return lineCount;
+	}
+
+	/**
+	 * Returns the line of the given offset, with the same semantic as
+	 * {@link org.eclipse.jface.text.IDocument#getLineOfOffset(int)}.
+	 */
+	public int getLineOfOffset(int offset) throws BadLocationException {
+		if (offset < 0 || offset > length) {
+			throw new BadLocationException("Offset " + offset + " is out of [0, " + length + "]");
+		}
+		int low = 0;
+		int high = lineCount - 1;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (lineStarts[mid] <= offset) {
+				low = mid;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Returns the offset the given line starts at, with the same semantic as
+	 * {@link org.eclipse.jface.text.IDocument#getLineOffset(int)}.
+	 */
+	public int getLineOffset(int line) throws BadLocationException {
+		if (line >= 0 && line < lineCount) {
+			return lineStarts[line];
+		}
+		throw new BadLocationException("Line " + line + " is out of [0, " + lineCount + "[");
+	}
+
+	private static final class Builder {
+
+		private int[] starts = new int[16];
+		private int count = 1;
+		private int length;
+		private boolean afterCR;
+
+		private Builder append(char[] chars, int end) {
+			for (int i = 0; i < end; i++, length++) {
+				char c = chars[i];
+				if (c == '\n' && afterCR) {
+					// \r\n is a single delimiter
+					starts[count - 1] = length + 1;
+				} else if (c == '\r' || c == '\n') {
+					if (count == starts.length) {
+						starts = Arrays.copyOf(starts, count * 2);
+					}
+					starts[count++] = length + 1;
+				}
+				afterCR = c == '\r';
+			}
+			return this;
+		}
+	}
+}
@@ -10,10 +10,21 @@
  *******************************************************************************/
 package org.eclipse.jdt.ls.core.internal.handlers;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.text.DateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.runtime.ILogListener;
 import org.eclipse.core.runtime.IStatus;
@@ -25,42 +36,105 @@ import org.eclipse.lsp4j.MessageType;
  * The LogHandler hooks in the Eclipse log and forwards all Eclipse log messages to
  * the the client. In VSCode you can see all the messages in the Output view, in the
  * 'Java Language Support' channel.
+ *
+ * The log listener only checks the level of the messages and queues them, so
+ * that logging doesn't block the thread logging. The messages are formatted
+ * and sent by a dispatcher thread, the consecutive messages of the same type
+ * in a single notification. When the queue is full, the messages are dropped,
+ * and the number of dropped messages is reported to the client. The messages
+ * are also appended to the file set by the <code>jdt.ls.log.file</code> system
+ * property, if any, which is rolled over when it gets larger than
+ * {@link #MAX_FILE_SIZE}.
  */
 public class LogHandler {
 
+	static final int QUEUE_CAPACITY = 4096;
+	static final int MAX_BATCH_SIZE = 256;
+	static final long MAX_FILE_SIZE = 10 * 1024 * 1024;
+
 	private ILogListener logListener;
-	private DateFormat dateFormat;
 	private int logLevelMask;
 	private JavaClientConnection connection;
 	private ILogFilter filter;
 
+	private final BlockingQueue<LogEntry> queue;
+	private final AtomicLong droppedMessages = new AtomicLong();
+	private volatile boolean installed;
+	private Thread dispatcher;
+
+	// only accessed by the dispatcher thread
+	private DateFormat dateFormat;
+	private long reportedDrops;
+	private final StringWriter stackTrace = new StringWriter();
+	private File logFile;
+	private OutputStream logFileStream;
+	private long logFileSize;
+
 	public LogHandler() {
 		this(new DefaultLogFilter());
 	}
 
 	public LogHandler(ILogFilter filter) {
+		this(filter, QUEUE_CAPACITY);
+	}
+
+	LogHandler(ILogFilter filter, int capacity) {
 		this.filter = filter;
+		this.queue = new ArrayBlockingQueue<>(capacity);
+		this.logLevelMask = getLogLevelMask(System.getProperty("log.level", ""));//Empty by default
 	}
 
 	public void install(JavaClientConnection rcpConnection) {
 		this.dateFormat = DateFormat.getDateTimeInstance(DateFormat.MEDIUM, DateFormat.MEDIUM);
-		this.logLevelMask = getLogLevelMask(System.getProperty("log.level", ""));//Empty by default
 		this.connection = rcpConnection;
+		String logFilePath = System.getProperty("jdt.ls.log.file");
+		if (logFilePath != null && !logFilePath.isEmpty()) {
+			this.logFile = new File(logFilePath);
+		}
+
+		this.installed = true;
+		this.dispatcher = new Thread(this::dispatch, "Java LS Log Dispatcher");
+		this.dispatcher.setDaemon(true);
+		this.dispatcher.start();
 
 		this.logListener = new ILogListener() {
 			@Override
 			public void logging(IStatus status, String bundleId) {
-				processLogMessage(status);
+				enqueue(status);
 			}
 		};
 		Platform.addLogListener(this.logListener);
 	}
 
+	/**
+	 * Stops listening to the Eclipse log, and waits for the queued messages to
+	 * be sent.
+	 */
 	public void uninstall() {
 		Platform.removeLogListener(this.logListener);
+		installed = false;
+		if (dispatcher != null) {
+			try {
+				dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			dispatcher = null;
+		}
+	}
+
+	/**
+	 * @return the number of messages dropped because the queue was full
+	 */
+	public long getDroppedMessageCount() {
+		return droppedMessages.get();
 	}
 
-	private int getLogLevelMask(String logLevel) {
+	/**
+	 * @return the mask of the severities logged for the given
+	 *         <code>log.level</code> value
+	 */
+	public static int getLogLevelMask(String logLevel) {
 		switch (logLevel) {
 		case "ALL":
 			return -1;
@@ -73,22 +147,135 @@ public class LogHandler {
 		}
 	}
 
-	private void processLogMessage(IStatus status) {
-		if ((filter != null && !filter.accepts(status)) || !status.matches(this.logLevelMask)) {
+	/**
+	 * Queues the given status, unless it is filtered out. Nothing is formatted
+	 * on the calling thread.
+	 *
+	 * @return whether the status has been queued
+	 */
+	boolean enqueue(IStatus status) {
+		if (!status.matches(this.logLevelMask) || (filter != null && !filter.accepts(status))) {
 			//no op;
+			return false;
+		}
+		if (!queue.offer(new LogEntry(status, System.currentTimeMillis()))) {
+			droppedMessages.incrementAndGet();
+			return false;
+		}
+		return true;
+	}
+
+	private void dispatch() {
+		List<LogEntry> batch = new ArrayList<>(MAX_BATCH_SIZE);
+		try {
+			while (installed || !queue.isEmpty()) {
+				LogEntry entry = queue.poll(100, TimeUnit.MILLISECONDS);
+				if (entry == null) {
+					continue;
+				}
+				batch.add(entry);
+				queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+				processLogMessages(batch);
+				batch.clear();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			closeLogFile();
+		}
+	}
+
+	private void processLogMessages(List<LogEntry> batch) {
+		long dropped = droppedMessages.get();
+		if (dropped != reportedDrops) {
+			String message = dateFormat.format(new Date()) + ' ' + (dropped - reportedDrops) + " log messages dropped";
+			reportedDrops = dropped;
+			send(MessageType.Warning, message);
+		}
+		StringBuilder messages = new StringBuilder();
+		MessageType type = null;
+		for (LogEntry entry : batch) {
+			MessageType entryType = getMessageTypeFromSeverity(entry.status.getSeverity());
+			if (type != entryType && messages.length() > 0) {
+				send(type, messages.toString());
+				messages.setLength(0);
+			}
+			type = entryType;
+			if (messages.length() > 0) {
+				messages.append('\n');
+			}
+			appendLogMessage(messages, entry);
+		}
+		if (messages.length() > 0) {
+			send(type, messages.toString());
+		}
+	}
+
+	private void appendLogMessage(StringBuilder builder, LogEntry entry) {
+		IStatus status = entry.status;
+		builder.append(this.dateFormat.format(new Date(entry.timestamp))).append(' ').append(status.getMessage());
+		Throwable exception = status.getException();
+		if (exception != null) {
+			builder.append('\n').append(exception.getMessage()).append('\n');
+			stackTrace.getBuffer().setLength(0);
+			exception.printStackTrace(new PrintWriter(stackTrace));
+			builder.append(stackTrace.getBuffer());
+		}
+	}
+
+	private void send(MessageType type, String message) {
+		try {
+			connection.logMessage(type, message);
+		} catch (RuntimeException e) {
+			// the client is gone, logging the failure would only queue another message
+		}
+		writeToLogFile(message);
+	}
+
+	private void writeToLogFile(String message) {
+		if (logFile == null) {
 			return;
 		}
-		String dateString = this.dateFormat.format(new Date());
-		String message = status.getMessage();
-		if (status.getException() != null) {
-			message = message + '\n' + status.getException().getMessage();
-			StringWriter sw = new StringWriter();
-			status.getException().printStackTrace(new PrintWriter(sw));
-			String exceptionAsString = sw.toString();
-			message = message + '\n' + exceptionAsString;
+		try {
+			if (logFileStream == null || logFileSize > MAX_FILE_SIZE) {
+				openLogFile();
+			}
+			// the size is counted in bytes, like the length of the file
+			byte[] bytes = (message + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+			logFileStream.write(bytes);
+			logFileStream.flush();
+			logFileSize += bytes.length;
+		} catch (IOException e) {
+			// don't retry on every message
+			closeLogFile();
+			logFile = null;
 		}
+	}
+
+	private void openLogFile() throws IOException {
+		closeLogFile();
+		File parent = logFile.getParentFile();
+		if (parent != null) {
+			parent.mkdirs();
+		}
+		if (logFile.length() > MAX_FILE_SIZE) {
+			File rolled = new File(logFile.getPath() + ".1");
+			rolled.delete();
+			logFile.renameTo(rolled);
+		}
+		logFileSize = logFile.length();
+		logFileStream = new FileOutputStream(logFile, true);
+	}
 
-		connection.logMessage(getMessageTypeFromSeverity(status.getSeverity()), dateString + ' ' + message);
+	private void closeLogFile() {
+		if (logFileStream != null) {
+			try {
+				logFileStream.close();
+			} catch (IOException e) {
+				// ignore
+			}
+			logFileStream = null;
+		}
 	}
 
 	private MessageType getMessageTypeFromSeverity(int severity) {
@@ -104,4 +291,15 @@ public class LogHandler {
 		}
 	}
 
+	private static final class LogEntry {
+
+		private final IStatus status;
+		private final long timestamp;
+
+		private LogEntry(IStatus status, long timestamp) {
+			this.status = status;
+			this.timestamp = timestamp;
+		}
+	}
+
 }
@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
+import org.eclipse.lsp4j.jsonrpc.CompletableFutures;
+
+/**
+ * Runs the requests of the client on bounded pools of threads, one per
+ * latency class, so that the slow requests computed in the background, e.g.
+ * the references of the code lenses, don't delay the requests the user is
+ * waiting for, e.g. the completion.
+ *
+ * The requests on a document are cancelled when the document changes or is
+ * closed, since their results would be stale. The requests which haven't
+ * started yet are dropped without being computed. Concurrent requests on the
+ * same document don't cancel each other, as they may come from different
+ * consumers.
+ */
+public class RequestScheduler {
+
+	public enum LatencyClass {
+		/**
+		 * The requests the user is waiting for, e.g. completion, hover and
+		 * signature help
+		 */
+		INTERACTIVE("Interactive", Math.max(2, Runtime.getRuntime().availableProcessors())),
+		/**
+		 * The requests computed in the background, e.g. code lenses, document
+		 * symbols and references
+		 */
+		BACKGROUND("Background", Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+
+		private final String label;
+		private final int threads;
+
+		private LatencyClass(String label, int threads) {
+			this.label = label;
+			this.threads = threads;
+		}
+	}
+
+	private final Map<LatencyClass, ThreadPoolExecutor> executors = new EnumMap<>(LatencyClass.class);
+	private final Map<LatencyClass, AtomicInteger> maxQueueDepths = new EnumMap<>(LatencyClass.class);
+	// the pending requests by document
+	private final Map<String, Set<CompletableFuture<?>>> pendingRequests = new ConcurrentHashMap<>();
+	private final AtomicLong cancelledRequests = new AtomicLong();
+
+	public RequestScheduler() {
+		for (LatencyClass latencyClass : LatencyClass.values()) {
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(latencyClass.threads, latencyClass.threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new RequestThreadFactory(latencyClass));
+			executor.allowCoreThreadTimeOut(true);
+			executors.put(latencyClass, executor);
+			maxQueueDepths.put(latencyClass, new AtomicInteger());
+		}
+	}
+
+	/**
+	 * Computes a request on the pool of the given latency class.
+	 *
+	 * @param latencyClass
+	 *            the latency class of the request
+	 * @param uri
+	 *            the URI of the document of the request, or <code>null</code>
+	 *            if the request doesn't depend on a single document, in which
+	 *            case the request is never cancelled by the scheduler
+	 * @param code
+	 *            the computation of the request
+	 * @return the future result of the request
+	 */
+	public <R> CompletableFuture<R> computeAsync(LatencyClass latencyClass, String uri, Function<CancelChecker, R> code) {
+		ThreadPoolExecutor executor = executors.get(latencyClass);
+		CompletableFuture<R> result = CompletableFutures.computeAsync(executor, code);
+		maxQueueDepths.get(latencyClass).accumulateAndGet(executor.getQueue().size(), Math::max);
+		if (uri != null) {
+			Set<CompletableFuture<?>> requests = pendingRequests.computeIfAbsent(uri, u -> ConcurrentHashMap.newKeySet());
+			requests.add(result);
+			result.whenComplete((r, e) -> {
+				requests.remove(result);
+			});
+		}
+		return result;
+	}
+
+	/**
+	 * Cancels the pending requests on the given document, e.g. because it
+	 * changed.
+	 *
+	 * @param uri
+	 *            the URI of the document
+	 */
+	public void cancel(String uri) {
+		Set<CompletableFuture<?>> requests = pendingRequests.get(uri);
+		if (requests == null) {
+			return;
+		}
+		for (CompletableFuture<?> request : requests) {
+			if (request.cancel(true)) {
+				cancelledRequests.incrementAndGet();
+			}
+			requests.remove(request);
+		}
+	}
+
+	/**
+	 * Forgets the given document, e.g. because it has been closed, cancelling
+	 * its pending requests.
+	 *
+	 * @param uri
+	 *            the URI of the document
+	 */
+	public void remove(String uri) {
+		cancel(uri);
+		pendingRequests.remove(uri);
+	}
+
+	/**
+	 * @return the number of requests of the given latency class waiting for a
+	 *         thread
+	 */
+	public int getQueueDepth(LatencyClass latencyClass) {
+		return executors.get(latencyClass).getQueue().size();
+	}
+
+	/**
+	 * @return the largest number of requests of the given latency class which
+	 *         waited for a thread
+	 */
+	public int getMaxQueueDepth(LatencyClass latencyClass) {
+		return maxQueueDepths.get(latencyClass).get();
+	}
+
+	/**
+	 * @return the number of requests of the given latency class being computed
+	 */
+	public int getActiveCount(LatencyClass latencyClass) {
+		return executors.get(latencyClass).getActiveCount();
+	}
+
+	/**
+	 * @return the number of requests cancelled by the scheduler
+	 */
+	public long getCancelledCount() {
+		return cancelledRequests.get();
+	}
+
+	public void shutdown() {
+		for (ThreadPoolExecutor executor : executors.values()) {
+			executor.shutdownNow();
+		}
+	}
+
+	private static final class RequestThreadFactory implements ThreadFactory {
+
+		private final LatencyClass latencyClass;
+		private final AtomicInteger count = new AtomicInteger();
+
+		private RequestThreadFactory(LatencyClass latencyClass) {
+			this.latencyClass = latencyClass;
+		}
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "Java LS " + latencyClass.label + " Request " + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.jdt.core.dom.AnonymousClassDeclaration;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.IBinding;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.IVariableBinding;
+import org.eclipse.jdt.core.dom.SimpleName;
+
+/**
+ * Keeps track of the types referenced by every open working copy, so that a
+ * reconcile only triggers the re-validation of the working copies depending on
+ * the API that has actually changed.
+ */
+public class WorkingCopyDependencyTracker {
+
+	private static final int NON_API_FLAGS = IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_FINE_GRAINED | IJavaElementDelta.F_AST_AFFECTED;
+
+	private final Map<ICompilationUnit, Set<String>> dependencies = new ConcurrentHashMap<>();
+
+	/**
+	 * Records the binary names of all the types the given unit depends on,
+	 * including the super types of the types it declares.
+	 */
+	public void update(ICompilationUnit unit, CompilationUnit astRoot) {
+		if (unit == null || astRoot == null) {
+			return;
+		}
+		Set<String> referencedTypes = new HashSet<>();
+		astRoot.accept(new ASTVisitor() {
+
+			@Override
+			public boolean visit(SimpleName node) {
+				IBinding binding = node.resolveBinding();
+				if (binding instanceof ITypeBinding) {
+					addType((ITypeBinding) binding, referencedTypes);
+				} else if (binding instanceof IMethodBinding) {
+					addType(((IMethodBinding) binding).getDeclaringClass(), referencedTypes);
+				} else if (binding instanceof IVariableBinding && ((IVariableBinding) binding).isField()) {
+					addType(((IVariableBinding) binding).getDeclaringClass(), referencedTypes);
+				}
+				return false;
+			}
+
+			@Override
+			public boolean visit(AnonymousClassDeclaration node) {
+				addHierarchy(node.resolveBinding(), referencedTypes);
+				return true;
+			}
+
+			@Override
+			public void preVisit(ASTNode node) {
+				if (node instanceof AbstractTypeDeclaration) {
+					addHierarchy(((AbstractTypeDeclaration) node).resolveBinding(), referencedTypes);
+				}
+			}
+		});
+		dependencies.put(unit, referencedTypes);
+	}
+
+	public void remove(ICompilationUnit unit) {
+		dependencies.remove(unit);
+	}
+
+	/**
+	 * Returns <code>true</code> if the given unit references any of the given
+	 * types, or if its dependencies are not known yet.
+	 */
+	public boolean dependsOn(ICompilationUnit unit, Set<String> typeNames) {
+		Set<String> referencedTypes = dependencies.get(unit);
+		if (referencedTypes == null) {
+			return true;
+		}
+		for (String typeName : typeNames) {
+			if (referencedTypes.contains(typeName)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Collects the binary names of the types whose API is changed by the given
+	 * reconcile delta.
+	 *
+	 * @return <code>true</code> if the delta contains a structural change (type
+	 *         added or removed, package changed) which may affect any working
+	 *         copy, <code>false</code> otherwise
+	 */
+	public static boolean collectChangedTypes(IJavaElementDelta delta, Set<String> changedTypes) {
+		IJavaElement element = delta.getElement();
+		switch (element.getElementType()) {
+			case IJavaElement.PACKAGE_DECLARATION:
+				return true;
+			case IJavaElement.IMPORT_CONTAINER:
+			case IJavaElement.IMPORT_DECLARATION:
+			case IJavaElement.INITIALIZER:
+				// only affects the unit itself
+				return false;
+			case IJavaElement.TYPE:
+				if (delta.getKind() != IJavaElementDelta.CHANGED) {
+					return true;
+				}
+				if ((delta.getFlags() & ~NON_API_FLAGS) != 0) {
+					changedTypes.add(((IType) element).getFullyQualifiedName());
+				}
+				break;
+			case IJavaElement.FIELD:
+			case IJavaElement.METHOD:
+				IType declaringType = ((IMember) element).getDeclaringType();
+				if (declaringType != null) {
+					changedTypes.add(declaringType.getFullyQualifiedName());
+				}
+				return false;
+			default:
+				break;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (collectChangedTypes(child, changedTypes)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static void addType(ITypeBinding type, Set<String> referencedTypes) {
+		if (type == null) {
+			return;
+		}
+		if (type.isArray()) {
+			type = type.getElementType();
+		}
+		if (type.isPrimitive() || type.isTypeVariable() || type.isWildcardType() || type.isCapture()) {
+			return;
+		}
+		String binaryName = type.getErasure().getBinaryName();
+		if (binaryName != null) {
+			referencedTypes.add(binaryName);
+		}
+	}
+
+	private static void addHierarchy(ITypeBinding type, Set<String> referencedTypes) {
+		if (type == null) {
+			return;
+		}
+		ITypeBinding superclass = type.getSuperclass();
+		if (superclass != null) {
+			addType(superclass, referencedTypes);
+			addHierarchy(superclass, referencedTypes);
+		}
+		for (ITypeBinding superInterface : type.getInterfaces()) {
+			addType(superInterface, referencedTypes);
+			addHierarchy(superInterface, referencedTypes);
+		}
+	}
+
+}
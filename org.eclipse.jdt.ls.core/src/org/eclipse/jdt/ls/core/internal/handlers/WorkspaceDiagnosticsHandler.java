@@ -10,12 +10,21 @@
  *******************************************************************************/
 package org.eclipse.jdt.ls.core.internal.handlers;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -35,11 +44,11 @@ import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaModelMarker;
 import org.eclipse.jdt.core.JavaCore;
-import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.ResourceUtils;
+import org.eclipse.jdt.ls.core.internal.StatusFactory;
 import org.eclipse.jdt.ls.core.internal.managers.ProjectsManager;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
@@ -61,6 +70,15 @@ import org.eclipse.m2e.core.internal.Messages;
 public final class WorkspaceDiagnosticsHandler implements IResourceChangeListener, IResourceDeltaVisitor {
 
 	public static final String PROJECT_CONFIGURATION_IS_NOT_UP_TO_DATE_WITH_POM_XML = "Project configuration is not up-to-date with pom.xml, requires an update.";
+
+	/**
+	 * The offsets of the lines of a document, the markers are converted with.
+	 */
+	@FunctionalInterface
+	private interface LineOffsets {
+		int getLineOffset(int line) throws BadLocationException;
+	}
+
 	private final JavaClientConnection connection;
 	private final ProjectsManager projectsManager;
 
@@ -175,89 +193,155 @@ public final class WorkspaceDiagnosticsHandler implements IResourceChangeListene
 		String clientUri = ResourceUtils.toClientUri(uri);
 		connection.publishDiagnostics(new PublishDiagnosticsParams(clientUri, diagnostics));
 		if (pom.exists()) {
-			IDocument document = JsonRpcHelpers.toDocument(pom);
-			diagnostics = toDiagnosticsArray(document, pom.findMarkers(null, true, IResource.DEPTH_ZERO));
+			LineIndex lineIndex = readLineIndex(pom);
+			diagnostics = lineIndex == null ? new ArrayList<>() : toDiagnosticsArray(lineIndex::getLineOffset, pom.findMarkers(null, true, IResource.DEPTH_ZERO));
 			List<Diagnostic> diagnosicts2 = toDiagnosticArray(range, pomMarkers);
 			diagnostics.addAll(diagnosicts2);
 			connection.publishDiagnostics(new PublishDiagnosticsParams(ResourceUtils.toClientUri(clientUri + "/pom.xml"), diagnostics));
 		}
 	}
 
+	/**
+	 * Publishes the diagnostics of all the markers of the workspace. The markers
+	 * of the projects are collected, and the diagnostics of the files are
+	 * converted and published, in parallel.
+	 *
+	 * @return the markers of the workspace
+	 */
 	public List<IMarker> publishDiagnostics(IProgressMonitor monitor) throws CoreException {
-		List<IMarker> problemMarkers = getProblemMarkers(monitor);
-		publishDiagnostics(problemMarkers);
-		return problemMarkers;
+		ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		try {
+			List<IMarker> problemMarkers = getProblemMarkers(executor, monitor);
+			publishDiagnostics(executor, problemMarkers, monitor);
+			return problemMarkers;
+		} finally {
+			executor.shutdownNow();
+		}
 	}
 
-	private List<IMarker> getProblemMarkers(IProgressMonitor monitor) throws CoreException {
+	private List<IMarker> getProblemMarkers(ExecutorService executor, IProgressMonitor monitor) throws CoreException {
 		IProject[] projects = ResourcesPlugin.getWorkspace().getRoot().getProjects();
-		List<IMarker> markers = new ArrayList<>();
+		IProject defaultProject = JavaLanguageServerPlugin.getProjectsManager().getDefaultProject();
+		List<Future<List<IMarker>>> results = new ArrayList<>(projects.length);
 		for (IProject project : projects) {
-			if (monitor != null && monitor.isCanceled()) {
-				throw new OperationCanceledException();
+			if (defaultProject.equals(project)) {
+				continue;
+			}
+			results.add(executor.submit(() -> getProblemMarkers(project)));
+		}
+		List<IMarker> markers = new ArrayList<>();
+		for (Future<List<IMarker>> result : results) {
+			markers.addAll(waitFor(result, monitor));
+		}
+		return markers;
+	}
+
+	private List<IMarker> getProblemMarkers(IProject project) throws CoreException {
+		IMarker[] allMarkers = project.findMarkers(null, true, IResource.DEPTH_INFINITE);
+		List<IMarker> markers = new ArrayList<>();
+		for (IMarker marker : allMarkers) {
+			if (!marker.exists() || CheckMissingNaturesListener.MARKER_TYPE.equals(marker.getType())) {
+				continue;
 			}
-			if (JavaLanguageServerPlugin.getProjectsManager().getDefaultProject().equals(project)) {
+			if (IJavaModelMarker.JAVA_MODEL_PROBLEM_MARKER.equals(marker.getType()) || IJavaModelMarker.TASK_MARKER.equals(marker.getType())) {
+				markers.add(marker);
 				continue;
 			}
-			IMarker[] allMarkers = project.findMarkers(null, true, IResource.DEPTH_INFINITE);
-			for (IMarker marker : allMarkers) {
-				if (!marker.exists() || CheckMissingNaturesListener.MARKER_TYPE.equals(marker.getType())) {
-					continue;
-				}
-				if (IJavaModelMarker.JAVA_MODEL_PROBLEM_MARKER.equals(marker.getType()) || IJavaModelMarker.TASK_MARKER.equals(marker.getType())) {
-					markers.add(marker);
-					continue;
-				}
-				IResource resource = marker.getResource();
-				if (project.equals(resource) || projectsManager.isBuildFile(resource)) {
-					markers.add(marker);
-				}
+			IResource resource = marker.getResource();
+			if (project.equals(resource) || projectsManager.isBuildFile(resource)) {
+				markers.add(marker);
 			}
 		}
 		return markers;
 	}
 
-	private void publishDiagnostics(List<IMarker> markers) {
+	private void publishDiagnostics(ExecutorService executor, List<IMarker> markers, IProgressMonitor monitor) throws CoreException {
 		Map<IResource, List<IMarker>> map = markers.stream().collect(Collectors.groupingBy(IMarker::getResource));
+		List<Future<?>> results = new ArrayList<>(map.size());
 		for (Map.Entry<IResource, List<IMarker>> entry : map.entrySet()) {
-			IResource resource = entry.getKey();
-			if (resource instanceof IProject) {
-				try {
-					IProject project = (IProject) resource;
-					publishMarkers(project, entry.getValue().toArray(new IMarker[0]));
-				} catch (CoreException e) {
-					JavaLanguageServerPlugin.logException(e.getMessage(), e);
-				}
-				continue;
+			// the diagnostics of each file are published as soon as they are converted
+			results.add(executor.submit(() -> publishDiagnostics(entry.getKey(), entry.getValue())));
+		}
+		for (Future<?> result : results) {
+			waitFor(result, monitor);
+		}
+	}
+
+	private void publishDiagnostics(IResource resource, List<IMarker> markers) {
+		if (resource instanceof IProject) {
+			try {
+				IProject project = (IProject) resource;
+				publishMarkers(project, markers.toArray(new IMarker[0]));
+			} catch (CoreException e) {
+				JavaLanguageServerPlugin.logException(e.getMessage(), e);
 			}
-			IFile file = resource.getAdapter(IFile.class);
-			if (file == null) {
-				continue;
+			return;
+		}
+		IFile file = resource.getAdapter(IFile.class);
+		if (file == null) {
+			return;
+		}
+		LineIndex lineIndex = null;
+		String uri = JDTUtils.getFileURI(file);
+		if (JavaCore.isJavaLikeFileName(file.getName())) {
+			ICompilationUnit cu = JDTUtils.resolveCompilationUnit(uri);
+			//ignoring working copies, they're handled in the DocumentLifecycleHandler
+			if (cu != null && !cu.isWorkingCopy()) {
+				lineIndex = readLineIndex(file);
 			}
-			IDocument document = null;
-			String uri = JDTUtils.getFileURI(file);
-			if (JavaCore.isJavaLikeFileName(file.getName())) {
-				ICompilationUnit cu = JDTUtils.resolveCompilationUnit(uri);
-				//ignoring working copies, they're handled in the DocumentLifecycleHandler
-				if (!cu.isWorkingCopy()) {
-					try {
-						document = JsonRpcHelpers.toDocument(cu.getBuffer());
-					} catch (JavaModelException e) {
-						JavaLanguageServerPlugin.logException("Failed to publish diagnostics for " + uri, e);
-					}
+		} else if (projectsManager.isBuildFile(file)) {
+			lineIndex = readLineIndex(file);
+		}
+		if (lineIndex != null) {
+			List<Diagnostic> diagnostics = toDiagnosticsArray(lineIndex::getLineOffset, markers.toArray(new IMarker[0]));
+			connection.publishDiagnostics(new PublishDiagnosticsParams(ResourceUtils.toClientUri(uri), diagnostics));
+		}
+	}
+
+	/**
+	 * Reads the offsets of the lines of the given file, which are all the
+	 * conversion of its markers needs, instead of connecting a buffer holding
+	 * its whole contents.
+	 *
+	 * @return the line index of the file, or <code>null</code> if it can't be
+	 *         read
+	 */
+	private static LineIndex readLineIndex(IFile file) {
+		try (Reader reader = new InputStreamReader(file.getContents(true), file.getCharset())) {
+			return LineIndex.read(reader);
+		} catch (CoreException | IOException e) {
+			JavaLanguageServerPlugin.logException("Failed to publish diagnostics for " + file, e);
+			return null;
+		}
+	}
+
+	private static <T> T waitFor(Future<T> result, IProgressMonitor monitor) throws CoreException {
+		try {
+			while (true) {
+				if (monitor != null && monitor.isCanceled()) {
+					throw new OperationCanceledException();
 				}
-			} else if (projectsManager.isBuildFile(file)) {
-				document = JsonRpcHelpers.toDocument(file);
+				try {
+					return result.get(100, TimeUnit.MILLISECONDS);
+				} catch (TimeoutException e) {
+					// check for cancellation again
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof CoreException) {
+				throw (CoreException) cause;
 			}
-			if (document != null) {
-				List<Diagnostic> diagnostics = WorkspaceDiagnosticsHandler.toDiagnosticsArray(document, entry.getValue().toArray(new IMarker[0]));
-				connection.publishDiagnostics(new PublishDiagnosticsParams(ResourceUtils.toClientUri(uri), diagnostics));
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
 			}
+			throw new CoreException(StatusFactory.newErrorStatus(cause.getMessage(), cause));
 		}
 	}
 
-
-
 	/**
 	 * Transforms {@link IMarker}s into a list of {@link Diagnostic}s
 	 *
@@ -296,6 +380,10 @@ public final class WorkspaceDiagnosticsHandler implements IResourceChangeListene
 	 * @return a list of {@link Diagnostic}s
 	 */
 	public static List<Diagnostic> toDiagnosticsArray(IDocument document, IMarker[] markers) {
+		return toDiagnosticsArray(document::getLineOffset, markers);
+	}
+
+	private static List<Diagnostic> toDiagnosticsArray(LineOffsets document, IMarker[] markers) {
 		List<Diagnostic> diagnostics = Stream.of(markers)
 				.map(m -> toDiagnostic(document, m))
 				.filter(d -> d != null)
@@ -303,7 +391,7 @@ public final class WorkspaceDiagnosticsHandler implements IResourceChangeListene
 		return diagnostics;
 	}
 
-	private static Diagnostic toDiagnostic(IDocument document, IMarker marker) {
+	private static Diagnostic toDiagnostic(LineOffsets document, IMarker marker) {
 		if (marker == null || !marker.exists()) {
 			return null;
 		}
@@ -320,7 +408,7 @@ public final class WorkspaceDiagnosticsHandler implements IResourceChangeListene
 	 * @param marker
 	 * @return
 	 */
-	private static Range convertRange(IDocument document, IMarker marker) {
+	private static Range convertRange(LineOffsets document, IMarker marker) {
 		int line = marker.getAttribute(IMarker.LINE_NUMBER, -1) - 1;
 		int cStart = 0;
 		int cEnd = 0;
@@ -11,12 +11,19 @@
 package org.eclipse.jdt.ls.core.internal.handlers;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.IClassFile;
+import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.core.search.IJavaSearchConstants;
 import org.eclipse.jdt.core.search.IJavaSearchScope;
 import org.eclipse.jdt.core.search.SearchEngine;
@@ -25,6 +32,7 @@ import org.eclipse.jdt.core.search.TypeNameMatch;
 import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.managers.TypeNameIndex;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.SymbolInformation;
@@ -32,6 +40,14 @@ import org.eclipse.lsp4j.SymbolKind;
 
 public class WorkspaceSymbolHandler{
 
+	// relevance of the type name matches, from the most relevant
+	private static final int EXACT = 0;
+	private static final int PREFIX = 1;
+	private static final int CAMEL_CASE = 2;
+
+	// orders the matches of the same relevance, consistently with the type name index
+	private static final Comparator<TypeNameMatch> MATCH_COMPARATOR = Comparator.<TypeNameMatch> comparingInt(m -> m.getSimpleTypeName().length()).thenComparing(TypeNameMatch::getSimpleTypeName).thenComparing(TypeNameMatch::getTypeContainerName);
+
 	private PreferenceManager preferenceManager;
 
 	public WorkspaceSymbolHandler(PreferenceManager preferenceManager) {
@@ -44,44 +60,44 @@ public class WorkspaceSymbolHandler{
 		}
 
 		try {
-			ArrayList<SymbolInformation> symbols = new ArrayList<>();
-			new SearchEngine().searchAllTypeNames(null,SearchPattern.R_PATTERN_MATCH, query.toCharArray(), SearchPattern.R_CAMELCASE_MATCH, IJavaSearchConstants.TYPE, createSearchScope(),new TypeNameMatchRequestor() {
-
-				@Override
-				public void acceptTypeNameMatch(TypeNameMatch match) {
-					SymbolInformation symbolInformation = new SymbolInformation();
-					symbolInformation.setContainerName(match.getTypeContainerName());
-					symbolInformation.setName(match.getSimpleTypeName());
-					symbolInformation.setKind(mapKind(match));
-					Location location;
-					try {
-						if (match.getType().isBinary()) {
-							location = JDTUtils.toLocation(match.getType().getClassFile());
-						}  else {
-							location = JDTUtils.toLocation(match.getType());
-						}
-					} catch (Exception e) {
-						JavaLanguageServerPlugin.logException("Unable to determine location for " +  match.getSimpleTypeName(), e);
-						return;
-					}
-					symbolInformation.setLocation(location);
-					symbols.add(symbolInformation);
-				}
-
-				private SymbolKind mapKind(TypeNameMatch match) {
-					int flags= match.getModifiers();
-					if (Flags.isInterface(flags)) {
-						return SymbolKind.Interface;
-					}
-					if (Flags.isAnnotation(flags)) {
-						return SymbolKind.Property;
+			int maxResults = preferenceManager.getPreferences() == null ? 0 : preferenceManager.getPreferences().getSymbolsMaxResults();
+			char[] pattern = query.toCharArray();
+			IJavaSearchScope scope = createSearchScope();
+			TypeNameIndex index = JavaLanguageServerPlugin.getTypeNameIndex();
+			if (index != null && index.isReady()) {
+				List<SymbolInformation> symbols = new ArrayList<>();
+				for (TypeNameIndex.Match match : index.search(pattern, maxResults, scope)) {
+					if (monitor.isCanceled()) {
+						break;
 					}
-					if (Flags.isEnum(flags)) {
-						return SymbolKind.Enum;
+					SymbolInformation symbolInformation = toSymbolInformation(match);
+					if (symbolInformation != null) {
+						symbols.add(symbolInformation);
 					}
-					return SymbolKind.Class;
 				}
-			}, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
+				return symbols;
+			}
+			// the index is not up to date yet, fall back to the search engine
+			TypeNameCollector collector = new TypeNameCollector(pattern, maxResults, monitor);
+			if (maxResults > 0 && !hasWildcards(pattern)) {
+				// search the most relevant matches first, so the search can stop as soon as enough of them have been found
+				collector.search(SearchPattern.R_EXACT_MATCH, EXACT, scope);
+				collector.search(SearchPattern.R_PREFIX_MATCH, PREFIX, scope);
+				collector.search(SearchPattern.R_CAMELCASE_MATCH, CAMEL_CASE, scope);
+			} else {
+				collector.search(SearchPattern.R_CAMELCASE_MATCH, EXACT, scope);
+			}
+			// locations are only computed for the matches which are actually returned
+			List<SymbolInformation> symbols = new ArrayList<>();
+			for (TypeNameMatch match : collector.getMatches()) {
+				if (monitor.isCanceled()) {
+					break;
+				}
+				SymbolInformation symbolInformation = toSymbolInformation(match);
+				if (symbolInformation != null) {
+					symbols.add(symbolInformation);
+				}
+			}
 			return symbols;
 		} catch (Exception e) {
 			JavaLanguageServerPlugin.logException("Problem getting search for" +  query, e);
@@ -89,6 +105,157 @@ public class WorkspaceSymbolHandler{
 		return Collections.emptyList();
 	}
 
+	private static SymbolInformation toSymbolInformation(TypeNameIndex.Match match) {
+		Location location;
+		try {
+			if (match.isBinary()) {
+				IClassFile classFile = match.getClassFile();
+				location = classFile == null ? null : JDTUtils.toLocation(classFile);
+			} else {
+				IType type = match.getSourceType();
+				location = type == null ? null : JDTUtils.toLocation(type);
+			}
+		} catch (Exception e) {
+			JavaLanguageServerPlugin.logException("Unable to determine location for " + match.getSimpleTypeName(), e);
+			return null;
+		}
+		if (location == null) {
+			return null;
+		}
+		SymbolInformation symbolInformation = new SymbolInformation();
+		symbolInformation.setContainerName(match.getTypeContainerName());
+		symbolInformation.setName(match.getSimpleTypeName());
+		symbolInformation.setKind(mapKind(match.getModifiers()));
+		symbolInformation.setLocation(location);
+		return symbolInformation;
+	}
+
+	private static SymbolInformation toSymbolInformation(TypeNameMatch match) {
+		SymbolInformation symbolInformation = new SymbolInformation();
+		symbolInformation.setContainerName(match.getTypeContainerName());
+		symbolInformation.setName(match.getSimpleTypeName());
+		symbolInformation.setKind(mapKind(match.getModifiers()));
+		Location location;
+		try {
+			if (match.getType().isBinary()) {
+				location = JDTUtils.toLocation(match.getType().getClassFile());
+			}  else {
+				location = JDTUtils.toLocation(match.getType());
+			}
+		} catch (Exception e) {
+			JavaLanguageServerPlugin.logException("Unable to determine location for " +  match.getSimpleTypeName(), e);
+			return null;
+		}
+		symbolInformation.setLocation(location);
+		return symbolInformation;
+	}
+
+	private static SymbolKind mapKind(int flags) {
+		if (Flags.isInterface(flags)) {
+			return SymbolKind.Interface;
+		}
+		if (Flags.isAnnotation(flags)) {
+			return SymbolKind.Property;
+		}
+		if (Flags.isEnum(flags)) {
+			return SymbolKind.Enum;
+		}
+		return SymbolKind.Class;
+	}
+
+	private static boolean hasWildcards(char[] pattern) {
+		return CharOperation.indexOf('*', pattern) >= 0 || CharOperation.indexOf('?', pattern) >= 0;
+	}
+
+	/**
+	 * Collects the type name matches ordered by relevance: exact matches first,
+	 * then prefix matches, then camel case matches.
+	 */
+	private static class TypeNameCollector extends TypeNameMatchRequestor {
+
+		private final char[] pattern;
+		private final int maxResults;
+		private final IProgressMonitor monitor;
+		private final List<TypeNameMatch> exactMatches = new ArrayList<>();
+		private final List<TypeNameMatch> prefixMatches = new ArrayList<>();
+		private final List<TypeNameMatch> camelCaseMatches = new ArrayList<>();
+		private int minRelevance;
+		private int count;
+
+		TypeNameCollector(char[] pattern, int maxResults, IProgressMonitor monitor) {
+			this.pattern = pattern;
+			this.maxResults = maxResults;
+			this.monitor = monitor;
+		}
+
+		/**
+		 * Searches the types matching the pattern with the given match rule,
+		 * skipping the matches more relevant than <code>minRelevance</code>,
+		 * which have been found by a previous search.
+		 */
+		void search(int matchRule, int minRelevance, IJavaSearchScope scope) throws JavaModelException {
+			if (isFull()) {
+				return;
+			}
+			this.minRelevance = minRelevance;
+			IProgressMonitor searchMonitor = new NullProgressMonitor() {
+				@Override
+				public boolean isCanceled() {
+					// stops the search engine as soon as enough matches have been collected
+					return isFull() || monitor.isCanceled();
+				}
+			};
+			try {
+				new SearchEngine().searchAllTypeNames(null, SearchPattern.R_PATTERN_MATCH, pattern, matchRule, IJavaSearchConstants.TYPE, scope, this, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, searchMonitor);
+			} catch (OperationCanceledException e) {
+				if (monitor.isCanceled()) {
+					throw e;
+				}
+			}
+		}
+
+		@Override
+		public void acceptTypeNameMatch(TypeNameMatch match) {
+			if (isFull()) {
+				return;
+			}
+			char[] name = match.getSimpleTypeName().toCharArray();
+			int relevance;
+			if (CharOperation.equals(pattern, name, false)) {
+				relevance = EXACT;
+			} else if (CharOperation.prefixEquals(pattern, name, false)) {
+				relevance = PREFIX;
+			} else {
+				relevance = CAMEL_CASE;
+			}
+			if (relevance < minRelevance) {
+				// already collected by a previous search
+				return;
+			}
+			if (relevance == EXACT) {
+				exactMatches.add(match);
+			} else if (relevance == PREFIX) {
+				prefixMatches.add(match);
+			} else {
+				camelCaseMatches.add(match);
+			}
+			count++;
+		}
+
+		private boolean isFull() {
+			return maxResults > 0 && count >= maxResults;
+		}
+
+		List<TypeNameMatch> getMatches() {
+			List<TypeNameMatch> result = new ArrayList<>(count);
+			for (List<TypeNameMatch> relevanceMatches : Arrays.asList(exactMatches, prefixMatches, camelCaseMatches)) {
+				relevanceMatches.sort(MATCH_COMPARATOR);
+				result.addAll(relevanceMatches);
+			}
+			return result;
+		}
+	}
+
 	private IJavaSearchScope createSearchScope() throws JavaModelException {
 		return JDTUtils.createSearchScope(null, preferenceManager);
 	}
@@ -12,6 +12,7 @@ package org.eclipse.jdt.ls.core.internal.highlighting;
 
 import static com.google.common.base.Suppliers.memoize;
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newConcurrentMap;
 import static com.google.common.collect.Maps.newHashMap;
 import static java.util.Collections.emptyList;
 
@@ -22,6 +23,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.JavaModelException;
@@ -35,6 +37,7 @@ import org.eclipse.jdt.ls.core.internal.handlers.JsonRpcHelpers;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.BadPositionCategoryException;
+import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.Position;
@@ -134,9 +137,29 @@ public class SemanticHighlightingService {
 
 	}
 
+	/**
+	 * The state of a text document before the first of the changes that have
+	 * not been highlighted yet.
+	 */
+	private static class PendingUpdate {
+
+		private final IDocument oldState;
+		private final List<HighlightedPositionCore> oldPositions;
+		private VersionedTextDocumentIdentifier textDocument;
+		private int changesInProgress;
+		private long modificationStamp;
+
+		private PendingUpdate(IDocument oldState, List<HighlightedPositionCore> oldPositions) {
+			this.oldState = oldState;
+			this.oldPositions = oldPositions;
+		}
+
+	}
+
 	private final Supplier<Boolean> enabled;
 	private final JavaClientConnection connection;
 	private final Map<String, List<HighlightedPositionCore>> cache;
+	private final Map<String, PendingUpdate> pendingUpdates;
 	private CoreASTProvider astProvider;
 	private SemanticHighlightingDiffCalculator diffCalculator;
 
@@ -148,7 +171,8 @@ public class SemanticHighlightingService {
 		this.connection = connection;
 		this.astProvider = astProvider;
 		this.enabled = enabled; // XXX: move this out and have a factory instead, that creates a NOOP service instance.
-		this.cache = newHashMap();
+		this.cache = newConcurrentMap();
+		this.pendingUpdates = newHashMap();
 		this.diffCalculator = new SemanticHighlightingDiffCalculator();
 	}
 
@@ -159,6 +183,9 @@ public class SemanticHighlightingService {
 	public void uninstall(String uri) {
 		if (enabled.get()) {
 			this.cache.remove(uri);
+			synchronized (pendingUpdates) {
+				pendingUpdates.remove(uri);
+			}
 		}
 	}
 
@@ -196,16 +223,115 @@ public class SemanticHighlightingService {
 		return ImmutableList.copyOf(cache.getOrDefault(uri, emptyList()));
 	}
 
-	public void update(VersionedTextDocumentIdentifier textDocument, List<HighlightedPositionDiffContext> diffContexts) throws BadLocationException, BadPositionCategoryException, JavaModelException {
-		if (enabled.get() && !diffContexts.isEmpty()) {
-			List<SemanticHighlightingInformation> deltaInfos = newArrayList();
-			for (HighlightedPositionDiffContext context : diffContexts) {
-				deltaInfos.addAll(diffCalculator.getDiffInfos(context));
+	/**
+	 * Must be called before applying the changes of a {@code didChange}
+	 * notification to the buffer of the unit. Records the state of the document
+	 * if this is the first change since the last update of the highlighting.
+	 */
+	public void beginChange(ICompilationUnit unit, VersionedTextDocumentIdentifier textDocument) throws JavaModelException {
+		if (enabled.get()) {
+			String uri = JDTUtils.getFileURI(unit.getResource());
+			synchronized (pendingUpdates) {
+				PendingUpdate update = pendingUpdates.get(uri);
+				if (update == null) {
+					update = new PendingUpdate(new Document(unit.getBuffer().getContents()), getHighlightedPositions(uri));
+					pendingUpdates.put(uri, update);
+				}
+				update.textDocument = textDocument;
+				update.changesInProgress++;
+				update.modificationStamp++;
 			}
-			if (!deltaInfos.isEmpty()) {
-				notifyClient(textDocument, deltaInfos);
+		}
+	}
+
+	/**
+	 * Must be called once the changes of a {@code didChange} notification have
+	 * been applied to the buffer of the unit. Disposes the shared AST of the
+	 * unit, which may have been created while the changes were applied, so that
+	 * the shared AST is always created after the last change.
+	 */
+	public void endChange(ICompilationUnit unit) {
+		if (enabled.get()) {
+			String uri = JDTUtils.getFileURI(unit.getResource());
+			synchronized (pendingUpdates) {
+				PendingUpdate update = pendingUpdates.get(uri);
+				if (update != null) {
+					update.changesInProgress--;
+				}
+			}
+			if (unit.equals(this.astProvider.getActiveJavaElement())) {
+				this.astProvider.disposeAST();
+			}
+		}
+	}
+
+	/**
+	 * Computes the highlighted positions of the unit once for all the changes
+	 * recorded since the last update, and notifies the client with a single
+	 * diff.
+	 *
+	 * @return <code>false</code> if the update could not be completed because the
+	 *         unit has been changed in the meantime or the monitor has been
+	 *         cancelled, <code>true</code> otherwise.
+	 */
+	public boolean update(ICompilationUnit unit, IProgressMonitor monitor) throws JavaModelException, BadPositionCategoryException, BadLocationException {
+		if (!enabled.get()) {
+			return true;
+		}
+		String uri = JDTUtils.getFileURI(unit.getResource());
+		PendingUpdate update;
+		long modificationStamp;
+		IDocument newState;
+		synchronized (pendingUpdates) {
+			update = pendingUpdates.get(uri);
+			if (update == null) {
+				return true;
+			}
+			if (update.changesInProgress > 0) {
+				return false;
 			}
+			modificationStamp = update.modificationStamp;
+			newState = new Document(unit.getBuffer().getContents());
+		}
+		// Reuse the AST of the reconciler. It is disposed when the unit changes, so it
+		// matches the snapshot, unless the modification stamp has changed since then.
+		ASTNode ast = this.astProvider.getAST(unit, CoreASTProvider.WAIT_YES, monitor);
+		if (ast == null || monitor.isCanceled()) {
+			return false;
+		}
+		List<HighlightedPositionCore> newPositions = new SemanticHighlightingReconciler().reconciled(newState, ast, false, monitor);
+		synchronized (pendingUpdates) {
+			if (monitor.isCanceled() || update != pendingUpdates.get(uri) || update.modificationStamp != modificationStamp) {
+				return false;
+			}
+			pendingUpdates.remove(uri);
+			this.cache.put(uri, newPositions);
+		}
+		DocumentEvent event = createEvent(update.oldState, newState);
+		HighlightedPositionDiffContext context = new HighlightedPositionDiffContext(update.oldState, event, update.oldPositions, newPositions);
+		notifyClient(update.textDocument, diffCalculator.getDiffInfos(context));
+		return true;
+	}
+
+	/**
+	 * Returns with a single event transforming the old state of the document
+	 * into the new one, spanning from the first to the last modified character.
+	 */
+	protected DocumentEvent createEvent(IDocument oldState, IDocument newState) {
+		String oldContent = oldState.get();
+		String newContent = newState.get();
+		int oldLength = oldContent.length();
+		int newLength = newContent.length();
+		int maxLength = Math.min(oldLength, newLength);
+		int prefix = 0;
+		while (prefix < maxLength && oldContent.charAt(prefix) == newContent.charAt(prefix)) {
+			prefix++;
+		}
+		int suffix = 0;
+		while (suffix < maxLength - prefix && oldContent.charAt(oldLength - suffix - 1) == newContent.charAt(newLength - suffix - 1)) {
+			suffix++;
 		}
+		return new DocumentEvent(newState, prefix, oldLength - prefix - suffix, newContent.substring(prefix, newLength - suffix));
 	}
 
 	protected List<HighlightedPositionCore> calculateHighlightedPositions(IDocument document, ASTNode ast) throws BadPositionCategoryException {
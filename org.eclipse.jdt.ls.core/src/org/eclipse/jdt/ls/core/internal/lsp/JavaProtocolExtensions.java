@@ -13,6 +13,7 @@ package org.eclipse.jdt.ls.core.internal.lsp;
 import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.jdt.ls.core.internal.BuildWorkspaceStatus;
+import org.eclipse.lsp4j.CodeAction;
 import org.eclipse.lsp4j.TextDocumentIdentifier;
 import org.eclipse.lsp4j.jsonrpc.services.JsonNotification;
 import org.eclipse.lsp4j.jsonrpc.services.JsonRequest;
@@ -39,4 +40,14 @@ public interface JavaProtocolExtensions {
 
 	@JsonRequest
 	CompletableFuture<BuildWorkspaceStatus> buildWorkspace(boolean forceReBuild);
+
+	/**
+	 * Computes the changes of a code action returned without them, when the
+	 * client supports resolving code actions.
+	 *
+	 * @param codeAction
+	 *            the code action to resolve
+	 */
+	@JsonRequest
+	CompletableFuture<CodeAction> resolveCodeAction(CodeAction codeAction);
 }
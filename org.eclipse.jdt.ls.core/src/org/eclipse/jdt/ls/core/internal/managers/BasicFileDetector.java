@@ -25,15 +25,18 @@ import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
@@ -45,6 +48,10 @@ import org.eclipse.jdt.ls.core.internal.StatusFactory;
 /**
  * Searches recursively for all the directories containing a given filename.
  *
+ * Several detectors of the same root directory can be scanned at once, with
+ * {@link #scan(List, IProgressMonitor)}, to walk the directory tree a single
+ * time.
+ *
  * @author Fred Bricon
  */
 public class BasicFileDetector {
@@ -57,6 +64,8 @@ public class BasicFileDetector {
 	private int maxDepth = 5;
 	private boolean includeNested = true;
 	private Set<String> exclusions = new HashSet<>(1);
+	private List<PathMatcher> exclusionMatchers;
+	private boolean scanned;
 
 	/**
 	 * Constructs a new BasicFileDetector for the given root directory, searching for a fileName.
@@ -121,22 +130,72 @@ public class BasicFileDetector {
 		return Collections.unmodifiableList(directories);
 	}
 
+	/**
+	 * Returns whether the directories containing the sought-after file have been
+	 * completely scanned.
+	 */
+	public boolean isScanned() {
+		return scanned;
+	}
+
 	/**
 	 * Scan the  the directories found to be containing the sought-after file.
+	 * The directories of an already scanned detector are returned as is.
 	 * @param monitor the {@link IProgressMonitor} used to handle scan interruption.
 	 * @return an unmodifiable collection of {@link Path}s.
 	 * @throws CoreException if an error is encountered during the scan
 	 */
 	public Collection<Path> scan(IProgressMonitor monitor) throws CoreException {
+		scan(Collections.singletonList(this), monitor);
+		return getDirectories();
+	}
+
+	/**
+	 * Scans the given detectors, which must share the same root directory, in a
+	 * single walk of the directory tree.
+	 *
+	 * The detectors are given by decreasing priority: once a detector finds a
+	 * directory, the detectors following it are abandoned, as their results
+	 * would not be used. Abandoned detectors are not scanned, and scan their
+	 * directories on their own when asked for them.
+	 *
+	 * @param detectors the detectors to scan; already scanned detectors are skipped
+	 * @param monitor the {@link IProgressMonitor} used to handle scan interruption.
+	 * @throws CoreException if an error is encountered during the scan
+	 */
+	public static void scan(List<BasicFileDetector> detectors, IProgressMonitor monitor) throws CoreException {
+		List<BasicFileDetector> pending = new ArrayList<>(detectors.size());
+		for (BasicFileDetector detector : detectors) {
+			if (!detector.scanned) {
+				Assert.isTrue(pending.isEmpty() || pending.get(0).rootDir.equals(detector.rootDir), "detectors must share the same root directory");
+				detector.directories.clear();
+				detector.exclusionMatchers = detector.exclusions.stream().map(pattern -> FileSystems.getDefault().getPathMatcher("glob:" + pattern)).collect(Collectors.toList());
+				pending.add(detector);
+			}
+		}
+		if (pending.isEmpty()) {
+			return;
+		}
+		Path rootDir = pending.get(0).rootDir;
+		Set<BasicFileDetector> abandoned = new HashSet<>();
 		try {
-			scanDir(rootDir, (monitor == null? new NullProgressMonitor(): monitor));
+			scanDir(rootDir, pending, abandoned, monitor == null ? new NullProgressMonitor() : monitor);
 		} catch (IOException e) {
-			throw new CoreException(StatusFactory.newErrorStatus("Failed to scan "+rootDir, e));
+			throw new CoreException(StatusFactory.newErrorStatus("Failed to scan " + rootDir, e));
+		}
+		for (BasicFileDetector detector : pending) {
+			detector.exclusionMatchers = null;
+			if (abandoned.contains(detector) || (monitor != null && monitor.isCanceled())) {
+				detector.directories.clear();
+			} else {
+				detector.scanned = true;
+			}
 		}
-		return getDirectories();
 	}
 
-	private void scanDir(Path dir, final IProgressMonitor monitor) throws IOException {
+	private static void scanDir(Path rootDir, List<BasicFileDetector> detectors, Set<BasicFileDetector> abandoned, final IProgressMonitor monitor) throws IOException {
+		// the detectors still searching in each directory being visited
+		Deque<List<BasicFileDetector>> searching = new ArrayDeque<>();
 		FileVisitor<Path> visitor = new SimpleFileVisitor<Path>() {
 			@Override
 			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
@@ -144,16 +203,35 @@ public class BasicFileDetector {
 					return TERMINATE;
 				}
 				Objects.requireNonNull(dir);
-				if (isExcluded(dir)) {
-					return SKIP_SUBTREE;
+				int depth = searching.size();
+				List<BasicFileDetector> parents = searching.isEmpty() ? detectors : searching.peek();
+				List<BasicFileDetector> children = new ArrayList<>(parents.size());
+				for (BasicFileDetector detector : parents) {
+					if (abandoned.contains(detector) || depth >= detector.maxDepth || detector.isExcluded(dir)) {
+						continue;
+					}
+					if (detector.hasTargetFile(dir)) {
+						detector.directories.add(dir);
+						abandoned.addAll(detectors.subList(detectors.indexOf(detector) + 1, detectors.size()));
+						if (!detector.includeNested) {
+							continue;
+						}
+					}
+					children.add(detector);
 				}
-				if (hasTargetFile(dir)) {
-					directories.add(dir);
-					return includeNested?CONTINUE:SKIP_SUBTREE;
+				if (children.isEmpty()) {
+					return SKIP_SUBTREE;
 				}
+				searching.push(children);
 				return CONTINUE;
 			}
 
+			@Override
+			public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+				searching.pop();
+				return super.postVisitDirectory(dir, exc);
+			}
+
 			@Override
 			public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException {
 				Objects.requireNonNull(file);
@@ -165,15 +243,15 @@ public class BasicFileDetector {
 			}
 
 		};
-		Files.walkFileTree(dir, FOLLOW_LINKS_OPTION, maxDepth, visitor);
+		int maxDepth = detectors.stream().mapToInt(detector -> detector.maxDepth).max().getAsInt();
+		Files.walkFileTree(rootDir, FOLLOW_LINKS_OPTION, maxDepth, visitor);
 	}
 
 	private boolean isExcluded(Path dir) {
 		if (dir.getFileName() == null) {
 			return true;
 		}
-		for (String pattern : exclusions) {
-			PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+		for (PathMatcher matcher : exclusionMatchers) {
 			if (matcher.matches(dir)) {
 				return true;
 			}
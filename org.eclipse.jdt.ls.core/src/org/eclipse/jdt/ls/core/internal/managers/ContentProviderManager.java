@@ -23,10 +23,13 @@ import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.jdt.core.IClassFile;
+import org.eclipse.jdt.ls.core.internal.DisassemblerContentProvider;
 import org.eclipse.jdt.ls.core.internal.IContentProvider;
 import org.eclipse.jdt.ls.core.internal.IDecompiler;
+import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
+import org.osgi.framework.Bundle;
 
 public class ContentProviderManager {
 
@@ -40,11 +43,22 @@ public class ContentProviderManager {
 	private static final Pattern DEFAULT_URI_PATTERN = Pattern.compile("jdt://contents/.*\\.class.*");
 
 	private final PreferenceManager preferenceManager;
+	private final DecompiledSourceCache cache;
 
 	private Set<ContentProviderDescriptor> descriptors;
 
 	public ContentProviderManager(PreferenceManager preferenceManager) {
+		this(preferenceManager, null);
+	}
+
+	/**
+	 * @param cache
+	 *            the cache of the contents of the class files, or
+	 *            <code>null</code> to compute them on every request
+	 */
+	public ContentProviderManager(PreferenceManager preferenceManager, DecompiledSourceCache cache) {
 		this.preferenceManager = preferenceManager;
+		this.cache = cache;
 	}
 
 	/**
@@ -60,7 +74,7 @@ public class ContentProviderManager {
 		if (classFile == null) {
 			return null;
 		}
-		return getContent(classFile, classFile.getHandleIdentifier(), IDecompiler.class, monitor);
+		return getContent(classFile, classFile, IDecompiler.class, monitor);
 	}
 
 	/**
@@ -76,17 +90,26 @@ public class ContentProviderManager {
 		if (uri == null) {
 			return null;
 		}
-		return getContent(uri, uri.toString(), IContentProvider.class, monitor);
+		return getContent(uri, cache == null ? null : JDTUtils.resolveClassFile(uri), IContentProvider.class, monitor);
 	}
 
-	private String getContent(Object source, String cacheKey, Class<? extends IContentProvider> providerType, IProgressMonitor monitor) {
+	private String getContent(Object source, IClassFile classFile, Class<? extends IContentProvider> providerType, IProgressMonitor monitor) {
 		URI uri = source instanceof URI ? (URI) source : null;
+		String cacheKey = getCacheKey(classFile, providerType);
+		if (cacheKey != null) {
+			String content = cache.get(cacheKey);
+			if (content != null) {
+				return content;
+			}
+		}
 		List<ContentProviderDescriptor> matches = findMatchingProviders(uri);
 		if (monitor.isCanceled()) {
 			return EMPTY_CONTENT;
 		}
 
 		int previousPriority = -1;
+		// the output of the providers after a failed one isn't cached, as the failure may be temporary
+		boolean failed = false;
 		for (ContentProviderDescriptor match : matches) {
 			IContentProvider contentProvider = match.getContentProvider();
 			if (!providerType.isInstance(contentProvider)) {
@@ -112,10 +135,15 @@ public class ContentProviderManager {
 				if (monitor.isCanceled()) {
 					return EMPTY_CONTENT;
 				} else if (content != null) {
+					// the disassembled stubs are only a placeholder for the sources
+					if (cacheKey != null && !failed && !content.isEmpty() && !content.startsWith(DisassemblerContentProvider.DISASSEMBLED_HEADER)) {
+						cache.put(cacheKey, content);
+					}
 					return content;
 				}
 			} catch (Exception e) {
 				JavaLanguageServerPlugin.logException("Error getting content via " + match.id, e);
+				failed = true;
 			}
 
 			previousPriority = match.priority;
@@ -124,6 +152,16 @@ public class ContentProviderManager {
 		return EMPTY_CONTENT;
 	}
 
+	private String getCacheKey(IClassFile classFile, Class<? extends IContentProvider> providerType) {
+		if (cache == null || classFile == null) {
+			return null;
+		}
+		List<String> preferredProviderIds = preferenceManager.getPreferences().getPreferredContentProviderIds();
+		// the contents are computed again when a content provider is added, removed or updated
+		String providerVersions = getDescriptors(preferredProviderIds).stream().map(d -> d.id + '@' + d.version).sorted().collect(Collectors.joining(","));
+		return DecompiledSourceCache.getKey(classFile, providerType.getName() + preferredProviderIds + providerVersions);
+	}
+
 	private synchronized Set<ContentProviderDescriptor> getDescriptors(List<String> preferredProviderIds) {
 		if (descriptors == null) {
 			IConfigurationElement[] elements = Platform.getExtensionRegistry().getConfigurationElementsFor(EXTENSION_POINT_ID);
@@ -169,10 +207,14 @@ public class ContentProviderManager {
 		private final int basePriority;
 		public int priority;
 		public final Pattern uriPattern;
+		// version of the contributing bundle
+		public final String version;
 
 		public ContentProviderDescriptor(IConfigurationElement element) {
 			configurationElement = element;
 			id = configurationElement.getAttribute(ID);
+			Bundle bundle = Platform.getBundle(element.getContributor().getName());
+			version = bundle == null ? "" : bundle.getVersion().toString();
 			basePriority = parsePriority();
 			priority = basePriority;
 			String uriPatternString = configurationElement.getAttribute(URI_PATTERN);
@@ -0,0 +1,238 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.managers;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.core.IClassFile;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+
+/**
+ * Cache of the contents computed by the content providers for the class files
+ * of the libraries, e.g. decompiled sources, persisted in the plugin state
+ * location so that they survive restarts, with an in-memory LRU front.
+ *
+ * The contents are keyed by the handle of the class file, the stamps of its
+ * archive and of its source attachment, and the content providers with their
+ * versions, so that they are computed again when any of them changes. The
+ * output of failed or placeholder content providers isn't cached. The size of the
+ * persisted contents is bounded, the least recently used ones are deleted
+ * first.
+ */
+public class DecompiledSourceCache {
+
+	private static final String CACHE_DIRECTORY_NAME = ".decompiled-sources";
+	private static final String FILE_EXTENSION = ".java";
+	static final int MAX_MEMORY_ENTRIES = 32;
+	static final long MAX_DISK_SIZE = 64L * 1024 * 1024;
+
+	private final File cacheDirectory;
+	private final long maxDiskSize;
+
+	// guarded by itself
+	private final Map<String, String> memoryCache = new LinkedHashMap<String, String>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+			return size() > MAX_MEMORY_ENTRIES;
+		}
+	};
+
+	// size of the persisted contents, computed on the first write, guarded by this
+	private long diskSize = -1;
+
+	public DecompiledSourceCache(File stateLocation) {
+		this(stateLocation, MAX_DISK_SIZE);
+	}
+
+	DecompiledSourceCache(File stateLocation, long maxDiskSize) {
+		this.cacheDirectory = new File(stateLocation, CACHE_DIRECTORY_NAME);
+		this.maxDiskSize = maxDiskSize;
+	}
+
+	/**
+	 * Returns the key of the contents of the given class file.
+	 *
+	 * @param classFile
+	 *            the class file
+	 * @param qualifier
+	 *            what else the contents depend on, e.g. the type, the
+	 *            preferences and the versions of the content providers
+	 * @return the key of the contents, or <code>null</code> if the class file
+	 *         isn't in an archive, whose contents aren't cached
+	 */
+	public static String getKey(IClassFile classFile, String qualifier) {
+		IPackageFragmentRoot root = (IPackageFragmentRoot) classFile.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+		if (root == null || !root.isArchive()) {
+			return null;
+		}
+		IResource resource = root.getResource();
+		IPath location = resource == null ? root.getPath() : resource.getLocation();
+		File archive = location == null ? null : location.toFile();
+		if (archive == null || !archive.isFile()) {
+			return null;
+		}
+		StringBuilder key = new StringBuilder(classFile.getHandleIdentifier());
+		key.append('\n').append(qualifier);
+		key.append('\n').append(archive.getAbsolutePath()).append('|').append(getStamp(archive));
+		try {
+			IPath sourcePath = root.getSourceAttachmentPath();
+			if (sourcePath != null) {
+				File source = sourcePath.toFile();
+				key.append('\n').append(source.getAbsolutePath()).append('|').append(getStamp(source));
+			}
+		} catch (JavaModelException e) {
+			return null;
+		}
+		return key.toString();
+	}
+
+	private static long getStamp(File file) {
+		return file.lastModified() * 31 + file.length();
+	}
+
+	/**
+	 * @return the cached contents of the given key, or <code>null</code>
+	 */
+	public String get(String key) {
+		synchronized (memoryCache) {
+			String content = memoryCache.get(key);
+			if (content != null) {
+				return content;
+			}
+		}
+		File file = getFile(key);
+		if (!file.isFile()) {
+			return null;
+		}
+		try {
+			String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+			// the least recently used contents are deleted first
+			file.setLastModified(System.currentTimeMillis());
+			synchronized (memoryCache) {
+				memoryCache.put(key, content);
+			}
+			return content;
+		} catch (IOException e) {
+			JavaLanguageServerPlugin.logException("Exception occured while reading the cached contents of " + file, e);
+			return null;
+		}
+	}
+
+	/**
+	 * Caches the given contents, then deletes the least recently used ones if
+	 * the cache is too large.
+	 */
+	public void put(String key, String content) {
+		synchronized (memoryCache) {
+			memoryCache.put(key, content);
+		}
+		File file = getFile(key);
+		try {
+			cacheDirectory.mkdirs();
+			File tempFile = File.createTempFile("content", ".tmp", cacheDirectory);
+			Files.write(tempFile.toPath(), content.getBytes(StandardCharsets.UTF_8));
+			long previousLength = file.length();
+			try {
+				Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+			synchronized (this) {
+				if (diskSize < 0) {
+					diskSize = computeDiskSize();
+				} else {
+					diskSize += file.length() - previousLength;
+				}
+				if (diskSize > maxDiskSize) {
+					evict();
+				}
+			}
+		} catch (IOException e) {
+			JavaLanguageServerPlugin.logException("Exception occured while caching the contents of " + file, e);
+		}
+	}
+
+	public void clear() {
+		synchronized (memoryCache) {
+			memoryCache.clear();
+		}
+		synchronized (this) {
+			for (File file : listFiles()) {
+				file.delete();
+			}
+			diskSize = 0;
+		}
+	}
+
+	// deletes the least recently used contents, until the cache is 3/4 full
+	private void evict() {
+		List<File> files = listFiles();
+		files.sort(Comparator.comparingLong(File::lastModified));
+		long size = computeDiskSize();
+		for (File file : files) {
+			if (size <= maxDiskSize * 3 / 4) {
+				break;
+			}
+			long length = file.length();
+			if (file.delete()) {
+				size -= length;
+			}
+		}
+		diskSize = size;
+	}
+
+	private long computeDiskSize() {
+		long size = 0;
+		for (File file : listFiles()) {
+			size += file.length();
+		}
+		return size;
+	}
+
+	private List<File> listFiles() {
+		File[] files = cacheDirectory.listFiles((dir, name) -> name.endsWith(FILE_EXTENSION));
+		return files == null ? new ArrayList<>() : new ArrayList<>(Arrays.asList(files));
+	}
+
+	private File getFile(String key) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-1").digest(key.getBytes(StandardCharsets.UTF_8));
+			StringBuilder name = new StringBuilder(digest.length * 2 + FILE_EXTENSION.length());
+			for (byte b : digest) {
+				name.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			return new File(cacheDirectory, name.append(FILE_EXTENSION).toString());
+		} catch (NoSuchAlgorithmException e) {
+			// SHA-1 is supported by every Java platform
+			throw new IllegalStateException(e);
+		}
+	}
+}
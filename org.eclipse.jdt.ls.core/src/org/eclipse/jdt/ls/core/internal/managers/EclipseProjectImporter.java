@@ -36,13 +36,17 @@ public class EclipseProjectImporter extends AbstractProjectImporter {
 	@Override
 	public boolean applies(IProgressMonitor monitor) throws CoreException {
 		if (directories == null) {
-			BasicFileDetector eclipseDetector = new BasicFileDetector(rootFolder.toPath(), DESCRIPTION_FILE_NAME)
-					.addExclusions("**/bin");//default Eclipse build dir
-			directories = eclipseDetector.scan(monitor);
+			directories = getFileDetector().scan(monitor);
 		}
 		return !directories.isEmpty();
 	}
 
+	@Override
+	protected BasicFileDetector createFileDetector() {
+		return new BasicFileDetector(rootFolder.toPath(), DESCRIPTION_FILE_NAME)
+				.addExclusions("**/bin");//default Eclipse build dir
+	}
+
 	@Override
 	public void reset() {
 		directories = null;
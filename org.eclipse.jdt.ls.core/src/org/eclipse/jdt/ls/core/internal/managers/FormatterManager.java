@@ -18,6 +18,7 @@ import java.io.InputStream;
 import java.net.URL;
 import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import javax.xml.parsers.SAXParser;
@@ -27,6 +28,8 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.ToolFactory;
+import org.eclipse.jdt.core.formatter.CodeFormatter;
 import org.eclipse.jdt.internal.formatter.DefaultCodeFormatterOptions;
 import org.eclipse.jdt.ls.core.internal.IConstants;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
@@ -122,9 +125,45 @@ public class FormatterManager {
 	private final static String XML_ATTRIBUTE_PROFILE_KIND= "kind"; //$NON-NLS-1$
 	private final static String XML_ATTRIBUTE_VALUE= "value"; //$NON-NLS-1$
 
+	private static final int MAX_CODE_FORMATTERS = 8;
+
+	/**
+	 * The code formatters of the last used options, as creating a formatter
+	 * parses all the options.
+	 */
+	private static final Map<Map<String, String>, CodeFormatter> codeFormatters = new LinkedHashMap<Map<String, String>, CodeFormatter>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Map<String, String>, CodeFormatter> eldest) {
+			return size() > MAX_CODE_FORMATTERS;
+		}
+	};
+
 	public FormatterManager() {
 	}
 
+	/**
+	 * Returns a code formatter for the given options, reused as long as the
+	 * options are the same and the formatter settings are not configured again.
+	 * The formatter is not thread safe, callers must synchronize on it.
+	 *
+	 * @param options
+	 *            the options of the formatter
+	 * @return a code formatter
+	 */
+	public static CodeFormatter getCodeFormatter(Map<String, String> options) {
+		synchronized (codeFormatters) {
+			return codeFormatters.computeIfAbsent(new HashMap<>(options), ToolFactory::createCodeFormatter);
+		}
+	}
+
+	private static void clearCodeFormatters() {
+		synchronized (codeFormatters) {
+			codeFormatters.clear();
+		}
+	}
+
 	/**
 	 * Read the available profiles from the internal XML file and return them as
 	 * collection or <code>null</code> if the file is not a profile file.
@@ -162,6 +201,7 @@ public class FormatterManager {
 	}
 
 	public static void configureFormatter(PreferenceManager preferenceManager, ProjectsManager projectsManager) {
+		clearCodeFormatters();
 		String formatterUrl = preferenceManager.getPreferences().getFormatterUrl();
 		Map<String, String> options = null;
 		if (formatterUrl != null) {
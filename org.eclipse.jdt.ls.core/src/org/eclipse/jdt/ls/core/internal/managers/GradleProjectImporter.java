@@ -15,6 +15,7 @@ import java.io.FilenameFilter;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -63,14 +64,23 @@ public class GradleProjectImporter extends AbstractProjectImporter {
 			return false;
 		}
 		if (directories == null) {
-			BasicFileDetector gradleDetector = new BasicFileDetector(rootFolder.toPath(), BUILD_GRADLE_DESCRIPTOR)
-					.includeNested(false)
-					.addExclusions("**/build");//default gradle build dir
-			directories = gradleDetector.scan(monitor);
+			BasicFileDetector gradleDetector = getFileDetector();
+			directories = gradleDetector == null ? Collections.emptyList() : gradleDetector.scan(monitor);
 		}
 		return !directories.isEmpty();
 	}
 
+	@Override
+	protected BasicFileDetector createFileDetector() {
+		PreferenceManager preferencesManager = JavaLanguageServerPlugin.getPreferencesManager();
+		if (preferencesManager != null && !preferencesManager.getPreferences().isImportGradleEnabled()) {
+			return null;
+		}
+		return new BasicFileDetector(rootFolder.toPath(), BUILD_GRADLE_DESCRIPTOR)
+				.includeNested(false)
+				.addExclusions("**/build");//default gradle build dir
+	}
+
 	/* (non-Javadoc)
 	 * @see org.eclipse.jdt.ls.core.internal.managers.IProjectImporter#importToWorkspace(org.eclipse.core.runtime.IProgressMonitor)
 	 */
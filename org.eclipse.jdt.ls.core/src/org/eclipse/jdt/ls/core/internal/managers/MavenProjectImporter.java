@@ -71,6 +71,11 @@ public class MavenProjectImporter extends AbstractProjectImporter {
 		if (preferencesManager != null && !preferencesManager.getPreferences().isImportMavenEnabled()) {
 			return false;
 		}
+		// the root folder may have been scanned along with the build files of the other importers
+		BasicFileDetector pomDetector = getFileDetector();
+		if (pomDetector != null && pomDetector.isScanned() && pomDetector.getDirectories().isEmpty()) {
+			return false;
+		}
 		Set<MavenProjectInfo> files = getMavenProjectInfo(monitor);
 		if (files != null) {
 			Iterator<MavenProjectInfo> iter = files.iterator();
@@ -85,6 +90,18 @@ public class MavenProjectImporter extends AbstractProjectImporter {
 		return files != null && !files.isEmpty();
 	}
 
+	@Override
+	protected BasicFileDetector createFileDetector() {
+		PreferenceManager preferencesManager = JavaLanguageServerPlugin.getPreferencesManager();
+		if (preferencesManager != null && !preferencesManager.getPreferences().isImportMavenEnabled()) {
+			return null;
+		}
+		// like the Maven project scanner, stop at the first pom.xml of each branch, at any depth
+		return new BasicFileDetector(rootFolder.toPath(), POM_FILE)
+				.includeNested(false)
+				.maxDepth(Integer.MAX_VALUE);
+	}
+
 	private boolean exclude(java.nio.file.Path path) {
 		List<String> javaImportExclusions = JavaLanguageServerPlugin.getPreferencesManager().getPreferences().getJavaImportExclusions();
 		if (javaImportExclusions != null) {
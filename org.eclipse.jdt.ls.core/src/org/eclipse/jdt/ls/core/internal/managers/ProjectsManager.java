@@ -23,12 +23,20 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -66,6 +74,7 @@ import org.eclipse.jdt.launching.IVMInstall;
 import org.eclipse.jdt.launching.JavaRuntime;
 import org.eclipse.jdt.launching.environments.IExecutionEnvironment;
 import org.eclipse.jdt.launching.environments.IExecutionEnvironmentsManager;
+import org.eclipse.jdt.ls.core.internal.AbstractProjectImporter;
 import org.eclipse.jdt.ls.core.internal.ActionableNotification;
 import org.eclipse.jdt.ls.core.internal.IConstants;
 import org.eclipse.jdt.ls.core.internal.IProjectImporter;
@@ -92,6 +101,8 @@ public class ProjectsManager implements ISaveParticipant {
 	private static final Set<String> watchers = new HashSet<>();
 	private PreferenceManager preferenceManager;
 	private JavaLanguageClient client;
+	// the locations of the documents opened by the client, whose root folders are imported first in the background
+	private final Set<IPath> openedPaths = ConcurrentHashMap.newKeySet();
 
 	public enum CHANGE_TYPE {
 		CREATED, CHANGED, DELETED
@@ -113,6 +124,21 @@ public class ProjectsManager implements ISaveParticipant {
 	}
 
 	public void initializeProjects(final Collection<IPath> rootPaths, IProgressMonitor monitor) throws CoreException, OperationCanceledException {
+		initializeProjects(rootPaths, rootPaths, monitor);
+	}
+
+	/**
+	 * Initializes the workspace for the given root folders, only importing the
+	 * projects of some of them. The projects of the other root folders are
+	 * expected to be imported later, e.g. by
+	 * {@link #importProjectsInBackground(Collection)}.
+	 *
+	 * @param rootPaths
+	 *            all the root folders of the workspace
+	 * @param importedRootPaths
+	 *            the root folders whose projects are imported
+	 */
+	public void initializeProjects(final Collection<IPath> rootPaths, final Collection<IPath> importedRootPaths, IProgressMonitor monitor) throws CoreException, OperationCanceledException {
 		// Run as a Java runnable to trigger any build while importing
 		JavaCore.run(new IWorkspaceRunnable() {
 			@Override
@@ -122,23 +148,164 @@ public class ProjectsManager implements ISaveParticipant {
 				GradleBuildSupport.cleanGradleModels(subMonitor.split(10));
 				createJavaProject(getDefaultProject(), subMonitor.split(10));
 				cleanupResources(getDefaultProject());
-				importProjects(rootPaths, subMonitor.split(70));
+				importProjects(importedRootPaths, subMonitor.split(70));
 				subMonitor.done();
 			}
 		}, monitor);
 	}
 
+	/**
+	 * Imports the projects of the given root folders in the background, one
+	 * root folder per job run, so that the operations waiting for the workspace,
+	 * e.g. opening a document, get it between two root folders. The root
+	 * folders containing documents opened by the client are imported first.
+	 *
+	 * @return the job importing the projects
+	 */
+	public Job importProjectsInBackground(Collection<IPath> rootPaths) {
+		Set<IPath> pendingRootPaths = new LinkedHashSet<>(rootPaths);
+		WorkspaceJob job = new WorkspaceJob("Importing projects") {
+
+			@Override
+			public boolean belongsTo(Object family) {
+				return IConstants.UPDATE_WORKSPACE_FOLDERS_FAMILY.equals(family) || IConstants.JOBS_FAMILY.equals(family);
+			}
+
+			@Override
+			public IStatus runInWorkspace(IProgressMonitor monitor) {
+				IPath rootPath;
+				synchronized (pendingRootPaths) {
+					rootPath = getNextRootPath(pendingRootPaths);
+					if (rootPath == null) {
+						return Status.OK_STATUS;
+					}
+					pendingRootPaths.remove(rootPath);
+				}
+				try {
+					long start = System.currentTimeMillis();
+					importProjects(Collections.singletonList(rootPath), monitor);
+					logInfo("Imported " + rootPath.toOSString() + " in " + (System.currentTimeMillis() - start) + " ms");
+				} catch (OperationCanceledException e) {
+					return Status.CANCEL_STATUS;
+				} catch (CoreException e) {
+					JavaLanguageServerPlugin.logException("Problems importing '" + rootPath.toOSString() + "'", e);
+				}
+				synchronized (pendingRootPaths) {
+					if (!pendingRootPaths.isEmpty()) {
+						schedule();
+						return Status.OK_STATUS;
+					}
+				}
+				registerWatcherJob.schedule();
+				logInfo(getWorkspaceInfo());
+				return Status.OK_STATUS;
+			}
+		};
+		job.setRule(getWorkspaceRoot());
+		job.schedule();
+		return job;
+	}
+
+	private IPath getNextRootPath(Set<IPath> rootPaths) {
+		for (IPath rootPath : rootPaths) {
+			if (openedPaths.stream().anyMatch(rootPath::isPrefixOf)) {
+				return rootPath;
+			}
+		}
+		return rootPaths.isEmpty() ? null : rootPaths.iterator().next();
+	}
+
+	/**
+	 * Records that the client opened the document of the given URI, so that
+	 * its root folder is imported first.
+	 */
+	public void documentOpened(String uri) {
+		IPath path = ResourceUtils.canonicalFilePathFromURI(uri);
+		if (path != null) {
+			openedPaths.add(path);
+		}
+	}
+
+	public void documentClosed(String uri) {
+		IPath path = ResourceUtils.canonicalFilePathFromURI(uri);
+		if (path != null) {
+			openedPaths.remove(path);
+		}
+	}
+
+	/**
+	 * Imports the projects of the given root folders.
+	 *
+	 * Only the scan of the root folders for build files runs concurrently, as
+	 * it only reads the file system. The projects are imported one root folder
+	 * after the other: the importers modify the workspace, which is locked by
+	 * the caller as a whole.
+	 */
 	private void importProjects(Collection<IPath> rootPaths, IProgressMonitor monitor) throws CoreException {
 		SubMonitor subMonitor = SubMonitor.convert(monitor, rootPaths.size() * 100);
+		Map<IPath, Collection<IProjectImporter>> importers = scanRootFolders(rootPaths, subMonitor.split(rootPaths.size() * 25));
 		for (IPath rootPath : rootPaths) {
 			File rootFolder = rootPath.toFile();
-			IProjectImporter importer = getImporter(rootFolder, subMonitor.split(30));
+			// the build files found by the scan are cached by the importers
+			IProjectImporter importer = getImporter(rootFolder, importers.get(rootPath), subMonitor.split(5));
 			if (importer != null) {
 				importer.importToWorkspace(subMonitor.split(70));
 			}
 		}
 	}
 
+	/**
+	 * Finds the importers applying to the given root folders, scanning them
+	 * concurrently. The progress is reported on the given monitor, as the scans
+	 * complete.
+	 *
+	 * @return the initialized importers, by root folder
+	 */
+	private Map<IPath, Collection<IProjectImporter>> scanRootFolders(Collection<IPath> rootPaths, IProgressMonitor monitor) {
+		Map<IPath, Collection<IProjectImporter>> importers = new HashMap<>();
+		for (IPath rootPath : rootPaths) {
+			importers.put(rootPath, importers());
+		}
+		if (rootPaths.size() < 2) {
+			return importers;
+		}
+		SubMonitor subMonitor = SubMonitor.convert(monitor, rootPaths.size());
+		subMonitor.subTask("Scanning " + rootPaths.size() + " folders for build files");
+		int threads = Math.min(rootPaths.size(), Runtime.getRuntime().availableProcessors());
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			// the monitor can only be used by this thread, so the scans only check for cancellation
+			IProgressMonitor scanMonitor = new NullProgressMonitor() {
+				@Override
+				public boolean isCanceled() {
+					return monitor.isCanceled();
+				}
+			};
+			Map<IPath, Future<IProjectImporter>> scans = new LinkedHashMap<>();
+			for (IPath rootPath : rootPaths) {
+				scans.put(rootPath, executor.submit(() -> getImporter(rootPath.toFile(), importers.get(rootPath), scanMonitor)));
+			}
+			for (Map.Entry<IPath, Future<IProjectImporter>> scan : scans.entrySet()) {
+				try {
+					scan.getValue().get();
+				} catch (ExecutionException e) {
+					// the import of the root folder will fail again, and report it
+					JavaLanguageServerPlugin.logException("Problems scanning '" + scan.getKey() + "'", e.getCause());
+				}
+				subMonitor.worked(1);
+				if (subMonitor.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} finally {
+			executor.shutdownNow();
+		}
+		return importers;
+	}
+
 	public Job updateWorkspaceFolders(Collection<IPath> addedRootPaths, Collection<IPath> removedRootPaths) {
 		JavaLanguageServerPlugin.sendStatus(ServiceStatus.Message, "Updating workspace folders: Adding " + addedRootPaths.size() + " folder(s), removing " + removedRootPaths.size() + " folders.");
 		WorkspaceJob job = new WorkspaceJob("Updating workspace folders") {
@@ -324,11 +491,21 @@ public class ProjectsManager implements ISaveParticipant {
 		return buildSupports().filter(bs -> bs.isBuildFile(resource)).findAny().isPresent();
 	}
 
-	private IProjectImporter getImporter(File rootFolder, IProgressMonitor monitor) throws OperationCanceledException, CoreException {
-		Collection<IProjectImporter> importers = importers();
-		SubMonitor subMonitor = SubMonitor.convert(monitor, importers.size());
+	private IProjectImporter getImporter(File rootFolder, Collection<IProjectImporter> importers, IProgressMonitor monitor) throws OperationCanceledException, CoreException {
+		SubMonitor subMonitor = SubMonitor.convert(monitor, importers.size() + 1);
+		List<BasicFileDetector> detectors = new ArrayList<>();
 		for (IProjectImporter importer : importers) {
 			importer.initialize(rootFolder);
+			if (importer instanceof AbstractProjectImporter) {
+				BasicFileDetector detector = ((AbstractProjectImporter) importer).getFileDetector();
+				if (detector != null) {
+					detectors.add(detector);
+				}
+			}
+		}
+		// find the build files of all the importers in a single walk of the root folder
+		BasicFileDetector.scan(detectors, subMonitor.split(1));
+		for (IProjectImporter importer : importers) {
 			if (importer.applies(subMonitor.split(1))) {
 				return importer;
 			}
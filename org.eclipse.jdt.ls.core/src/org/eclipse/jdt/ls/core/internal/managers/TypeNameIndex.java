@@ -0,0 +1,808 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.managers;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IClassFile;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.TypeNameRequestor;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.ProjectUtils;
+
+/**
+ * In-memory index of the names of the types declared in the workspace and in
+ * the libraries of its Java projects, answering workspace symbol queries
+ * without going through the search engine.
+ *
+ * The index is built once from the search engine, then maintained from Java
+ * element deltas. The names of the types declared in libraries are persisted
+ * in the plugin state location, so that they only have to be indexed again if
+ * the library has changed. The types of the working copies with unsaved
+ * changes are read from the working copies when querying the index.
+ */
+public class TypeNameIndex implements IElementChangedListener {
+
+	private static final String SERIALIZATION_FILE_NAME = ".type-names";
+	private static final int FORMAT_VERSION = 2;
+	private static final long INDEX_DELAY = 200L;
+
+	/**
+	 * Orders matches of the same relevance by name length, then name, then
+	 * container name.
+	 */
+	private static final Comparator<Match> MATCH_COMPARATOR = Comparator.<Match> comparingInt(m -> m.getSimpleTypeName().length()).thenComparing(Match::getSimpleTypeName).thenComparing(Match::getTypeContainerName);
+
+	// layout of an entry of a block
+	private static final int NAME_START = 0;
+	private static final int NAME_LENGTH = 1;
+	private static final int CONTAINER_START = 2;
+	private static final int CONTAINER_LENGTH = 3;
+	private static final int PACKAGE_LENGTH = 4;
+	private static final int MODIFIERS = 5;
+	private static final int ENTRY_SIZE = 6;
+
+	// type names, by archive path for libraries, followed by the module name for
+	// the modules of a JRT image, or by compilation unit path for sources
+	private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+	// binary package fragment roots, by archive path
+	private volatile Map<String, List<IPackageFragmentRoot>> binaryRoots = Collections.emptyMap();
+	private final File stateFile;
+	private final Job indexJob;
+
+	// pending work, guarded by itself
+	private final Set<Object> pending = new LinkedHashSet<>();
+	private static final Object REFRESH_ALL = new Object();
+	private volatile boolean upToDate;
+	private boolean binaryBlocksChanged;
+
+	public TypeNameIndex(File stateLocation) {
+		this.stateFile = new File(stateLocation, SERIALIZATION_FILE_NAME);
+		this.indexJob = new Job("Indexing type names") {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				return TypeNameIndex.this.run(monitor);
+			}
+		};
+		indexJob.setSystem(true);
+		indexJob.setPriority(Job.DECORATE);
+	}
+
+	/**
+	 * Loads the persisted type names, starts listening to Java element changes
+	 * and schedules the indexing of the workspace.
+	 */
+	public void install() {
+		if (stateFile.isFile()) {
+			deserialize();
+		}
+		JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE);
+		synchronized (pending) {
+			pending.add(REFRESH_ALL);
+			schedule();
+		}
+	}
+
+	public void uninstall() {
+		JavaCore.removeElementChangedListener(this);
+		indexJob.cancel();
+		upToDate = false;
+	}
+
+	/**
+	 * @return <code>true</code> if the index reflects the current state of the
+	 *         workspace, <code>false</code> if some changes are still being
+	 *         indexed
+	 */
+	public boolean isReady() {
+		return upToDate;
+	}
+
+	/**
+	 * Returns the types whose simple name matches the given pattern, the same
+	 * way as a {@link SearchPattern#R_CAMELCASE_MATCH} type name search, or a
+	 * {@link SearchPattern#R_PATTERN_MATCH} search if the pattern contains
+	 * wildcards. Exact matches come first, then prefix matches, then camel
+	 * case matches.
+	 *
+	 * @param pattern
+	 *            the simple name pattern
+	 * @param maxResults
+	 *            the maximum number of matches, or 0 for no limit
+	 * @param scope
+	 *            the scope the types must belong to
+	 */
+	public List<Match> search(char[] pattern, int maxResults, IJavaSearchScope scope) {
+		if (pattern.length == 0) {
+			return Collections.emptyList();
+		}
+		int limit = maxResults > 0 ? maxResults : Integer.MAX_VALUE;
+		Map<String, List<IPackageFragmentRoot>> roots = binaryRoots;
+		Map<String, Block> blocks = getBlocks();
+		List<Match> exactMatches = new ArrayList<>();
+		List<Match> prefixMatches = new ArrayList<>();
+		List<Match> otherMatches = new ArrayList<>();
+		boolean wildcards = CharOperation.indexOf('*', pattern) >= 0 || CharOperation.indexOf('?', pattern) >= 0;
+		if (wildcards) {
+			boolean leadingWildcard = pattern[0] == '*' || pattern[0] == '?';
+			for (Map.Entry<String, Block> entry : blocks.entrySet()) {
+				Block block = entry.getValue();
+				int start = leadingWildcard ? 0 : block.lowerBound(pattern, 1);
+				int end = leadingWildcard ? block.size() : block.upperBound(pattern, 1);
+				for (int i = start; i < end; i++) {
+					if (CharOperation.match(pattern, block.getName(i), false)) {
+						addMatch(new Match(entry.getKey(), block, i, roots), scope, otherMatches);
+					}
+				}
+			}
+		} else {
+			// entries are sorted by lower case name, the prefix matches are contiguous
+			for (Map.Entry<String, Block> entry : blocks.entrySet()) {
+				Block block = entry.getValue();
+				int end = block.upperBound(pattern, pattern.length);
+				for (int i = block.lowerBound(pattern, pattern.length); i < end; i++) {
+					addMatch(new Match(entry.getKey(), block, i, roots), scope, block.getNameLength(i) == pattern.length ? exactMatches : prefixMatches);
+				}
+			}
+			if (exactMatches.size() + prefixMatches.size() < limit) {
+				// camel case matches start with the same character as the pattern
+				for (Map.Entry<String, Block> entry : blocks.entrySet()) {
+					Block block = entry.getValue();
+					int end = block.upperBound(pattern, 1);
+					for (int i = block.lowerBound(pattern, 1); i < end; i++) {
+						char[] name = block.getName(i);
+						if (!CharOperation.prefixEquals(pattern, name, false) && CharOperation.camelCaseMatch(pattern, name)) {
+							addMatch(new Match(entry.getKey(), block, i, roots), scope, otherMatches);
+						}
+					}
+				}
+			}
+		}
+		List<Match> result = new ArrayList<>(exactMatches.size() + prefixMatches.size() + otherMatches.size());
+		for (List<Match> matches : Arrays.asList(exactMatches, prefixMatches, otherMatches)) {
+			if (result.size() >= limit) {
+				break;
+			}
+			matches.sort(MATCH_COMPARATOR);
+			result.addAll(matches);
+		}
+		return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+	}
+
+	/**
+	 * @return the indexed blocks, with the blocks of the working copies with
+	 *         unsaved changes in place of the indexed ones
+	 */
+	private Map<String, Block> getBlocks() {
+		Map<String, Block> workingCopyBlocks = new HashMap<>();
+		for (ICompilationUnit workingCopy : JavaCore.getWorkingCopies(null)) {
+			try {
+				if (workingCopy.hasUnsavedChanges()) {
+					Block block = createBlock(workingCopy);
+					workingCopyBlocks.put(workingCopy.getPath().toString(), block == null ? Block.EMPTY : block);
+				}
+			} catch (JavaModelException e) {
+				JavaLanguageServerPlugin.logException("Error while reading the type names of " + workingCopy.getElementName(), e);
+			}
+		}
+		if (workingCopyBlocks.isEmpty()) {
+			return blocks;
+		}
+		Map<String, Block> result = new HashMap<>(blocks);
+		result.putAll(workingCopyBlocks);
+		return result;
+	}
+
+	private static void addMatch(Match match, IJavaSearchScope scope, List<Match> matches) {
+		if (scope.encloses(match.getPath())) {
+			matches.add(match);
+		}
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		synchronized (pending) {
+			int size = pending.size();
+			processDelta(event.getDelta());
+			if (pending.size() != size) {
+				schedule();
+			}
+		}
+	}
+
+	private void processDelta(IJavaElementDelta delta) {
+		IJavaElement element = delta.getElement();
+		int flags = delta.getFlags();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_PROJECT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (flags & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED)) != 0) {
+					pending.add(REFRESH_ALL);
+					return;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (flags & (IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH | IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED)) != 0) {
+					pending.add(REFRESH_ALL);
+					return;
+				}
+				if (((IPackageFragmentRoot) element).isArchive()) {
+					return;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED) {
+					pending.add(element.getParent());
+					return;
+				}
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+				// opening or closing a working copy doesn't change the type names
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (flags & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_PRIMARY_RESOURCE | IJavaElementDelta.F_CHILDREN)) != 0) {
+					pending.add(((ICompilationUnit) element).getPrimary());
+				}
+				return;
+			default:
+				break;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			processDelta(child);
+		}
+	}
+
+	private void schedule() {
+		upToDate = false;
+		indexJob.schedule(INDEX_DELAY);
+	}
+
+	private IStatus run(IProgressMonitor monitor) {
+		while (true) {
+			List<Object> work;
+			synchronized (pending) {
+				if (pending.isEmpty()) {
+					upToDate = true;
+					break;
+				}
+				work = pending.contains(REFRESH_ALL) ? Collections.singletonList(REFRESH_ALL) : new ArrayList<>(pending);
+				pending.clear();
+			}
+			try {
+				List<IPackageFragmentRoot> sourceRoots = new ArrayList<>();
+				for (Object element : work) {
+					if (element == REFRESH_ALL) {
+						refreshAll(monitor);
+					} else if (element instanceof IPackageFragmentRoot) {
+						sourceRoots.add((IPackageFragmentRoot) element);
+					} else if (element instanceof ICompilationUnit) {
+						indexUnit((ICompilationUnit) element);
+					}
+				}
+				indexRoots(sourceRoots, monitor);
+			} catch (JavaModelException | OperationCanceledException e) {
+				synchronized (pending) {
+					pending.add(REFRESH_ALL);
+				}
+				if (e instanceof OperationCanceledException || monitor.isCanceled()) {
+					return Status.CANCEL_STATUS;
+				}
+				JavaLanguageServerPlugin.logException("Error while indexing type names", e);
+				indexJob.schedule(INDEX_DELAY);
+				return Status.OK_STATUS;
+			}
+		}
+		if (binaryBlocksChanged) {
+			binaryBlocksChanged = false;
+			serialize();
+		}
+		return Status.OK_STATUS;
+	}
+
+	/**
+	 * Indexes the type names of the package fragment roots which are not indexed
+	 * yet, and discards the ones of the roots which are no longer on the
+	 * classpath.
+	 */
+	private void refreshAll(IProgressMonitor monitor) throws JavaModelException {
+		Map<String, List<IPackageFragmentRoot>> roots = new HashMap<>();
+		List<IPackageFragmentRoot> sourceRoots = new ArrayList<>();
+		for (IJavaProject project : ProjectUtils.getJavaProjects()) {
+			for (IPackageFragmentRoot root : project.getPackageFragmentRoots()) {
+				if (root.getKind() == IPackageFragmentRoot.K_BINARY) {
+					List<IPackageFragmentRoot> archiveRoots = roots.computeIfAbsent(root.getPath().toString(), k -> new ArrayList<>());
+					if (!archiveRoots.contains(root)) {
+						archiveRoots.add(root);
+					}
+				} else {
+					sourceRoots.add(root);
+				}
+			}
+		}
+		// the sources are always indexed again, as their changes are not tracked while the server is not running
+		blocks.values().removeIf(block -> !block.binary);
+		if (blocks.keySet().removeIf(key -> !roots.containsKey(getArchivePath(key)))) {
+			binaryBlocksChanged = true;
+		}
+		// all the blocks of an archive have its time stamp
+		Set<String> upToDateArchives = new HashSet<>();
+		for (Map.Entry<String, Block> entry : blocks.entrySet()) {
+			String archivePath = getArchivePath(entry.getKey());
+			if (entry.getValue().stamp == getStamp(roots.get(archivePath).get(0))) {
+				upToDateArchives.add(archivePath);
+			}
+		}
+		List<IPackageFragmentRoot> toIndex = new ArrayList<>(sourceRoots);
+		for (Map.Entry<String, List<IPackageFragmentRoot>> entry : roots.entrySet()) {
+			if (!upToDateArchives.contains(entry.getKey())) {
+				toIndex.addAll(entry.getValue());
+			}
+		}
+		binaryRoots = roots;
+		indexRoots(toIndex, monitor);
+	}
+
+	private void indexRoots(Collection<IPackageFragmentRoot> roots, IProgressMonitor monitor) throws JavaModelException {
+		if (roots.isEmpty()) {
+			return;
+		}
+		Map<String, Builder> builders = new HashMap<>();
+		for (IPackageFragmentRoot root : roots) {
+			if (root.getKind() == IPackageFragmentRoot.K_BINARY) {
+				String archivePath = root.getPath().toString();
+				blocks.keySet().removeIf(key -> archivePath.equals(getArchivePath(key)));
+				builders.put(archivePath, new Builder(true, getStamp(root)));
+				binaryBlocksChanged = true;
+			} else {
+				String prefix = root.getPath().toString() + IPath.SEPARATOR;
+				blocks.keySet().removeIf(key -> key.startsWith(prefix));
+			}
+		}
+		IJavaSearchScope scope = SearchEngine.createJavaSearchScope(roots.toArray(new IJavaElement[roots.size()]), false);
+		new SearchEngine().searchAllTypeNames(null, SearchPattern.R_PREFIX_MATCH, null, SearchPattern.R_PREFIX_MATCH, IJavaSearchConstants.TYPE, scope, new TypeNameRequestor() {
+			@Override
+			public void acceptType(int modifiers, char[] packageName, char[] simpleTypeName, char[][] enclosingTypeNames, String path) {
+				int separator = path.indexOf(IJavaSearchScope.JAR_FILE_ENTRY_SEPARATOR);
+				if (separator < 0) {
+					builders.computeIfAbsent(path, k -> new Builder(false, -1)).add(modifiers, packageName, simpleTypeName, enclosingTypeNames);
+					return;
+				}
+				String archivePath = path.substring(0, separator);
+				// the entries of a JRT image are prefixed by their module name
+				int folderEnd = Math.max(path.lastIndexOf('/'), separator);
+				int prefixEnd = folderEnd - (packageName.length == 0 ? 0 : packageName.length + 1);
+				String key = prefixEnd > separator + 1 ? archivePath + IJavaSearchScope.JAR_FILE_ENTRY_SEPARATOR + path.substring(separator + 1, prefixEnd) : archivePath;
+				Builder archiveBuilder = builders.get(archivePath);
+				builders.computeIfAbsent(key, k -> new Builder(true, archiveBuilder == null ? -1 : archiveBuilder.stamp)).add(modifiers, packageName, simpleTypeName, enclosingTypeNames);
+			}
+		}, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
+		for (Map.Entry<String, Builder> entry : builders.entrySet()) {
+			blocks.put(entry.getKey(), entry.getValue().build());
+		}
+	}
+
+	private void indexUnit(ICompilationUnit unit) throws JavaModelException {
+		String key = unit.getPath().toString();
+		Block block = createBlock(unit);
+		if (block == null) {
+			blocks.remove(key);
+		} else {
+			blocks.put(key, block);
+		}
+	}
+
+	/**
+	 * @return the type names of the compilation unit, or <code>null</code> if it
+	 *         doesn't exist or is not on the classpath
+	 */
+	private static Block createBlock(ICompilationUnit unit) throws JavaModelException {
+		if (!unit.exists() || !unit.getJavaProject().isOnClasspath(unit)) {
+			return null;
+		}
+		Builder builder = new Builder(false, 0);
+		char[] packageName = unit.getParent().getElementName().toCharArray();
+		for (IType type : unit.getAllTypes()) {
+			List<char[]> enclosingTypeNames = new ArrayList<>();
+			for (IType declaringType = type.getDeclaringType(); declaringType != null; declaringType = declaringType.getDeclaringType()) {
+				enclosingTypeNames.add(0, declaringType.getElementName().toCharArray());
+			}
+			builder.add(type.getFlags(), packageName, type.getElementName().toCharArray(), enclosingTypeNames.toArray(new char[enclosingTypeNames.size()][]));
+		}
+		return builder.build();
+	}
+
+	/**
+	 * @return the archive path of the key of a library block
+	 */
+	private static String getArchivePath(String key) {
+		int separator = key.indexOf(IJavaSearchScope.JAR_FILE_ENTRY_SEPARATOR);
+		return separator < 0 ? key : key.substring(0, separator);
+	}
+
+	/**
+	 * @return the module name of the key of a library block, or
+	 *         <code>null</code> if the library is not a JRT image
+	 */
+	private static String getModuleName(String key) {
+		int separator = key.indexOf(IJavaSearchScope.JAR_FILE_ENTRY_SEPARATOR);
+		return separator < 0 ? null : key.substring(separator + 1);
+	}
+
+	private static long getStamp(IPackageFragmentRoot root) {
+		IResource resource = root.getResource();
+		IPath location = resource == null ? root.getPath() : resource.getLocation();
+		File file = location == null ? null : location.toFile();
+		if (file == null || !file.isFile()) {
+			// folders are indexed again on startup
+			return -1;
+		}
+		return file.lastModified() * 31 + file.length();
+	}
+
+	private void serialize() {
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(stateFile)))) {
+			out.writeInt(FORMAT_VERSION);
+			for (Map.Entry<String, Block> entry : blocks.entrySet()) {
+				Block block = entry.getValue();
+				if (!block.binary || block.stamp == -1) {
+					continue;
+				}
+				out.writeBoolean(true);
+				out.writeUTF(entry.getKey());
+				out.writeLong(block.stamp);
+				out.writeInt(block.chars.length);
+				for (char c : block.chars) {
+					out.writeChar(c);
+				}
+				out.writeInt(block.entries.length);
+				for (int i : block.entries) {
+					out.writeInt(i);
+				}
+			}
+			out.writeBoolean(false);
+		} catch (IOException e) {
+			JavaLanguageServerPlugin.logException("Exception occured while serialization of type names", e);
+		}
+	}
+
+	private void deserialize() {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(stateFile)))) {
+			if (in.readInt() != FORMAT_VERSION) {
+				return;
+			}
+			while (in.readBoolean()) {
+				String key = in.readUTF();
+				long stamp = in.readLong();
+				char[] chars = new char[in.readInt()];
+				for (int i = 0; i < chars.length; i++) {
+					chars[i] = in.readChar();
+				}
+				int[] entries = new int[in.readInt()];
+				for (int i = 0; i < entries.length; i++) {
+					entries[i] = in.readInt();
+				}
+				blocks.put(key, new Block(true, stamp, chars, entries));
+			}
+		} catch (IOException e) {
+			JavaLanguageServerPlugin.logException("Exception occured while deserialization of type names", e);
+			blocks.clear();
+		}
+	}
+
+	/**
+	 * A type matching a query.
+	 */
+	public static final class Match {
+
+		private final String key;
+		private final Block block;
+		private final int index;
+		private final List<IPackageFragmentRoot> roots;
+
+		private Match(String key, Block block, int index, Map<String, List<IPackageFragmentRoot>> binaryRoots) {
+			this.key = key;
+			this.block = block;
+			this.index = index;
+			this.roots = block.binary ? binaryRoots.get(getArchivePath(key)) : null;
+		}
+
+		public String getSimpleTypeName() {
+			return new String(block.getName(index));
+		}
+
+		/**
+		 * @return the package name and the enclosing type names, dot-separated
+		 */
+		public String getTypeContainerName() {
+			int offset = index * ENTRY_SIZE;
+			return new String(block.chars, block.entries[offset + CONTAINER_START], block.entries[offset + CONTAINER_LENGTH]);
+		}
+
+		public int getModifiers() {
+			return block.entries[index * ENTRY_SIZE + MODIFIERS];
+		}
+
+		public boolean isBinary() {
+			return block.binary;
+		}
+
+		/**
+		 * @return the class file declaring the type, or <code>null</code> if the
+		 *         type is declared in a source file or the class file cannot be
+		 *         found
+		 */
+		public IClassFile getClassFile() {
+			if (!block.binary || roots == null) {
+				return null;
+			}
+			String packageName = getPackageName();
+			String classFileName = getBinaryName() + ".class";
+			String moduleName = getModuleName(key);
+			for (IPackageFragmentRoot root : roots) {
+				if (moduleName != null && !moduleName.equals(root.getElementName())) {
+					continue;
+				}
+				IClassFile classFile = root.getPackageFragment(packageName).getClassFile(classFileName);
+				if (roots.size() == 1 || classFile.exists()) {
+					return classFile;
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * @return the source type, or <code>null</code> if the type is declared in
+		 *         a library or the compilation unit cannot be found
+		 */
+		public IType getSourceType() {
+			if (block.binary) {
+				return null;
+			}
+			IFile file = ResourcesPlugin.getWorkspace().getRoot().getFile(new Path(key));
+			ICompilationUnit unit = JavaCore.createCompilationUnitFrom(file);
+			if (unit == null) {
+				return null;
+			}
+			IType type = null;
+			for (String name : getBinaryName().split("\\$")) {
+				type = type == null ? unit.getType(name) : type.getType(name);
+			}
+			return type;
+		}
+
+		/**
+		 * @return the path of the type, in the format of
+		 *         {@link IJavaSearchScope#encloses(String)}
+		 */
+		String getPath() {
+			if (!block.binary) {
+				return key;
+			}
+			String packagePath = getPackageName().replace('.', '/');
+			StringBuilder path = new StringBuilder(key);
+			path.append(getModuleName(key) == null ? IJavaSearchScope.JAR_FILE_ENTRY_SEPARATOR : "/");
+			if (!packagePath.isEmpty()) {
+				path.append(packagePath).append('/');
+			}
+			return path.append(getBinaryName()).append(".class").toString();
+		}
+
+		private String getPackageName() {
+			int offset = index * ENTRY_SIZE;
+			return new String(block.chars, block.entries[offset + CONTAINER_START], block.entries[offset + PACKAGE_LENGTH]);
+		}
+
+		/**
+		 * @return the enclosing type names and the simple name, separated by '$'
+		 */
+		private String getBinaryName() {
+			int offset = index * ENTRY_SIZE;
+			int packageLength = block.entries[offset + PACKAGE_LENGTH];
+			int containerLength = block.entries[offset + CONTAINER_LENGTH];
+			StringBuilder binaryName = new StringBuilder();
+			if (containerLength > packageLength) {
+				int enclosingStart = block.entries[offset + CONTAINER_START] + packageLength;
+				if (packageLength > 0) {
+					enclosingStart++;
+				}
+				binaryName.append(block.chars, enclosingStart, block.entries[offset + CONTAINER_START] + containerLength - enclosingStart);
+				binaryName.append('$');
+			}
+			binaryName.append(block.getName(index));
+			return binaryName.toString().replace('.', '$');
+		}
+	}
+
+	/**
+	 * Packed type names of an archive or a compilation unit, sorted by lower
+	 * case simple name.
+	 */
+	private static final class Block {
+
+		static final Block EMPTY = new Block(false, 0, new char[0], new int[0]);
+
+		final boolean binary;
+		// archive time stamp, -1 if unknown
+		final long stamp;
+		final char[] chars;
+		final int[] entries;
+
+		Block(boolean binary, long stamp, char[] chars, int[] entries) {
+			this.binary = binary;
+			this.stamp = stamp;
+			this.chars = chars;
+			this.entries = entries;
+		}
+
+		int size() {
+			return entries.length / ENTRY_SIZE;
+		}
+
+		int getNameLength(int index) {
+			return entries[index * ENTRY_SIZE + NAME_LENGTH];
+		}
+
+		char[] getName(int index) {
+			int offset = index * ENTRY_SIZE;
+			return CharOperation.subarray(chars, entries[offset + NAME_START], entries[offset + NAME_START] + entries[offset + NAME_LENGTH]);
+		}
+
+		/**
+		 * @return the index of the first entry whose name is not lower than the
+		 *         first <code>length</code> characters of the pattern, ignoring
+		 *         case
+		 */
+		int lowerBound(char[] pattern, int length) {
+			int low = 0;
+			int high = size();
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				if (compare(middle, pattern, length) < 0) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			return low;
+		}
+
+		/**
+		 * @return the index of the first entry whose name is greater than the
+		 *         first <code>length</code> characters of the pattern, ignoring
+		 *         case and considering the names starting with them as equal
+		 */
+		int upperBound(char[] pattern, int length) {
+			int low = 0;
+			int high = size();
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				if (compare(middle, pattern, length) <= 0) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			return low;
+		}
+
+		private int compare(int index, char[] pattern, int length) {
+			int offset = index * ENTRY_SIZE;
+			int nameStart = entries[offset + NAME_START];
+			int nameLength = entries[offset + NAME_LENGTH];
+			for (int i = 0; i < length; i++) {
+				if (i == nameLength) {
+					return -1;
+				}
+				int diff = Character.toLowerCase(chars[nameStart + i]) - Character.toLowerCase(pattern[i]);
+				if (diff != 0) {
+					return diff;
+				}
+			}
+			return 0;
+		}
+	}
+
+	private static final class Builder {
+
+		private final boolean binary;
+		private final long stamp;
+		private final StringBuilder chars = new StringBuilder();
+		private final Map<String, Integer> containers = new HashMap<>();
+		private final List<int[]> entries = new ArrayList<>();
+
+		Builder(boolean binary, long stamp) {
+			this.binary = binary;
+			this.stamp = stamp;
+		}
+
+		void add(int modifiers, char[] packageName, char[] simpleTypeName, char[][] enclosingTypeNames) {
+			StringBuilder container = new StringBuilder().append(packageName);
+			if (enclosingTypeNames != null) {
+				for (char[] enclosingTypeName : enclosingTypeNames) {
+					if (container.length() > 0) {
+						container.append('.');
+					}
+					container.append(enclosingTypeName);
+				}
+			}
+			String containerName = container.toString();
+			Integer containerStart = containers.get(containerName);
+			if (containerStart == null) {
+				containerStart = chars.length();
+				chars.append(containerName);
+				containers.put(containerName, containerStart);
+			}
+			int nameStart = chars.length();
+			chars.append(simpleTypeName);
+			entries.add(new int[] { nameStart, simpleTypeName.length, containerStart, containerName.length(), packageName.length, modifiers });
+		}
+
+		Block build() {
+			char[] packedChars = new char[chars.length()];
+			chars.getChars(0, packedChars.length, packedChars, 0);
+			entries.sort((e1, e2) -> {
+				int length = Math.min(e1[NAME_LENGTH], e2[NAME_LENGTH]);
+				for (int i = 0; i < length; i++) {
+					int diff = Character.toLowerCase(packedChars[e1[NAME_START] + i]) - Character.toLowerCase(packedChars[e2[NAME_START] + i]);
+					if (diff != 0) {
+						return diff;
+					}
+				}
+				return e1[NAME_LENGTH] - e2[NAME_LENGTH];
+			});
+			int[] packedEntries = new int[entries.size() * ENTRY_SIZE];
+			for (int i = 0; i < entries.size(); i++) {
+				System.arraycopy(entries.get(i), 0, packedEntries, i * ENTRY_SIZE, ENTRY_SIZE);
+			}
+			return new Block(binary, stamp, packedChars, packedEntries);
+		}
+	}
+}
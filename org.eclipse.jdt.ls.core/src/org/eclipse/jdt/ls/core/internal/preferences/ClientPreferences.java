@@ -165,6 +165,10 @@ public class ClientPreferences {
 		return Boolean.parseBoolean(extendedClientCapabilities.getOrDefault("classFileContentsSupport", "false").toString());
 	}
 
+	public boolean isResolveCodeActionSupported() {
+		return Boolean.parseBoolean(extendedClientCapabilities.getOrDefault("resolveCodeActionSupport", "false").toString());
+	}
+
 	public boolean isSupportsCompletionDocumentationMarkdown() {
 		//@formatter:off
 		return v3supported && capabilities.getTextDocument().getCompletion() != null
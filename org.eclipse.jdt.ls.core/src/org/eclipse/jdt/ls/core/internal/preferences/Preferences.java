@@ -64,6 +64,13 @@ public class Preferences {
 	 * Preference key to enable/disable maven importer.
 	 */
 	public static final String IMPORT_MAVEN_ENABLED = "java.import.maven.enabled";
+	/**
+	 * Preference key to enable/disable the staged import of the workspace: only
+	 * the root folders of the files which triggered the start of the server are
+	 * imported before the server is ready, the other ones are imported in the
+	 * background.
+	 */
+	public static final String IMPORT_STAGED_ENABLED = "java.import.staged.enabled";
 	/**
 	 * Preference key to enable/disable reference code lenses.
 	 */
@@ -203,6 +210,17 @@ public class Preferences {
 	public static final String JAVA_IMPORT_ORDER_KEY = "java.completion.importOrder";
 	public static final List<String> JAVA_IMPORT_ORDER_DEFAULT;
 
+	/**
+	 * Preference key for the maximum number of completion items to return, or 0
+	 * for no limit.
+	 */
+	public static final String JAVA_COMPLETION_MAX_RESULTS_KEY = "java.completion.maxResults";
+
+	/**
+	 * Preference key for the maximum number of workspace symbols returned, 0 for no limit.
+	 */
+	public static final String JAVA_SYMBOLS_MAX_RESULTS_KEY = "java.symbols.maxResults";
+
 	public static final String TEXT_DOCUMENT_FORMATTING = "textDocument/formatting";
 	public static final String TEXT_DOCUMENT_RANGE_FORMATTING = "textDocument/rangeFormatting";
 	public static final String TEXT_DOCUMENT_ON_TYPE_FORMATTING = "textDocument/onTypeFormatting";
@@ -249,6 +267,7 @@ public class Preferences {
 	private boolean referencesCodeLensEnabled;
 	private boolean importGradleEnabled;
 	private boolean importMavenEnabled;
+	private boolean importStagedEnabled;
 	private boolean implementationsCodeLensEnabled;
 	private boolean javaFormatEnabled;
 	private boolean javaFormatOnTypeEnabled;
@@ -276,6 +295,8 @@ public class Preferences {
 	private Collection<IPath> triggerFiles;
 
 	private int parallelBuildsCount;
+	private int symbolsMaxResults;
+	private int completionMaxResults;
 
 	static {
 		JAVA_IMPORT_EXCLUSIONS_DEFAULT = new ArrayList<>();
@@ -345,6 +366,7 @@ public class Preferences {
 		updateBuildConfigurationStatus = FeatureStatus.interactive;
 		importGradleEnabled = true;
 		importMavenEnabled = true;
+		importStagedEnabled = false;
 		referencesCodeLensEnabled = true;
 		implementationsCodeLensEnabled = false;
 		javaFormatEnabled = true;
@@ -366,6 +388,8 @@ public class Preferences {
 		formatterProfileName = null;
 		importOrder = JAVA_IMPORT_ORDER_DEFAULT;
 		parallelBuildsCount = PreferenceInitializer.PREF_MAX_CONCURRENT_BUILDS_DEFAULT;
+		symbolsMaxResults = 0;
+		completionMaxResults = 0;
 	}
 
 	/**
@@ -389,6 +413,8 @@ public class Preferences {
 		prefs.setImportGradleEnabled(importGradleEnabled);
 		boolean importMavenEnabled = getBoolean(configuration, IMPORT_MAVEN_ENABLED, true);
 		prefs.setImportMavenEnabled(importMavenEnabled);
+		boolean importStagedEnabled = getBoolean(configuration, IMPORT_STAGED_ENABLED, false);
+		prefs.setImportStagedEnabled(importStagedEnabled);
 		boolean referenceCodelensEnabled = getBoolean(configuration, REFERENCES_CODE_LENS_ENABLED_KEY, true);
 		prefs.setReferencesCodelensEnabled(referenceCodelensEnabled);
 		boolean implementationCodeLensEnabled = getBoolean(configuration, IMPLEMENTATIONS_CODE_LENS_ENABLED_KEY, false);
@@ -457,6 +483,12 @@ public class Preferences {
 		maxConcurrentBuilds = maxConcurrentBuilds >= 1 ? maxConcurrentBuilds : 1;
 		prefs.setMaxBuildCount(maxConcurrentBuilds);
 
+		int completionMaxResults = getInt(configuration, JAVA_COMPLETION_MAX_RESULTS_KEY, 0);
+		prefs.setCompletionMaxResults(Math.max(completionMaxResults, 0));
+
+		int symbolsMaxResults = getInt(configuration, JAVA_SYMBOLS_MAX_RESULTS_KEY, 0);
+		prefs.setSymbolsMaxResults(Math.max(symbolsMaxResults, 0));
+
 		return prefs;
 	}
 
@@ -522,6 +554,11 @@ public class Preferences {
 		return this;
 	}
 
+	public Preferences setImportStagedEnabled(boolean enabled) {
+		this.importStagedEnabled = enabled;
+		return this;
+	}
+
 	private Preferences setSignatureHelpEnabled(boolean enabled) {
 		this.signatureHelpEnabled = enabled;
 		return this;
@@ -594,6 +631,16 @@ public class Preferences {
 		return this;
 	}
 
+	public Preferences setCompletionMaxResults(int completionMaxResults) {
+		this.completionMaxResults = completionMaxResults;
+		return this;
+	}
+
+	public Preferences setSymbolsMaxResults(int symbolsMaxResults) {
+		this.symbolsMaxResults = symbolsMaxResults;
+		return this;
+	}
+
 	public Severity getIncompleteClasspathSeverity() {
 		return incompleteClasspathSeverity;
 	}
@@ -638,6 +685,10 @@ public class Preferences {
 		return importMavenEnabled;
 	}
 
+	public boolean isImportStagedEnabled() {
+		return importStagedEnabled;
+	}
+
 	public boolean isImplementationsCodeLensEnabled() {
 		return implementationsCodeLensEnabled;
 	}
@@ -699,6 +750,14 @@ public class Preferences {
 		return parallelBuildsCount;
 	}
 
+	public int getCompletionMaxResults() {
+		return completionMaxResults;
+	}
+
+	public int getSymbolsMaxResults() {
+		return symbolsMaxResults;
+	}
+
 	public Map<String, Object> asMap() {
 		if (configuration == null) {
 			return null;
@@ -28,6 +28,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -144,6 +145,24 @@ public class QuickAssistProcessor {
 	}
 
 	public List<CUCorrectionProposal> getAssists(IInvocationContext context, IProblemLocationCore[] locations) throws CoreException {
+		return getAssists(context, locations, kind -> true);
+	}
+
+	/**
+	 * Returns the assists of the given selection, only computing the ones of the
+	 * requested kinds.
+	 *
+	 * @param kindFilter
+	 *            tests whether the code actions of a kind are requested
+	 */
+	public List<CUCorrectionProposal> getAssists(IInvocationContext context, IProblemLocationCore[] locations, Predicate<String> kindFilter) throws CoreException {
+		boolean quickFixes = kindFilter.test(CodeActionKind.QuickFix);
+		boolean extractMethod = kindFilter.test(JavaCodeActionKind.REFACTOR_EXTRACT_METHOD);
+		boolean extractVariable = kindFilter.test(JavaCodeActionKind.REFACTOR_EXTRACT_VARIABLE) || kindFilter.test(JavaCodeActionKind.REFACTOR_EXTRACT_CONSTANT);
+		if (!quickFixes && !extractMethod && !extractVariable) {
+			// don't even compute the AST
+			return Collections.emptyList();
+		}
 		ASTNode coveringNode = context.getCoveringNode();
 		if (coveringNode != null) {
 			ArrayList<ASTNode> coveredNodes = getFullyCoveredNodes(context, coveringNode);
@@ -174,12 +193,18 @@ public class QuickAssistProcessor {
 				//				getInvertEqualsProposal(context, coveringNode, resultingCollections);
 				//				getArrayInitializerToArrayCreation(context, coveringNode, resultingCollections);
 				//				getCreateInSuperClassProposals(context, coveringNode, resultingCollections);
-				getExtractVariableProposal(context, problemsAtLocation, resultingCollections);
-				getExtractMethodProposal(context, coveringNode, problemsAtLocation, resultingCollections);
+				if (extractVariable) {
+					getExtractVariableProposal(context, problemsAtLocation, resultingCollections);
+				}
+				if (extractMethod) {
+					getExtractMethodProposal(context, coveringNode, problemsAtLocation, resultingCollections);
+				}
 				//				getInlineLocalProposal(context, coveringNode, resultingCollections);
 				//				getConvertLocalToFieldProposal(context, coveringNode, resultingCollections);
 				//				getConvertAnonymousToNestedProposal(context, coveringNode, resultingCollections);
-				getConvertAnonymousClassCreationsToLambdaProposals(context, coveringNode, resultingCollections);
+				if (quickFixes) {
+					getConvertAnonymousClassCreationsToLambdaProposals(context, coveringNode, resultingCollections);
+				}
 				//				getConvertLambdaToAnonymousClassCreationsProposals(context, coveringNode, resultingCollections);
 				//				getChangeLambdaBodyToBlockProposal(context, coveringNode, resultingCollections);
 				//				getChangeLambdaBodyToExpressionProposal(context, coveringNode, resultingCollections);
@@ -195,8 +220,10 @@ public class QuickAssistProcessor {
 				//				getMakeVariableDeclarationFinalProposals(context, resultingCollections);
 				//				getConvertStringConcatenationProposals(context, resultingCollections);
 				//				getMissingCaseStatementProposals(context, coveringNode, resultingCollections);
-				getConvertVarTypeToResolvedTypeProposal(context, coveringNode, resultingCollections);
-				getConvertResolvedTypeToVarTypeProposal(context, coveringNode, resultingCollections);
+				if (quickFixes) {
+					getConvertVarTypeToResolvedTypeProposal(context, coveringNode, resultingCollections);
+					getConvertResolvedTypeToVarTypeProposal(context, coveringNode, resultingCollections);
+				}
 			}
 			return resultingCollections;
 		}
@@ -13,6 +13,7 @@ package org.eclipse.jdt.ls.core.internal.text.correction;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Predicate;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jdt.core.ICompilationUnit;
@@ -38,10 +39,24 @@ import org.eclipse.text.edits.TextEdit;
 public class SourceAssistProcessor {
 
 	public List<CUCorrectionProposal> getAssists(IInvocationContext context, IProblemLocationCore[] locations) {
+		return getAssists(context, locations, kind -> true);
+	}
+
+	/**
+	 * Returns the source actions of the requested kinds.
+	 *
+	 * @param kindFilter
+	 *            tests whether the code actions of a kind are requested
+	 */
+	public List<CUCorrectionProposal> getAssists(IInvocationContext context, IProblemLocationCore[] locations, Predicate<String> kindFilter) {
 		ArrayList<CUCorrectionProposal> resultingCollections = new ArrayList<>();
 
-		getOrganizeImportsProposal(context, resultingCollections);
-		getGetterSetterProposal(context, resultingCollections);
+		if (kindFilter.test(CodeActionKind.SourceOrganizeImports)) {
+			getOrganizeImportsProposal(context, resultingCollections);
+		}
+		if (kindFilter.test(JavaCodeActionKind.SOURCE_GENERATE_ACCESSORS)) {
+			getGetterSetterProposal(context, resultingCollections);
+		}
 
 		return resultingCollections;
 	}
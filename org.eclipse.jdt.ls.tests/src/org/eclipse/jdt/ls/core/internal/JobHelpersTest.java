@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.junit.Test;
+
+public class JobHelpersTest {
+
+	private static final String FAMILY = "JobHelpersTest";
+
+	@Test
+	public void testWaitForRunningJob() throws Exception {
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Job job = new TestJob(() -> {
+			running.countDown();
+			release.await();
+		});
+		job.schedule();
+		assertTrue(running.await(10, TimeUnit.SECONDS));
+		new Thread(() -> {
+			try {
+				Thread.sleep(200);
+			} catch (InterruptedException e) {
+				// released below anyway
+			}
+			release.countDown();
+		}).start();
+		JobHelpers.waitForJobs(j -> j.belongsTo(FAMILY), 10000);
+		assertEquals(Job.NONE, job.getState());
+	}
+
+	@Test
+	public void testWakeUpSleepingJob() throws Exception {
+		Job job = new TestJob(() -> {
+		});
+		// would sleep for an hour
+		job.schedule(TimeUnit.HOURS.toMillis(1));
+		long start = System.currentTimeMillis();
+		JobHelpers.waitForJobs(j -> j.belongsTo(FAMILY), 10000);
+		assertEquals(Job.NONE, job.getState());
+		assertTrue(System.currentTimeMillis() - start < 10000);
+	}
+
+	@Test
+	public void testWaitStatistics() throws Exception {
+		long count = getInitializeWaitCount();
+		JobHelpers.waitForInitializeJobs();
+		assertEquals(count + 1, getInitializeWaitCount());
+	}
+
+	private static long getInitializeWaitCount() {
+		JobHelpers.WaitStatistics statistics = JobHelpers.getWaitStatistics().get("initialize jobs");
+		return statistics == null ? 0 : statistics.getCount();
+	}
+
+	private interface Body {
+		void run() throws InterruptedException;
+	}
+
+	private static final class TestJob extends Job {
+
+		private final Body body;
+
+		private TestJob(Body body) {
+			super("Test job");
+			this.body = body;
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return FAMILY.equals(family);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			try {
+				body.run();
+			} catch (InterruptedException e) {
+				return Status.CANCEL_STATUS;
+			}
+			return Status.OK_STATUS;
+		}
+	}
+}
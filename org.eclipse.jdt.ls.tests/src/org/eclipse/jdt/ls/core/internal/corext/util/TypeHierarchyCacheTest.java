@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.corext.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
+import org.eclipse.jdt.ls.core.internal.managers.AbstractProjectsManagerBasedTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TypeHierarchyCacheTest extends AbstractProjectsManagerBasedTest {
+
+	private IJavaProject javaProject;
+
+	@Before
+	public void setup() throws Exception {
+		importProjects("eclipse/hello");
+		javaProject = JavaCore.create(WorkspaceHelper.getProject("hello"));
+		TypeHierarchyCache.clear();
+	}
+
+	@After
+	public void tearDown() {
+		TypeHierarchyCache.clear();
+	}
+
+	@Test
+	public void testCachedHierarchy() throws Exception {
+		IType type = javaProject.findType("org.sample.IFoo");
+		long hits = TypeHierarchyCache.getHitCount();
+		long misses = TypeHierarchyCache.getMissCount();
+		ITypeHierarchy hierarchy = TypeHierarchyCache.getTypeHierarchy(type, monitor);
+		assertSame(hierarchy, TypeHierarchyCache.getTypeHierarchy(type, monitor));
+		assertSame(hierarchy, TypeHierarchyCache.getSupertypeHierarchy(type, monitor));
+		assertEquals(misses + 1, TypeHierarchyCache.getMissCount());
+		assertEquals(hits + 2, TypeHierarchyCache.getHitCount());
+	}
+
+	@Test
+	public void testChangedHierarchy() throws Exception {
+		IType type = javaProject.findType("org.sample.IFoo");
+		ITypeHierarchy hierarchy = TypeHierarchyCache.getTypeHierarchy(type, monitor);
+		int subtypes = hierarchy.getAllSubtypes(type).length;
+		IPackageFragment pack = type.getPackageFragment();
+		//@formatter:off
+		pack.createCompilationUnit("Foo4.java",
+				"package org.sample;\n" +
+				"public class Foo4 implements IFoo {\n" +
+				"}\n", false, monitor);
+		//@formatter:on
+		ITypeHierarchy newHierarchy = TypeHierarchyCache.getTypeHierarchy(type, monitor);
+		assertNotSame(hierarchy, newHierarchy);
+		assertEquals(subtypes + 1, newHierarchy.getAllSubtypes(type).length);
+	}
+}
@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.jdt.ls.core.internal.handlers;
 
+import static org.mockito.Mockito.when;
+
 import java.net.URI;
 import java.util.Arrays;
 import java.util.Collections;
@@ -88,6 +90,63 @@ public class CodeActionHandlerTest extends AbstractCompilationUnitBasedTest {
 		Assert.assertEquals(CodeActionHandler.COMMAND_ID_APPLY_EDIT, c.getCommand());
 	}
 
+	@Test
+	public void testCodeAction_onlyKind() throws Exception {
+		ICompilationUnit unit = getWorkingCopy(
+				"src/java/Foo.java",
+				"import java.sql.*; \n" +
+						"public class Foo {\n"+
+						"	void foo() {\n"+
+						"	}\n"+
+				"}\n");
+
+		CodeActionParams params = new CodeActionParams();
+		params.setTextDocument(new TextDocumentIdentifier(JDTUtils.toURI(unit)));
+		final Range range = getRange(unit, "java.sql");
+		params.setRange(range);
+		CodeActionContext context = new CodeActionContext(Arrays.asList(getDiagnostic(Integer.toString(IProblem.UnusedImport), range)));
+		context.setOnly(Arrays.asList(CodeActionKind.SourceOrganizeImports));
+		params.setContext(context);
+		List<Either<Command, CodeAction>> codeActions = getCodeActions(params);
+		Assert.assertNotNull(codeActions);
+		Assert.assertEquals(1, codeActions.size());
+		Assert.assertEquals(CodeActionKind.SourceOrganizeImports, codeActions.get(0).getRight().getKind());
+		Command c = codeActions.get(0).getRight().getCommand();
+		Assert.assertEquals(CodeActionHandler.COMMAND_ID_APPLY_EDIT, c.getCommand());
+	}
+
+	@Test
+	public void testCodeAction_resolveLazily() throws Exception {
+		ICompilationUnit unit = getWorkingCopy(
+				"src/java/Foo.java",
+				"import java.sql.*; \n" +
+						"public class Foo {\n"+
+						"	void foo() {\n"+
+						"	}\n"+
+				"}\n");
+
+		CodeActionParams params = new CodeActionParams();
+		params.setTextDocument(new TextDocumentIdentifier(JDTUtils.toURI(unit)));
+		final Range range = getRange(unit, "java.sql");
+		params.setRange(range);
+		params.setContext(new CodeActionContext(Arrays.asList(getDiagnostic(Integer.toString(IProblem.UnusedImport), range))));
+		List<Either<Command, CodeAction>> resolvedCodeActions = getCodeActions(params);
+
+		when(preferenceManager.getClientPreferences().isResolveCodeActionSupported()).thenReturn(true);
+		List<Either<Command, CodeAction>> codeActions = getCodeActions(params);
+		Assert.assertEquals(resolvedCodeActions.size(), codeActions.size());
+		for (int i = 0; i < codeActions.size(); i++) {
+			CodeAction codeAction = codeActions.get(i).getRight();
+			Assert.assertEquals(resolvedCodeActions.get(i).getRight().getTitle(), codeAction.getTitle());
+			Assert.assertEquals(CodeActionHandler.COMMAND_ID_RESOLVE, codeAction.getCommand().getCommand());
+
+			codeAction = server.resolveCodeAction(codeAction).join();
+			Command c = codeAction.getCommand();
+			Assert.assertEquals(CodeActionHandler.COMMAND_ID_APPLY_EDIT, c.getCommand());
+			Assert.assertEquals(resolvedCodeActions.get(i).getRight().getCommand().getArguments(), c.getArguments());
+		}
+	}
+
 	@Test
 	public void testCodeAction_removeUnterminatedString() throws Exception{
 		ICompilationUnit unit = getWorkingCopy(
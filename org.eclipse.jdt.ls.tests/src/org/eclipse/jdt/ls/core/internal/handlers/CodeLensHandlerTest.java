@@ -26,6 +26,9 @@ import java.util.Collections;
 import java.util.List;
 
 import org.eclipse.core.resources.IProject;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.ls.core.internal.ClassFileUtil;
 import org.eclipse.jdt.ls.core.internal.ResourceUtils;
 import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
@@ -334,6 +337,38 @@ public class CodeLensHandlerTest extends AbstractProjectsManagerBasedTest {
 		assertRange(5, 25, 28, loc.getRange());
 	}
 
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testResolveCodeLensesOfDocument() throws Exception {
+		CodeLensReferencesCache.clear();
+		CodeLens result = handler.resolve(getParams(createCodeLensRequest("src/java/Foo.java", 5, 13, 16)), monitor);
+		assertEquals("1 reference", result.getCommand().getTitle());
+
+		//the references of the other lenses of the document have been found at the same time
+		ICompilationUnit unit = JavaCore.createCompilationUnitFrom(project.getFile("src/java/Foo.java"));
+		IMethod foo = unit.getType("Foo").getMethod("foo", new String[0]);
+		List<Location> cached = CodeLensReferencesCache.get(foo);
+		assertNotNull(cached);
+		assertEquals(1, cached.size());
+
+		result = handler.resolve(getParams(createCodeLensRequest("src/java/Foo.java", 14, 13, 16)), monitor);
+		assertEquals("1 reference", result.getCommand().getTitle());
+		List<Location> locations = (List<Location>) result.getCommand().getArguments().get(2);
+		assertSame(cached, locations);
+		assertTrue(locations.get(0).getUri().endsWith("src/java/Bar.java"));
+		assertEquals(23, locations.get(0).getRange().getStart().getLine());
+
+		result = handler.resolve(getParams(createCodeLensRequest("src/java/Foo.java", 7, 20, 24)), monitor);
+		assertEquals("0 references", result.getCommand().getTitle());
+
+		//any change discards the cached references
+		ResourceUtils.setContent(project.getFile("src/java/Bar.java"), "package java;\npublic class Bar extends Foo {\n}\n");
+		waitForBackgroundJobs();
+		assertNull(CodeLensReferencesCache.get(foo));
+		result = handler.resolve(getParams(createCodeLensRequest("src/java/Foo.java", 14, 13, 16)), monitor);
+		assertEquals("0 references", result.getCommand().getTitle());
+	}
+
 	@Test
 	public void testResolveCodeLenseBoundaries() {
 		CodeLens result = handler.resolve(null, monitor);
@@ -17,6 +17,7 @@ import static org.eclipse.jdt.ls.core.internal.Lsp4jAssertions.assertTextEdit;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
@@ -35,6 +36,7 @@ import java.util.stream.Collectors;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.CompletionProposal;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
@@ -249,6 +251,126 @@ public class CompletionHandlerTest extends AbstractCompilationUnitBasedTest {
 	}
 
 
+	@Test
+	public void testCompletion_maxResults() throws Exception {
+		ICompilationUnit unit = getWorkingCopy(
+				"src/java/Foo.java",
+				"public class Foo {\n"+
+						"	void foo() {\n"+
+						"		Objec\n"+
+						"	}\n"+
+				"}\n");
+		int[] loc = findCompletionLocation(unit, "Objec");
+		int oldMaxResults = JavaLanguageServerPlugin.getPreferencesManager().getPreferences().getCompletionMaxResults();
+		try {
+			CompletionList list = server.completion(JsonMessageHelper.getParams(createCompletionRequest(unit, loc[0], loc[1]))).join().getRight();
+			assertFalse(list.isIncomplete());
+			assertTrue("Not enough proposals were found", list.getItems().size() > 1);
+			String mostRelevant = list.getItems().stream().map(CompletionItem::getSortText).min(String::compareTo).get();
+
+			JavaLanguageServerPlugin.getPreferencesManager().getPreferences().setCompletionMaxResults(1);
+			list = server.completion(JsonMessageHelper.getParams(createCompletionRequest(unit, loc[0], loc[1]))).join().getRight();
+			assertTrue(list.isIncomplete());
+			assertEquals(1, list.getItems().size());
+			assertEquals(mostRelevant, list.getItems().get(0).getSortText());
+		} finally {
+			JavaLanguageServerPlugin.getPreferencesManager().getPreferences().setCompletionMaxResults(oldMaxResults);
+		}
+	}
+
+	@Test
+	public void testCompletion_filterPreviousResponse() throws Exception {
+		ICompilationUnit unit = getWorkingCopy(
+				"src/java/Foo.java",
+				"public class Foo {\n"+
+						"	void foo() {\n"+
+						"		Ob\n"+
+						"	}\n"+
+				"}\n");
+		int[] loc = findCompletionLocation(unit, "Ob");
+		CompletionList list = server.completion(JsonMessageHelper.getParams(createCompletionRequest(unit, loc[0], loc[1]))).join().getRight();
+		assertFalse("No proposals were found", list.getItems().isEmpty());
+		CompletionResponse previous = CompletionResponses.getLatest();
+		assertEquals("Ob", previous.getPrefix());
+
+		unit.getBuffer().replace(unit.getSource().indexOf("Ob") + 2, 0, "jec");
+		loc = findCompletionLocation(unit, "Objec");
+		list = server.completion(JsonMessageHelper.getParams(createCompletionRequest(unit, loc[0], loc[1]))).join().getRight();
+		List<String> filtered = list.getItems().stream().map(CompletionItem::getLabel).sorted().collect(Collectors.toList());
+		assertTrue(filtered.contains("Object - java.lang"));
+		assertTrue(filtered.stream().allMatch(label -> label.toLowerCase().contains("objec")));
+		Range range = list.getItems().get(0).getTextEdit().getRange();
+		assertEquals(loc[1], range.getEnd().getCharacter());
+
+		// the engine computes the same proposals from scratch
+		CompletionResponses.clear();
+		list = server.completion(JsonMessageHelper.getParams(createCompletionRequest(unit, loc[0], loc[1]))).join().getRight();
+		assertEquals(list.getItems().stream().map(CompletionItem::getLabel).sorted().collect(Collectors.toList()), filtered);
+	}
+
+	@Test
+	public void testCompletion_filterPreviousResponseRelevance() throws Exception {
+		ICompilationUnit unit = getWorkingCopy(
+				"src/java/Foo.java",
+				"public class Foo {\n"+
+						"	void foo() {\n"+
+						"		Ob\n"+
+						"	}\n"+
+				"}\n");
+		int[] loc = findCompletionLocation(unit, "Ob");
+		server.completion(JsonMessageHelper.getParams(createCompletionRequest(unit, loc[0], loc[1]))).join().getRight();
+		CompletionResponse previous = CompletionResponses.getLatest();
+		List<Integer> replaceEnds = previous.getProposals().stream().map(CompletionProposal::getReplaceEnd).collect(Collectors.toList());
+
+		// the exact name gets the same relevance boost as from the engine
+		unit.getBuffer().replace(unit.getSource().indexOf("Ob") + 2, 0, "ject");
+		loc = findCompletionLocation(unit, "Object");
+		CompletionList list = server.completion(JsonMessageHelper.getParams(createCompletionRequest(unit, loc[0], loc[1]))).join().getRight();
+		List<String> filtered = list.getItems().stream().map(item -> item.getSortText() + " " + item.getLabel()).sorted().collect(Collectors.toList());
+		// the proposals of the previous response are left unchanged
+		assertEquals(replaceEnds, previous.getProposals().stream().map(CompletionProposal::getReplaceEnd).collect(Collectors.toList()));
+
+		CompletionResponses.clear();
+		list = server.completion(JsonMessageHelper.getParams(createCompletionRequest(unit, loc[0], loc[1]))).join().getRight();
+		assertEquals(list.getItems().stream().map(item -> item.getSortText() + " " + item.getLabel()).sorted().collect(Collectors.toList()), filtered);
+	}
+
+	@Test
+	public void testCompletion_filterPreviousResponseDocumentChanged() throws Exception {
+		ICompilationUnit unit = getWorkingCopy(
+				"src/java/Foo.java",
+				"public class Foo {\n"+
+						"	int a;\n"+
+						"	void foo() {\n"+
+						"		Ob\n"+
+						"	}\n"+
+				"}\n");
+		int[] loc = findCompletionLocation(unit, "Ob");
+		server.completion(JsonMessageHelper.getParams(createCompletionRequest(unit, loc[0], loc[1]))).join().getRight();
+		CompletionResponse previous = CompletionResponses.getLatest();
+		assertEquals("Ob", previous.getPrefix());
+
+		// an edit of the same length before the prefix
+		unit.getBuffer().replace(unit.getSource().indexOf("int a") + 4, 1, "b");
+		unit.getBuffer().replace(unit.getSource().indexOf("Ob") + 2, 0, "j");
+		loc = findCompletionLocation(unit, "Obj");
+		server.completion(JsonMessageHelper.getParams(createCompletionRequest(unit, loc[0], loc[1]))).join().getRight();
+		assertNotSame(previous.getContext(), CompletionResponses.getLatest().getContext());
+	}
+
+	@Test
+	public void testCompletion_filterPreviousResponseSnippets() throws Exception {
+		ICompilationUnit unit = getWorkingCopy("src/org/sample/Test.java", "c");
+		int[] loc = findCompletionLocation(unit, "c");
+		CompletionList list = server.completion(JsonMessageHelper.getParams(createCompletionRequest(unit, loc[0], loc[1]))).join().getRight();
+		assertTrue(list.getItems().stream().anyMatch(item -> "class".equals(item.getLabel())));
+
+		unit.getBuffer().append("x");
+		loc = findCompletionLocation(unit, "cx");
+		list = server.completion(JsonMessageHelper.getParams(createCompletionRequest(unit, loc[0], loc[1]))).join().getRight();
+		assertFalse(list.getItems().stream().anyMatch(item -> "class".equals(item.getLabel())));
+	}
+
 	@Test
 	public void testCompletion_constructor() throws Exception{
 		ICompilationUnit unit = getWorkingCopy(
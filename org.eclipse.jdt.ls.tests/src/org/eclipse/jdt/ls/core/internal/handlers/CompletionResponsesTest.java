@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.jdt.core.CompletionProposal;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CompletionResponsesTest {
+
+	private static final String FOO_URI = "file:///src/Foo.java";
+	private static final String BAR_URI = "file:///src/Bar.java";
+
+	@Before
+	@After
+	public void clear() {
+		CompletionResponses.clear();
+	}
+
+	@Test
+	public void testEvictLeastRecentlyUsed() {
+		List<CompletionResponse> responses = new ArrayList<>();
+		for (int i = 0; i < CompletionResponses.MAX_RESPONSES; i++) {
+			responses.add(store(FOO_URI, 1));
+		}
+		// the first response becomes the most recently used one
+		assertSame(responses.get(0), CompletionResponses.get(responses.get(0).getId()));
+		CompletionResponse latest = store(FOO_URI, 1);
+
+		assertEquals(CompletionResponses.MAX_RESPONSES, CompletionResponses.size());
+		assertSame(responses.get(0), CompletionResponses.get(responses.get(0).getId()));
+		assertNull(CompletionResponses.get(responses.get(1).getId()));
+		assertSame(latest, CompletionResponses.get(latest.getId()));
+	}
+
+	@Test
+	public void testEvictBySize() {
+		CompletionResponse small = store(FOO_URI, 1);
+		assertTrue(CompletionResponses.getRetainedSize() > 0);
+		int proposalCount = (int) (CompletionResponses.MAX_RETAINED_SIZE / small.getEstimatedSize()) + 1;
+		CompletionResponse large = store(FOO_URI, proposalCount);
+
+		assertEquals(1, CompletionResponses.size());
+		assertNull(CompletionResponses.get(small.getId()));
+		assertSame(large, CompletionResponses.get(large.getId()));
+		assertEquals(large.getEstimatedSize(), CompletionResponses.getRetainedSize());
+
+		CompletionResponses.delete(large);
+		assertEquals(0, CompletionResponses.size());
+		assertEquals(0, CompletionResponses.getRetainedSize());
+	}
+
+	@Test
+	public void testInvalidate() {
+		CompletionResponse foo1 = store(FOO_URI, 1);
+		CompletionResponse foo2 = store(FOO_URI, 1);
+		CompletionResponse bar = store(BAR_URI, 1);
+
+		CompletionResponses.invalidate(FOO_URI);
+		assertNull(CompletionResponses.get(foo1.getId()));
+		assertSame(foo2, CompletionResponses.get(foo2.getId()));
+		assertSame(bar, CompletionResponses.get(bar.getId()));
+
+		CompletionResponses.invalidateAll(FOO_URI);
+		assertNull(CompletionResponses.get(foo2.getId()));
+		assertSame(bar, CompletionResponses.get(bar.getId()));
+		assertSame(bar, CompletionResponses.getLatest());
+
+		CompletionResponses.invalidateAll(BAR_URI);
+		assertEquals(0, CompletionResponses.size());
+		assertNull(CompletionResponses.getLatest());
+	}
+
+	@Test
+	public void testSignatureHelpResponseNotLatest() {
+		CompletionResponse completion = store(FOO_URI, 1);
+		CompletionResponse signatureHelp = new CompletionResponse();
+		signatureHelp.setUri(FOO_URI);
+		signatureHelp.setProposals(Collections.emptyList());
+		CompletionResponses.store(signatureHelp);
+		assertSame(signatureHelp, CompletionResponses.get(signatureHelp.getId()));
+		assertSame(completion, CompletionResponses.getLatest());
+	}
+
+	@Test
+	public void testHitAndMissCounts() {
+		CompletionResponse response = store(FOO_URI, 1);
+		long hits = CompletionResponses.getHitCount();
+		long misses = CompletionResponses.getMissCount();
+
+		CompletionResponses.get(response.getId());
+		CompletionResponses.invalidateAll(FOO_URI);
+		CompletionResponses.get(response.getId());
+
+		assertEquals(hits + 1, CompletionResponses.getHitCount());
+		assertEquals(misses + 1, CompletionResponses.getMissCount());
+	}
+
+	private static CompletionResponse store(String uri, int proposalCount) {
+		CompletionResponse response = new CompletionResponse();
+		response.setUri(uri);
+		List<CompletionProposal> proposals = new ArrayList<>(proposalCount);
+		for (int i = 0; i < proposalCount; i++) {
+			CompletionProposal proposal = CompletionProposal.create(CompletionProposal.LOCAL_VARIABLE_REF, 0);
+			proposal.setCompletion("foo".toCharArray());
+			proposal.setName("foo".toCharArray());
+			proposals.add(proposal);
+		}
+		response.setProposals(Collections.unmodifiableList(proposals));
+		CompletionResponses.store(response, true);
+		return response;
+	}
+}
@@ -12,10 +12,22 @@ package org.eclipse.jdt.ls.core.internal.handlers;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
@@ -32,9 +44,12 @@ import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.manipulation.CoreASTProvider;
 import org.eclipse.jdt.ls.core.internal.DocumentAdapter;
 import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
+import org.eclipse.jdt.ls.core.internal.JavaClientConnection.JavaLanguageClient;
 import org.eclipse.jdt.ls.core.internal.managers.AbstractProjectsManagerBasedTest;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticSeverity;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
 import org.eclipse.lsp4j.Range;
 import org.junit.Before;
 import org.junit.Test;
@@ -50,6 +65,104 @@ public class DiagnosticHandlerTest extends AbstractProjectsManagerBasedTest {
 		//		sharedASTProvider.clearASTCreationCount();
 		javaClient = new JavaClientConnection(client);
 	}
+
+	@Test
+	public void testUnchangedDiagnosticsNotPublished() throws Exception {
+		String uri = "file:///src/E.java";
+		Diagnostic diagnostic = new Diagnostic(new Range(new Position(1, 0), new Position(1, 4)), "Problem");
+		javaClient.publishDiagnostics(new PublishDiagnosticsParams(uri, Arrays.asList(diagnostic)));
+		javaClient.publishDiagnostics(new PublishDiagnosticsParams(uri, Arrays.asList(diagnostic)));
+		List<Object> published = clientRequests.get("publishDiagnostics");
+		assertEquals(1, published.size());
+
+		// clearing the diagnostics is always published
+		javaClient.publishDiagnostics(new PublishDiagnosticsParams(uri, Collections.emptyList()));
+		javaClient.publishDiagnostics(new PublishDiagnosticsParams(uri, Collections.emptyList()));
+		assertEquals(3, published.size());
+
+		javaClient.publishDiagnostics(new PublishDiagnosticsParams(uri, Arrays.asList(diagnostic)));
+		assertEquals(4, published.size());
+	}
+
+	@Test
+	public void testCoalescedDiagnostics() throws Exception {
+		String uri = "file:///src/E.java";
+		String otherUri = "file:///src/F.java";
+		Diagnostic diagnostic = new Diagnostic(new Range(new Position(1, 0), new Position(1, 4)), "Problem");
+		Diagnostic otherDiagnostic = new Diagnostic(new Range(new Position(2, 0), new Position(2, 4)), "Other problem");
+		javaClient.setDiagnosticsDelay(60000);
+		javaClient.publishDiagnostics(new PublishDiagnosticsParams(uri, Arrays.asList(diagnostic)));
+		javaClient.publishDiagnostics(new PublishDiagnosticsParams(otherUri, Arrays.asList(diagnostic)));
+		javaClient.publishDiagnostics(new PublishDiagnosticsParams(uri, Arrays.asList(otherDiagnostic)));
+		assertNull(clientRequests.get("publishDiagnostics"));
+
+		// the diagnostics of an open document are sent right away, and replace the pending ones
+		javaClient.publishDiagnostics(new PublishDiagnosticsParams(otherUri, Arrays.asList(otherDiagnostic)), true);
+		List<Object> published = clientRequests.get("publishDiagnostics");
+		assertEquals(1, published.size());
+
+		javaClient.flushDiagnostics();
+		assertEquals(2, published.size());
+		PublishDiagnosticsParams params = (PublishDiagnosticsParams) published.get(1);
+		assertEquals(uri, params.getUri());
+		assertEquals(Arrays.asList(otherDiagnostic), params.getDiagnostics());
+		assertEquals(2, javaClient.getSentDiagnosticsCount());
+		assertEquals(2, javaClient.getSuppressedDiagnosticsCount());
+
+		javaClient.publishDiagnostics(new PublishDiagnosticsParams(uri, Arrays.asList(otherDiagnostic)));
+		javaClient.flushDiagnostics();
+		assertEquals(2, published.size());
+		assertEquals(3, javaClient.getSuppressedDiagnosticsCount());
+	}
+
+	@Test
+	public void testFlushedDiagnosticsNotSentAfterNewerOnes() throws Exception {
+		String uri = "file:///src/E.java";
+		String otherUri = "file:///src/F.java";
+		Diagnostic diagnostic = new Diagnostic(new Range(new Position(1, 0), new Position(1, 4)), "Problem");
+		Diagnostic otherDiagnostic = new Diagnostic(new Range(new Position(2, 0), new Position(2, 4)), "Other problem");
+		CountDownLatch sending = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		List<PublishDiagnosticsParams> published = Collections.synchronizedList(new ArrayList<>());
+		JavaLanguageClient languageClient = mock(JavaLanguageClient.class);
+		doAnswer(invocation -> {
+			PublishDiagnosticsParams params = (PublishDiagnosticsParams) invocation.getArguments()[0];
+			if (otherUri.equals(params.getUri())) {
+				// the flush is sending the pending diagnostics
+				sending.countDown();
+				release.await(10, TimeUnit.SECONDS);
+			}
+			published.add(params);
+			return null;
+		}).when(languageClient).publishDiagnostics(any(PublishDiagnosticsParams.class));
+		JavaClientConnection connection = new JavaClientConnection(languageClient);
+		try {
+			connection.setDiagnosticsDelay(60000);
+			connection.publishDiagnostics(new PublishDiagnosticsParams(otherUri, Arrays.asList(diagnostic)));
+			connection.publishDiagnostics(new PublishDiagnosticsParams(uri, Arrays.asList(diagnostic)));
+			CompletableFuture<Void> flush = CompletableFuture.runAsync(connection::flushDiagnostics);
+			assertTrue(sending.await(10, TimeUnit.SECONDS));
+			// e.g. the diagnostics of the reconcile of the open document
+			CompletableFuture<Void> reconcile = CompletableFuture.runAsync(() -> connection.publishDiagnostics(new PublishDiagnosticsParams(uri, Arrays.asList(otherDiagnostic)), true));
+			try {
+				reconcile.get(200, TimeUnit.MILLISECONDS);
+				fail("The diagnostics were sent during the flush");
+			} catch (TimeoutException e) {
+				// waits for the flush
+			}
+			release.countDown();
+			flush.get(10, TimeUnit.SECONDS);
+			reconcile.get(10, TimeUnit.SECONDS);
+			assertEquals(3, published.size());
+			PublishDiagnosticsParams last = published.get(2);
+			assertEquals(uri, last.getUri());
+			assertEquals(Arrays.asList(otherDiagnostic), last.getDiagnostics());
+		} finally {
+			release.countDown();
+			connection.disconnect();
+		}
+	}
+
 	@Test
 	public void testMultipleLineRange() throws Exception {
 		IJavaProject javaProject = newEmptyProject();
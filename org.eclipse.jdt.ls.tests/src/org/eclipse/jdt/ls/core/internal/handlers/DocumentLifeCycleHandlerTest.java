@@ -13,6 +13,7 @@ package org.eclipse.jdt.ls.core.internal.handlers;
 import static org.eclipse.jdt.ls.core.internal.Lsp4jAssertions.assertRange;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
@@ -24,14 +25,24 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.io.FileUtils;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
@@ -294,6 +305,106 @@ public class DocumentLifeCycleHandlerTest extends AbstractProjectsManagerBasedTe
 		assertNewASTsCreated(0);
 	}
 
+	@Test
+	public void testChangeDocumentDuringWorkspaceOperation() throws Exception {
+		IJavaProject javaProject = newEmptyProject();
+		IPackageFragmentRoot sourceFolder = javaProject.getPackageFragmentRoot(javaProject.getProject().getFolder("src"));
+		IPackageFragment pack1 = sourceFolder.createPackageFragment("test1", false, null);
+		StringBuilder buf = new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class E123 {\n");
+		buf.append("}\n");
+		ICompilationUnit cu1 = pack1.createCompilationUnit("E123.java", buf.toString(), false, null);
+		openDocument(cu1, cu1.getSource(), 1);
+		assertNewProblemReported(new ExpectedProblemReport(cu1, 0));
+
+		lifeCycleHandler = new DocumentLifeCycleHandler(javaClient, preferenceManager, projectsManager, true);
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		// e.g. a build
+		Job workspaceJob = new Job("Workspace operation") {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				running.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					return Status.CANCEL_STATUS;
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		workspaceJob.setRule(ResourcesPlugin.getWorkspace().getRoot());
+		workspaceJob.schedule();
+		try {
+			assertTrue(running.await(10, TimeUnit.SECONDS));
+			buf = new StringBuilder();
+			buf.append("package test1;\n");
+			buf.append("public class E123 {\n");
+			buf.append("  X x;\n");
+			buf.append("}\n");
+			String content = buf.toString();
+			CompletableFuture<Void> change = CompletableFuture.runAsync(() -> {
+				try {
+					changeDocumentFull(cu1, content, 2);
+				} catch (JavaModelException e) {
+					throw new IllegalStateException(e);
+				}
+			});
+			// the buffer is changed without waiting for the workspace
+			change.get(10, TimeUnit.SECONDS);
+			assertEquals(content, cu1.getBuffer().getContents());
+		} finally {
+			release.countDown();
+		}
+		workspaceJob.join();
+		Job.getJobManager().join(DocumentLifeCycleHandler.DOCUMENT_LIFE_CYCLE_JOBS, monitor);
+		assertNewProblemReported(new ExpectedProblemReport(cu1, 1));
+	}
+
+	@Test
+	public void testOpenCloseDocumentDuringWorkspaceOperation() throws Exception {
+		IJavaProject javaProject = newEmptyProject();
+		IPackageFragmentRoot sourceFolder = javaProject.getPackageFragmentRoot(javaProject.getProject().getFolder("src"));
+		IPackageFragment pack1 = sourceFolder.createPackageFragment("test1", false, null);
+		StringBuilder buf = new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class E123 {\n");
+		buf.append("}\n");
+		String content = buf.toString();
+		ICompilationUnit cu1 = pack1.createCompilationUnit("E123.java", content, false, null);
+
+		lifeCycleHandler = new DocumentLifeCycleHandler(javaClient, preferenceManager, projectsManager, true);
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		// e.g. a Maven update
+		Job workspaceJob = new Job("Workspace operation") {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				running.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					return Status.CANCEL_STATUS;
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		workspaceJob.setRule(ResourcesPlugin.getWorkspace().getRoot());
+		workspaceJob.schedule();
+		try {
+			assertTrue(running.await(10, TimeUnit.SECONDS));
+			// the working copy is opened and closed without waiting for the workspace
+			CompletableFuture.runAsync(() -> openDocument(cu1, content, 1)).get(10, TimeUnit.SECONDS);
+			assertEquals(true, cu1.isWorkingCopy());
+			CompletableFuture.runAsync(() -> closeDocument(cu1)).get(10, TimeUnit.SECONDS);
+			assertEquals(false, cu1.isWorkingCopy());
+		} finally {
+			release.countDown();
+		}
+		workspaceJob.join();
+	}
+
 	@Test
 	public void testIncrementalChangeDocument() throws Exception {
 		IJavaProject javaProject = newEmptyProject();
@@ -395,7 +506,8 @@ public class DocumentLifeCycleHandlerTest extends AbstractProjectsManagerBasedTe
 		assertEquals(false, cu1.hasUnsavedChanges());
 		assertEquals(true, cu2.isWorkingCopy());
 		assertEquals(false, cu2.hasUnsavedChanges());
-		assertNewProblemReported(new ExpectedProblemReport(cu2, 1), new ExpectedProblemReport(cu1, 0));
+		// the diagnostics of cu2 are unchanged, so not published again
+		assertNewProblemReported(new ExpectedProblemReport(cu1, 0));
 		assertEquals(1, getCacheSize());
 		assertNewASTsCreated(2);
 
@@ -446,6 +558,151 @@ public class DocumentLifeCycleHandlerTest extends AbstractProjectsManagerBasedTe
 		assertNewASTsCreated(0);
 	}
 
+	@Test
+	public void testValidateOnlyDependentWorkingCopies() throws Exception {
+		IJavaProject javaProject = newEmptyProject();
+		IPackageFragmentRoot sourceFolder = javaProject.getPackageFragmentRoot(javaProject.getProject().getFolder("src"));
+		IPackageFragment pack1 = sourceFolder.createPackageFragment("test1", false, null);
+
+		StringBuilder buf = new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class F123 {\n");
+		buf.append("  public static void foo() {}\n");
+		buf.append("}\n");
+		ICompilationUnit cu1 = pack1.createCompilationUnit("F123.java", buf.toString(), false, null);
+
+		buf = new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class F456 {\n");
+		buf.append("  { F123.foo(); }\n");
+		buf.append("}\n");
+		ICompilationUnit cu2 = pack1.createCompilationUnit("F456.java", buf.toString(), false, null);
+
+		buf = new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class F789 {\n");
+		buf.append("}\n");
+		ICompilationUnit cu3 = pack1.createCompilationUnit("F789.java", buf.toString(), false, null);
+
+		openDocument(cu1, cu1.getSource(), 1);
+		openDocument(cu2, cu2.getSource(), 1);
+		openDocument(cu3, cu3.getSource(), 1);
+		getClientRequests("publishDiagnostics").clear();
+
+		// body change: only the changed unit is validated
+		buf = new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class F123 {\n");
+		buf.append("  public static void foo() { int i = 0; }\n");
+		buf.append("}\n");
+		changeDocumentFull(cu1, buf.toString(), 2);
+		assertNewProblemReported(new ExpectedProblemReport(cu1, 0));
+
+		// API change: the dependent unit is validated as well
+		buf = new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class F123 {\n");
+		buf.append("  public static void bar() {}\n");
+		buf.append("}\n");
+		changeDocumentFull(cu1, buf.toString(), 3);
+		List<PublishDiagnosticsParams> diags = getClientRequests("publishDiagnostics");
+		List<String> uris = new ArrayList<>();
+		for (PublishDiagnosticsParams diag : diags) {
+			uris.add(diag.getUri());
+		}
+		assertEquals(2, uris.size());
+		assertTrue(uris.contains(JDTUtils.toURI(cu1)));
+		assertTrue(uris.contains(JDTUtils.toURI(cu2)));
+		diags.clear();
+	}
+
+	@Test
+	public void testValidateDependentsOfCancelledValidation() throws Exception {
+		IJavaProject javaProject = newEmptyProject();
+		IPackageFragmentRoot sourceFolder = javaProject.getPackageFragmentRoot(javaProject.getProject().getFolder("src"));
+		IPackageFragment pack1 = sourceFolder.createPackageFragment("test1", false, null);
+		StringBuilder buf = new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class G123 {\n");
+		buf.append("  public static void foo() {}\n");
+		buf.append("}\n");
+		ICompilationUnit cu1 = pack1.createCompilationUnit("G123.java", buf.toString(), false, null);
+
+		// the dependent unit is in another project, whose rule is held below
+		IProject otherProject = ResourcesPlugin.getWorkspace().getRoot().getProject("other");
+		projectsManager.createJavaProject(otherProject, new org.eclipse.core.runtime.Path(getWorkingProjectDirectory().getAbsolutePath()).append("other"), "src", "bin", monitor);
+		IJavaProject otherJavaProject = JavaCore.create(otherProject);
+		IClasspathEntry[] rawClasspath = otherJavaProject.getRawClasspath();
+		IClasspathEntry[] newClasspath = Arrays.copyOf(rawClasspath, rawClasspath.length + 1);
+		newClasspath[rawClasspath.length] = JavaCore.newProjectEntry(javaProject.getPath());
+		otherJavaProject.setRawClasspath(newClasspath, monitor);
+		waitForBackgroundJobs();
+		IPackageFragment pack2 = otherJavaProject.getPackageFragmentRoot(otherProject.getFolder("src")).createPackageFragment("test2", false, null);
+		buf = new StringBuilder();
+		buf.append("package test2;\n");
+		buf.append("public class G456 {\n");
+		buf.append("  { test1.G123.foo(); }\n");
+		buf.append("}\n");
+		ICompilationUnit cu2 = pack2.createCompilationUnit("G456.java", buf.toString(), false, null);
+
+		lifeCycleHandler = new DocumentLifeCycleHandler(javaClient, preferenceManager, projectsManager, true);
+		openDocument(cu1, cu1.getSource(), 1);
+		openDocument(cu2, cu2.getSource(), 1);
+		Job.getJobManager().join(DocumentLifeCycleHandler.DOCUMENT_LIFE_CYCLE_JOBS, monitor);
+		getClientRequests("publishDiagnostics").clear();
+
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Job projectJob = new Job("Project operation") {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				running.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					return Status.CANCEL_STATUS;
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		projectJob.setRule(otherProject);
+		projectJob.schedule();
+		CountDownLatch reconciled = new CountDownLatch(1);
+		IElementChangedListener listener = event -> reconciled.countDown();
+		JavaCore.addElementChangedListener(listener, ElementChangedEvent.POST_RECONCILE);
+		try {
+			assertTrue(running.await(10, TimeUnit.SECONDS));
+			// API change: reconciled, then the validation of the dependent unit waits for its project
+			buf = new StringBuilder();
+			buf.append("package test1;\n");
+			buf.append("public class G123 {\n");
+			buf.append("  public static void bar() {}\n");
+			buf.append("}\n");
+			changeDocumentFull(cu1, buf.toString(), 2);
+			assertTrue(reconciled.await(10, TimeUnit.SECONDS));
+			// body change: cancels the waiting validation
+			buf = new StringBuilder();
+			buf.append("package test1;\n");
+			buf.append("public class G123 {\n");
+			buf.append("  public static void bar() { int i = 0; }\n");
+			buf.append("}\n");
+			changeDocumentFull(cu1, buf.toString(), 3);
+		} finally {
+			JavaCore.removeElementChangedListener(listener);
+			release.countDown();
+		}
+		projectJob.join();
+		Job.getJobManager().join(DocumentLifeCycleHandler.DOCUMENT_LIFE_CYCLE_JOBS, monitor);
+		List<PublishDiagnosticsParams> diags = getClientRequests("publishDiagnostics");
+		List<String> uris = new ArrayList<>();
+		for (PublishDiagnosticsParams diag : diags) {
+			uris.add(diag.getUri());
+		}
+		// the dependent unit is validated by the next run, although its own change isn't an API change
+		assertTrue(uris.contains(JDTUtils.toURI(cu2)));
+		diags.clear();
+	}
+
 	@Test
 	public void testDidOpenStandaloneFile() throws Exception {
 		IJavaProject javaProject = newDefaultProject();
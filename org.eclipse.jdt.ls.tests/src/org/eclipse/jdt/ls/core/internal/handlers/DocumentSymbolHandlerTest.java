@@ -12,6 +12,9 @@ package org.eclipse.jdt.ls.core.internal.handlers;
 
 import static java.util.stream.Collectors.toList;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
@@ -27,8 +30,14 @@ import java.util.stream.Stream;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.ls.core.internal.ClassFileUtil;
+import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
 import org.eclipse.jdt.ls.core.internal.managers.AbstractProjectsManagerBasedTest;
 import org.eclipse.lsp4j.DocumentSymbol;
@@ -156,6 +165,44 @@ public class DocumentSymbolHandlerTest extends AbstractProjectsManagerBasedTest
 		assertHasHierarchicalSymbol("add(int...) : int", "bar", SymbolKind.Method, symbols);
 	}
 
+	@Test
+	public void testCachedSymbols() throws Exception {
+		String uri = ClassFileUtil.getURI(project, "org.sample.Bar");
+		DocumentSymbolParams params = new DocumentSymbolParams();
+		params.setTextDocument(new TextDocumentIdentifier(uri));
+		DocumentSymbolHandler handler = new DocumentSymbolHandler(true);
+		List<Either<SymbolInformation, DocumentSymbol>> symbols = handler.documentSymbol(params, monitor);
+		assertSame(symbols, handler.documentSymbol(params, monitor));
+
+		ICompilationUnit cu = JDTUtils.resolveCompilationUnit(uri);
+		cu.becomeWorkingCopy(monitor);
+		try {
+			IBuffer buffer = cu.getBuffer();
+			int offset = buffer.getContents().lastIndexOf('}');
+			buffer.replace(offset, 0, "\tvoid baz() {}\n");
+			cu.reconcile(ICompilationUnit.NO_AST, false, null, monitor);
+			List<Either<SymbolInformation, DocumentSymbol>> newSymbols = handler.documentSymbol(params, monitor);
+			assertNotSame(symbols, newSymbols);
+			List<DocumentSymbol> documentSymbols = newSymbols.stream().map(Either::getRight).collect(toList());
+			assertHasHierarchicalSymbol("baz() : void", "Bar", SymbolKind.Method, documentSymbols);
+		} finally {
+			cu.discardWorkingCopy();
+		}
+	}
+
+	@Test
+	public void testCachedSymbolsBounded() throws Exception {
+		IJavaElement[] classFiles = JavaCore.create(project).findType("java.util.List").getPackageFragment().getChildren();
+		assertTrue(classFiles.length > DocumentSymbolCache.MAX_ENTRIES);
+		List<Either<SymbolInformation, DocumentSymbol>> symbols = Collections.emptyList();
+		for (int i = 0; i <= DocumentSymbolCache.MAX_ENTRIES; i++) {
+			DocumentSymbolCache.put((ITypeRoot) classFiles[i], false, symbols, DocumentSymbolCache.getGeneration());
+		}
+		assertNull(DocumentSymbolCache.get((ITypeRoot) classFiles[0], false));
+		assertNotNull(DocumentSymbolCache.get((ITypeRoot) classFiles[1], false));
+		assertNotNull(DocumentSymbolCache.get((ITypeRoot) classFiles[DocumentSymbolCache.MAX_ENTRIES], false));
+	}
+
 	private static List<? extends DocumentSymbol> internalGetHierarchicalSymbols(IProject project, IProgressMonitor monitor, String className)
 			throws JavaModelException, UnsupportedEncodingException, InterruptedException, ExecutionException {
 		String uri = ClassFileUtil.getURI(project, className);
@@ -12,10 +12,14 @@ package org.eclipse.jdt.ls.core.internal.handlers;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 import java.io.File;
 import java.net.URL;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.core.runtime.FileLocator;
 import org.eclipse.core.runtime.Platform;
@@ -23,6 +27,7 @@ import org.eclipse.core.runtime.URIUtil;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.formatter.CodeFormatter;
 import org.eclipse.jdt.core.formatter.DefaultCodeFormatterConstants;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerTestPlugin;
@@ -214,6 +219,57 @@ public class FormatterHandlerTest extends AbstractCompilationUnitBasedTest {
 		assertEquals(expectedText, newText);
 	}
 
+	@Test
+	public void testRangeFormattingOfNestedMember() throws Exception {
+		ICompilationUnit unit = getWorkingCopy("src/org/sample/Baz.java",
+		//@formatter:off
+			"package org.sample;\n" +
+			"public class Baz {\n"+
+			"    class Inner {\n"+
+			"void foo(){\n" +
+			"  int  i;\n" +
+			"}\n"+
+			"    }\n"+
+			"  void bar(){}\n"+
+			"}\n"
+		//@formatter:on
+		);
+
+		String uri = JDTUtils.toURI(unit);
+		TextDocumentIdentifier textDocument = new TextDocumentIdentifier(uri);
+
+		Range range = new Range(new Position(3, 0), new Position(5, 1));// range around foo()
+		DocumentRangeFormattingParams params = new DocumentRangeFormattingParams(range);
+		params.setTextDocument(textDocument);
+		params.setOptions(new FormattingOptions(4, true));
+
+		List<? extends TextEdit> edits = server.rangeFormatting(params).get();
+		//@formatter:off
+		String expectedText =
+			"package org.sample;\n" +
+			"public class Baz {\n"+
+			"    class Inner {\n"+
+			"        void foo() {\n" +
+			"            int i;\n" +
+			"        }\n"+
+			"    }\n"+
+			"  void bar(){}\n"+
+			"}\n";
+		//@formatter:on
+		String newText = TextEditUtil.apply(unit, edits);
+		assertEquals(expectedText, newText);
+	}
+
+	@Test
+	public void testCodeFormatterCache() throws Exception {
+		Map<String, String> options = javaProject.getOptions(true);
+		CodeFormatter formatter = FormatterManager.getCodeFormatter(options);
+		assertSame(formatter, FormatterManager.getCodeFormatter(new HashMap<>(options)));
+
+		options.put(DefaultCodeFormatterConstants.FORMATTER_TAB_SIZE, "7");
+		assertNotSame(formatter, FormatterManager.getCodeFormatter(options));
+	}
+
 	@Test
 	public void testDocumentFormattingWithCustomOption() throws Exception {
 		ICompilationUnit unit = getWorkingCopy("src/org/sample/Baz.java",
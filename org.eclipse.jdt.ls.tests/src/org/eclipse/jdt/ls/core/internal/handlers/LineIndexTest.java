@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.StringReader;
+
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.internal.core.Buffer;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.junit.Test;
+
+public class LineIndexTest {
+
+	@Test
+	public void testSameAsDocument() throws Exception {
+		String[] texts = { "", "a", "a\n", "\n\n", "a\r\nb\rc\nd", "a\r\n\r\nb\r\n", "\r", "class A {\n\tvoid foo() {}\n}" };
+		for (String text : texts) {
+			Document document = new Document(text);
+			LineIndex index = new LineIndex(text.toCharArray());
+			assertEquals(text, document.getNumberOfLines(), index.getNumberOfLines());
+			for (int offset = 0; offset <= text.length(); offset++) {
+				assertEquals(text, document.getLineOfOffset(offset), index.getLineOfOffset(offset));
+			}
+			for (int line = 0; line <= document.getNumberOfLines(); line++) {
+				Integer expected = null;
+				try {
+					expected = document.getLineOffset(line);
+				} catch (BadLocationException e) {
+					// expected below as well
+				}
+				try {
+					int actual = index.getLineOffset(line);
+					assertEquals(text + " line " + line, expected, Integer.valueOf(actual));
+				} catch (BadLocationException e) {
+					assertEquals(text + " line " + line, null, expected);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testRead() throws Exception {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			text.append(i % 3 == 0 ? "line\r\n" : i % 3 == 1 ? "line\n" : "\r");
+		}
+		Document document = new Document(text.toString());
+		LineIndex index = LineIndex.read(new StringReader(text.toString()));
+		assertEquals(document.getNumberOfLines(), index.getNumberOfLines());
+		for (int line = 0; line < document.getNumberOfLines(); line++) {
+			assertEquals(document.getLineOffset(line), index.getLineOffset(line));
+		}
+		assertEquals(document.getLineOfOffset(text.length()), index.getLineOfOffset(text.length()));
+	}
+
+	@Test
+	public void testInvalidOffset() {
+		LineIndex index = new LineIndex("a\nb".toCharArray());
+		try {
+			index.getLineOfOffset(4);
+			fail("offset out of the text");
+		} catch (BadLocationException expected) {
+		}
+	}
+
+	@Test
+	public void testLinePastEnd() {
+		LineIndex index = new LineIndex("a".toCharArray());
+		try {
+			index.getLineOffset(1);
+			fail("line past the end of the text");
+		} catch (BadLocationException expected) {
+		}
+		IBuffer buffer = new Buffer(null, null, false) {
+		};
+		buffer.setContents("a");
+		assertEquals(-1, JsonRpcHelpers.toOffset(buffer, 1, 0));
+		assertEquals(1, JsonRpcHelpers.toOffset(buffer, 0, 1));
+	}
+
+	@Test
+	public void testBufferChanges() {
+		IBuffer buffer = new Buffer(null, null, false) {
+		};
+		buffer.setContents("a\nb");
+		LineIndex index = LineIndex.get(buffer);
+		assertSame(index, LineIndex.get(buffer));
+		int[] position = JsonRpcHelpers.toLine(buffer, 2);
+		assertEquals(1, position[0]);
+		assertEquals(0, position[1]);
+
+		buffer.replace(0, 0, "\n");
+		assertNotSame(index, LineIndex.get(buffer));
+		position = JsonRpcHelpers.toLine(buffer, 2);
+		assertEquals(1, position[0]);
+		assertEquals(1, position[1]);
+		assertEquals(3, JsonRpcHelpers.toOffset(buffer, 2, 0));
+	}
+}
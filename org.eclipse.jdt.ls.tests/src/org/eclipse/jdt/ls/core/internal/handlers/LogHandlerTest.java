@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.lsp4j.MessageType;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class LogHandlerTest {
+
+	@Test
+	public void testBatchedMessages() throws Exception {
+		JavaClientConnection connection = mock(JavaClientConnection.class);
+		LogHandler handler = new LogHandler();
+		handler.install(connection);
+		try {
+			for (int i = 0; i < 10; i++) {
+				assertTrue(handler.enqueue(new Status(IStatus.ERROR, JavaLanguageServerPlugin.PLUGIN_ID, "error " + i)));
+			}
+			assertFalse(handler.enqueue(new Status(IStatus.INFO, JavaLanguageServerPlugin.PLUGIN_ID, "info")));
+		} finally {
+			handler.uninstall();
+		}
+		ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+		verify(connection, atLeastOnce()).logMessage(eq(MessageType.Error), captor.capture());
+		List<String> messages = captor.getAllValues();
+		String logged = String.join("\n", messages);
+		for (int i = 0; i < 10; i++) {
+			assertTrue(logged, logged.contains("error " + i));
+		}
+		assertFalse(logged, logged.contains("info"));
+		verify(connection, never()).logMessage(eq(MessageType.Info), anyString());
+	}
+
+	@Test
+	public void testDroppedMessages() throws Exception {
+		JavaClientConnection connection = mock(JavaClientConnection.class);
+		LogHandler handler = new LogHandler(null, 2);
+		assertTrue(handler.enqueue(new Status(IStatus.ERROR, JavaLanguageServerPlugin.PLUGIN_ID, "error 1")));
+		assertTrue(handler.enqueue(new Status(IStatus.ERROR, JavaLanguageServerPlugin.PLUGIN_ID, "error 2")));
+		assertFalse(handler.enqueue(new Status(IStatus.ERROR, JavaLanguageServerPlugin.PLUGIN_ID, "error 3")));
+		assertEquals(1, handler.getDroppedMessageCount());
+
+		handler.install(connection);
+		handler.uninstall();
+		ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+		verify(connection).logMessage(eq(MessageType.Warning), captor.capture());
+		assertTrue(captor.getValue(), captor.getValue().endsWith("1 log messages dropped"));
+		verify(connection).logMessage(eq(MessageType.Error), captor.capture());
+		assertTrue(captor.getValue(), captor.getValue().contains("error 1") && captor.getValue().contains("error 2"));
+	}
+}
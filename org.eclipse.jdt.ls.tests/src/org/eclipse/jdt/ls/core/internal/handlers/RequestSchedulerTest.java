@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.jdt.ls.core.internal.handlers.RequestScheduler.LatencyClass;
+import org.junit.After;
+import org.junit.Test;
+
+public class RequestSchedulerTest {
+
+	private static final String URI = "file:///Foo.java";
+
+	private RequestScheduler scheduler = new RequestScheduler();
+
+	@After
+	public void tearDown() {
+		scheduler.shutdown();
+	}
+
+	@Test
+	public void testCancelOnChange() throws Exception {
+		CountDownLatch running = new CountDownLatch(1);
+		CompletableFuture<Boolean> request = scheduler.computeAsync(LatencyClass.INTERACTIVE, URI, cc -> {
+			running.countDown();
+			while (true) {
+				cc.checkCanceled();
+			}
+		});
+		assertTrue(running.await(10, TimeUnit.SECONDS));
+		CompletableFuture<String> other = scheduler.computeAsync(LatencyClass.INTERACTIVE, "file:///Bar.java", cc -> "bar");
+		scheduler.cancel(URI);
+		assertTrue(request.isCancelled());
+		assertEquals("bar", other.get(10, TimeUnit.SECONDS));
+		assertEquals(1, scheduler.getCancelledCount());
+	}
+
+	@Test
+	public void testQueuedRequestCancelledOnChange() throws Exception {
+		// keep the background threads busy, so that the next requests are queued
+		int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+		CountDownLatch release = new CountDownLatch(1);
+		for (int i = 0; i < threads; i++) {
+			scheduler.computeAsync(LatencyClass.BACKGROUND, null, cc -> {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					// shutdown
+				}
+				return null;
+			});
+		}
+		AtomicBoolean computed = new AtomicBoolean();
+		CompletableFuture<String> stale = scheduler.computeAsync(LatencyClass.BACKGROUND, URI, cc -> {
+			computed.set(true);
+			return "stale";
+		});
+		assertTrue(scheduler.getMaxQueueDepth(LatencyClass.BACKGROUND) >= 1);
+		scheduler.cancel(URI);
+		CompletableFuture<String> request = scheduler.computeAsync(LatencyClass.BACKGROUND, URI, cc -> "fresh");
+		assertTrue(stale.isCancelled());
+		release.countDown();
+		assertEquals("fresh", request.get(10, TimeUnit.SECONDS));
+		assertFalse(computed.get());
+		assertEquals(0, scheduler.getQueueDepth(LatencyClass.BACKGROUND));
+	}
+
+	@Test
+	public void testConcurrentRequestsNotCancelled() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<String> first = scheduler.computeAsync(LatencyClass.INTERACTIVE, URI, cc -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				// shutdown
+			}
+			return "first";
+		});
+		CompletableFuture<String> second = scheduler.computeAsync(LatencyClass.INTERACTIVE, URI, cc -> "second");
+		assertFalse(first.isCancelled());
+		release.countDown();
+		assertEquals("first", first.get(10, TimeUnit.SECONDS));
+		assertEquals("second", second.get(10, TimeUnit.SECONDS));
+		assertEquals(0, scheduler.getCancelledCount());
+	}
+}
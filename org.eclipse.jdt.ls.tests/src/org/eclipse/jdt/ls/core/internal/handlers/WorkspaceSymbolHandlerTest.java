@@ -118,6 +118,23 @@ public class WorkspaceSymbolHandlerTest extends AbstractProjectsManagerBasedTest
 		assertTrue("Unexpected uri "+ location.getUri(), location.getUri().endsWith("Foo.java"));
 	}
 
+	@Test
+	public void testSearchMaxResults() {
+		preferences.setSymbolsMaxResults(3);
+		List<SymbolInformation> results = handler.search("Array", monitor);
+		assertEquals("Unexpected results", 3, results.size());
+		// exact matches first
+		assertEquals("Array", results.get(0).getName());
+		for (SymbolInformation symbol : results) {
+			assertTrue(symbol.getName().startsWith("Array"));
+			assertNotNull("Location is missing", symbol.getLocation());
+		}
+
+		results = handler.search("hashmap", monitor);
+		assertEquals("Unexpected results", 3, results.size());
+		assertEquals("HashMap", results.get(0).getName());
+	}
+
 	@Test
 	public void testCamelCaseSearch() {
 		List<SymbolInformation> results = handler.search("NPE", monitor);
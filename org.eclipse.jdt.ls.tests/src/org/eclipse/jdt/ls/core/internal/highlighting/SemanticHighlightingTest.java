@@ -758,6 +758,38 @@ public class SemanticHighlightingTest extends AbstractProjectsManagerBasedTest {
 		assertEquals(1, tokenCFieldA.length);
 	}
 
+	@Test
+	public void testDidChange_multipleEventsNotifiedOnce() throws Exception {
+		//@formatter:off
+		String content = "package _package;\n" +
+				"\n" +
+				"public class A {\n" +
+				"}\n";
+		//@formatter:on
+
+		int version = 1;
+		IJavaProject project = newEmptyProject();
+		IPackageFragmentRoot src = project.getPackageFragmentRoot(project.getProject().getFolder("src"));
+		IPackageFragment _package = src.createPackageFragment("_package", false, null);
+		ICompilationUnit unit = _package.createCompilationUnit("A.java", content, false, null);
+		openDocument(unit, unit.getSource(), version);
+		assertEquals(1, javaClient.params.size());
+
+		javaClient.params.clear();
+		//@formatter:off
+		changeDocument(unit, ++version,
+				new TextDocumentContentChangeEvent(new Range(new Position(4, 0), new Position(4, 0)), 0, "class C { }\n"),
+				new TextDocumentContentChangeEvent(new Range(new Position(5, 0), new Position(5, 0)), 0, "class D { }\n")
+		);
+		//@formatter:on
+		assertEquals(1, javaClient.params.size());
+		SemanticHighlightingParams params = javaClient.params.get(0);
+		assertEquals(version, params.getTextDocument().getVersion().intValue());
+		assertEquals(2, params.getLines().size());
+		assertEquals(4, params.getLines().get(0).getLine());
+		assertEquals(5, params.getLines().get(1).getLine());
+	}
+
 	protected void openDocument(ICompilationUnit unit, String content, int version) {
 		DidOpenTextDocumentParams openParms = new DidOpenTextDocumentParams();
 		TextDocumentItem textDocument = new TextDocumentItem();
@@ -11,6 +11,8 @@
 package org.eclipse.jdt.ls.core.internal.managers;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.nio.file.Files;
@@ -60,6 +62,29 @@ public class BasicFileDetectorTest {
 				.collect(Collectors.toList());
 	}
 
+	@Test
+	public void testScanSeveralDetectors() throws Exception {
+		BasicFileDetector missing = new BasicFileDetector(Paths.get("projects/buildfiles"), "missing");
+		BasicFileDetector nested = new BasicFileDetector(Paths.get("projects/buildfiles"), "buildfile");
+		BasicFileDetector atRoot = new BasicFileDetector(Paths.get("projects/buildfiles"), "buildfile")
+				.includeNested(false);
+		BasicFileDetector.scan(Arrays.asList(missing, nested, atRoot), null);
+
+		assertTrue(missing.isScanned());
+		assertEquals(0, missing.getDirectories().size());
+		assertTrue(nested.isScanned());
+		assertEquals("Found " + nested.getDirectories(), 6, nested.getDirectories().size());
+		// the results of a detector following one which found directories are not used
+		assertFalse(atRoot.isScanned());
+		assertEquals(0, atRoot.getDirectories().size());
+
+		Collection<Path> dirs = atRoot.scan(null);
+		assertTrue(atRoot.isScanned());
+		assertEquals("Found " + dirs, 1, dirs.size());
+		// scanned detectors are not scanned again
+		assertEquals(dirs, atRoot.scan(null));
+	}
+
 	@Test
 	public void testScanExcludingNestedBuildFilesDepth3() throws Exception {
 		BasicFileDetector detector = new BasicFileDetector(Paths.get("projects/buildfiles/parent"), "buildfile")
@@ -17,9 +17,13 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.io.File;
 import java.net.URI;
+import java.nio.file.Files;
 import java.util.Arrays;
 
+import org.apache.commons.io.FileUtils;
+
 import org.eclipse.core.resources.IProject;
 import org.eclipse.jdt.core.IClassFile;
 import org.eclipse.jdt.ls.core.internal.ClassFileUtil;
@@ -243,6 +247,33 @@ public class ContentProviderManagerTest extends AbstractProjectsManagerBasedTest
 		assertEquals(FakeContentProvider.returnValue, provider.getContent(sourcelessURI, monitor));
 	}
 
+	@Test
+	public void testDecompiledSourceCache() throws Exception {
+		File stateLocation = Files.createTempDirectory("decompiled-sources").toFile();
+		try {
+			when(preferences.getPreferredContentProviderIds()).thenReturn(Arrays.asList("fakeContentProvider"));
+			provider = new ContentProviderManager(preferenceManager, new DecompiledSourceCache(stateLocation));
+			// the failures and the disassembled placeholders are not cached
+			FakeContentProvider.returnValue = new RuntimeException("decompiler failure");
+			String result = provider.getSource(sourcelessClassFile, monitor);
+			assertTrue("disassembler header is missing from " + result, result.startsWith(DisassemblerContentProvider.DISASSEMBLED_HEADER));
+			FakeContentProvider.returnValue = "some value";
+			assertEquals("some value", provider.getSource(sourcelessClassFile, monitor));
+
+			FakeContentProvider.returnValue = "something else";
+			assertEquals("some value", provider.getSource(sourcelessClassFile, monitor));
+			// the contents survive restarts
+			provider = new ContentProviderManager(preferenceManager, new DecompiledSourceCache(stateLocation));
+			assertEquals("some value", provider.getSource(sourcelessClassFile, monitor));
+
+			// but not changes of the preferred content providers
+			when(preferences.getPreferredContentProviderIds()).thenReturn(Arrays.asList("fakeContentProvider", "disassemblerContentProvider"));
+			assertEquals("something else", provider.getSource(sourcelessClassFile, monitor));
+		} finally {
+			FileUtils.deleteDirectory(stateLocation);
+		}
+	}
+
 	private void expectLoggedError(String expected) {
 		assertTrue("expected error " + expected, logListener.getErrors().stream().filter(e -> e.contains(expected)).findAny().isPresent());
 	}
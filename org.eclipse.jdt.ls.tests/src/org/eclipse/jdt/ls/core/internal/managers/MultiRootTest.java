@@ -11,18 +11,41 @@
 package org.eclipse.jdt.ls.core.internal.managers;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.ls.core.internal.IConstants;
+import org.eclipse.jdt.ls.core.internal.JDTUtils;
+import org.eclipse.jdt.ls.core.internal.ProjectUtils;
+import org.eclipse.jdt.ls.core.internal.ResourceUtils;
 import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
+import org.eclipse.jdt.ls.core.internal.handlers.DocumentSymbolHandler;
+import org.eclipse.lsp4j.DocumentSymbol;
+import org.eclipse.lsp4j.DocumentSymbolParams;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.junit.Test;
 
 
@@ -55,6 +78,19 @@ public class MultiRootTest extends AbstractProjectsManagerBasedTest {
 		}
 	}
 
+	@Test
+	public void testInitializeWithMixedFolders() throws Exception {
+		// the folders are scanned concurrently, each one must still get its own importer
+		Collection<String> folders = Arrays.asList(GradleFolder, EclipseFolder, MavenMultiFolder, MavenFolder);
+		importProjects(folders);
+		assertEquals(6, WorkspaceHelper.getAllProjects().size()); // includes the default project
+		assertTrue(ProjectUtils.isGradleProject(WorkspaceHelper.getProject("simple-gradle")));
+		assertTrue(ProjectUtils.isMavenProject(WorkspaceHelper.getProject("salut")));
+		assertTrue(ProjectUtils.isMavenProject(WorkspaceHelper.getProject("project1")));
+		assertTrue(ProjectUtils.isMavenProject(WorkspaceHelper.getProject("project2")));
+		assertNotNull(WorkspaceHelper.getProject("hello"));
+	}
+
 	@Test
 	public void testUpdateMultiFolders() throws Exception {
 		{
@@ -103,6 +139,85 @@ public class MultiRootTest extends AbstractProjectsManagerBasedTest {
 		}
 	}
 
+	@Test
+	public void testStagedImport() throws Exception {
+		File eclipseRoot = copyFiles(EclipseFolder, true);
+		File mavenRoot = copyFiles(MavenFolder, true);
+		File gradleRoot = copyFiles(GradleFolder, true);
+		IPath eclipsePath = Path.fromOSString(eclipseRoot.getAbsolutePath());
+		IPath mavenPath = Path.fromOSString(mavenRoot.getAbsolutePath());
+		IPath gradlePath = Path.fromOSString(gradleRoot.getAbsolutePath());
+		JavaCore.run(monitor -> projectsManager.initializeProjects(Arrays.asList(eclipsePath, mavenPath, gradlePath), Arrays.asList(eclipsePath), monitor), null, monitor);
+		assertNotNull(WorkspaceHelper.getProject("hello"));
+		assertNull(WorkspaceHelper.getProject("salut"));
+		assertNull(WorkspaceHelper.getProject("simple-gradle"));
+
+		// an opened document whose last changes haven't been reconciled yet
+		String uri = ResourceUtils.fixURI(WorkspaceHelper.getProject("hello").getFile("src/org/sample/Foo.java").getRawLocationURI());
+		ICompilationUnit unit = JDTUtils.resolveCompilationUnit(uri);
+		unit.becomeWorkingCopy(monitor);
+		try {
+			unit.getBuffer().append("class Appended {}");
+			assertFalse(unit.isConsistent());
+
+			CountDownLatch running = new CountDownLatch(1);
+			CountDownLatch release = new CountDownLatch(1);
+			AtomicReference<String> firstImported = new AtomicReference<>();
+			projectsManager.documentOpened(new File(gradleRoot, "build.gradle").toURI().toString());
+			Job job;
+			// keeps the import from starting before the listener is added
+			Job.getJobManager().beginRule(ResourcesPlugin.getWorkspace().getRoot(), monitor);
+			try {
+				job = projectsManager.importProjectsInBackground(Arrays.asList(mavenPath, gradlePath));
+				job.addJobChangeListener(new JobChangeAdapter() {
+					@Override
+					public void running(IJobChangeEvent event) {
+						// holds the workspace rule while the document symbols are computed
+						if (running.getCount() > 0) {
+							running.countDown();
+							try {
+								release.await(10, TimeUnit.SECONDS);
+							} catch (InterruptedException e) {
+								// released
+							}
+						}
+					}
+
+					@Override
+					public void done(IJobChangeEvent event) {
+						if (WorkspaceHelper.getProject("simple-gradle") != null) {
+							firstImported.compareAndSet(null, "simple-gradle");
+						}
+						if (WorkspaceHelper.getProject("salut") != null) {
+							firstImported.compareAndSet(null, "salut");
+						}
+					}
+				});
+			} finally {
+				Job.getJobManager().endRule(ResourcesPlugin.getWorkspace().getRoot());
+			}
+			try {
+				assertTrue(running.await(10, TimeUnit.SECONDS));
+				DocumentSymbolParams params = new DocumentSymbolParams(new TextDocumentIdentifier(uri));
+				List<Either<SymbolInformation, DocumentSymbol>> symbols = CompletableFuture.supplyAsync(() -> new DocumentSymbolHandler(true).documentSymbol(params, new NullProgressMonitor())).get(10, TimeUnit.SECONDS);
+				assertFalse(symbols.isEmpty());
+				// the symbols are read from the current model, without reconciling the document
+				assertFalse(unit.isConsistent());
+			} finally {
+				release.countDown();
+			}
+			job.join();
+			Job.getJobManager().join(IConstants.UPDATE_WORKSPACE_FOLDERS_FAMILY, monitor);
+			waitForBackgroundJobs();
+			assertEquals("simple-gradle", firstImported.get());
+			assertEquals(4, WorkspaceHelper.getAllProjects().size()); // includes the default project
+			assertTrue(ProjectUtils.isMavenProject(WorkspaceHelper.getProject("salut")));
+			assertTrue(ProjectUtils.isGradleProject(WorkspaceHelper.getProject("simple-gradle")));
+		} finally {
+			unit.discardWorkingCopy();
+		}
+	}
+
 	private void updateProjects(final Collection<String> added, final Collection<String> removed) throws Exception {
 		final ArrayList<IPath> addedRootPaths = new ArrayList<>();
 		for (String a : added) {
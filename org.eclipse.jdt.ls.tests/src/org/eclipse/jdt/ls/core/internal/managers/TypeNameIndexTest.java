@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.managers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IClassFile;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.ls.core.internal.JDTUtils;
+import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
+import org.eclipse.jdt.ls.core.internal.managers.TypeNameIndex.Match;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TypeNameIndexTest extends AbstractProjectsManagerBasedTest {
+
+	private File stateLocation;
+	private TypeNameIndex index;
+
+	@Before
+	public void setup() throws Exception {
+		importProjects("eclipse/hello");
+		stateLocation = Files.createTempDirectory("type-names").toFile();
+		index = new TypeNameIndex(stateLocation);
+		index.install();
+		waitUntilReady(index);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		index.uninstall();
+		FileUtils.deleteDirectory(stateLocation);
+	}
+
+	@Test
+	public void testSearchSourceTypes() throws Exception {
+		List<Match> matches = index.search("IFoo".toCharArray(), 0, createSearchScope());
+		assertEquals(2, matches.size());
+		Match match = matches.get(0);
+		assertEquals("IFoo", match.getSimpleTypeName());
+		assertEquals("java", match.getTypeContainerName());
+		assertFalse(match.isBinary());
+		IType type = match.getSourceType();
+		assertNotNull(type);
+		assertTrue(type.exists());
+		assertTrue(type.isInterface());
+	}
+
+	@Test
+	public void testSearchBinaryTypes() throws Exception {
+		List<Match> matches = index.search("Array".toCharArray(), 3, createSearchScope());
+		assertEquals(3, matches.size());
+		assertEquals("Array", matches.get(0).getSimpleTypeName());
+		for (Match match : matches) {
+			assertTrue(match.getSimpleTypeName().startsWith("Array"));
+			assertTrue(match.isBinary());
+			assertTrue(match.getClassFile().exists());
+		}
+
+		matches = index.search("NPE".toCharArray(), 0, createSearchScope());
+		assertEquals("NullPointerException", matches.get(0).getSimpleTypeName());
+		assertEquals("java.lang", matches.get(0).getTypeContainerName());
+
+		matches = index.search("Map.Entr*".toCharArray(), 0, createSearchScope());
+		assertTrue(matches.isEmpty());
+		matches = index.search("Entr*".toCharArray(), 0, createSearchScope());
+		assertTrue(matches.stream().anyMatch(m -> "java.util.Map".equals(m.getTypeContainerName()) && m.getClassFile().exists()));
+	}
+
+	@Test
+	public void testIndexChanges() throws Exception {
+		IProject project = WorkspaceHelper.getProject("hello");
+		IFile file = project.getFile("src/java/Qux.java");
+		file.create(new ByteArrayInputStream("package java;\npublic class Qux {\n	public enum QuxKind {}\n}\n".getBytes()), true, monitor);
+		waitUntilReady(index);
+		List<Match> matches = index.search("Qux".toCharArray(), 0, createSearchScope());
+		assertEquals(2, matches.size());
+		assertEquals("Qux", matches.get(0).getSimpleTypeName());
+		assertEquals("QuxKind", matches.get(1).getSimpleTypeName());
+		assertEquals("java.Qux", matches.get(1).getTypeContainerName());
+		assertTrue(matches.get(1).getSourceType().exists());
+
+		file.delete(true, monitor);
+		waitUntilReady(index);
+		assertTrue(index.search("Qux".toCharArray(), 0, createSearchScope()).isEmpty());
+	}
+
+	@Test
+	public void testSearchWorkingCopyTypes() throws Exception {
+		IJavaProject javaProject = JavaCore.create(WorkspaceHelper.getProject("hello"));
+		ICompilationUnit unit = (ICompilationUnit) javaProject.findElement(new Path("java/Bar.java"));
+		unit.becomeWorkingCopy(monitor);
+		try {
+			unit.getBuffer().setContents("package java;\npublic class Bar {\n	class BarUnsaved {}\n}\n");
+			unit.reconcile(ICompilationUnit.NO_AST, false, null, monitor);
+			List<Match> matches = index.search("BarUnsaved".toCharArray(), 0, createSearchScope());
+			assertEquals(1, matches.size());
+			assertEquals("java.Bar", matches.get(0).getTypeContainerName());
+			assertTrue(matches.get(0).getSourceType().exists());
+		} finally {
+			unit.discardWorkingCopy();
+		}
+		assertTrue(index.search("BarUnsaved".toCharArray(), 0, createSearchScope()).isEmpty());
+	}
+
+	@Test
+	public void testSearchJrtTypes() throws Exception {
+		File jrtFs = new File(System.getProperty("java.home"), "lib/jrt-fs.jar");
+		Assume.assumeTrue("A Java 9 or later runtime is required", jrtFs.isFile());
+		IJavaProject javaProject = JavaCore.create(WorkspaceHelper.getProject("hello"));
+		IClasspathEntry[] classpath = javaProject.getRawClasspath();
+		IClasspathEntry[] newClasspath = new IClasspathEntry[classpath.length + 1];
+		System.arraycopy(classpath, 0, newClasspath, 0, classpath.length);
+		newClasspath[classpath.length] = JavaCore.newLibraryEntry(Path.fromOSString(jrtFs.getAbsolutePath()), null, null);
+		javaProject.setRawClasspath(newClasspath, monitor);
+		waitUntilReady(index);
+
+		List<Match> matches = index.search("StringBuilder".toCharArray(), 0, createSearchScope());
+		Match match = matches.stream().filter(m -> m.getPath().contains("jrt-fs.jar")).findFirst().orElse(null);
+		assertNotNull(match);
+		assertEquals("java.lang", match.getTypeContainerName());
+		assertEquals(new Path(jrtFs.getAbsolutePath()).toString() + IJavaSearchScope.JAR_FILE_ENTRY_SEPARATOR + "java.base/java/lang/StringBuilder.class", match.getPath());
+		IClassFile classFile = match.getClassFile();
+		assertTrue(classFile.exists());
+		assertEquals("java.base", classFile.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT).getElementName());
+	}
+
+	@Test
+	public void testPersistence() throws Exception {
+		index.uninstall();
+		assertTrue(new File(stateLocation, ".type-names").isFile());
+
+		index = new TypeNameIndex(stateLocation);
+		index.install();
+		waitUntilReady(index);
+		List<Match> matches = index.search("ArrayList".toCharArray(), 0, createSearchScope());
+		assertTrue(matches.stream().anyMatch(m -> "java.util".equals(m.getTypeContainerName()) && m.getClassFile().exists()));
+	}
+
+	private IJavaSearchScope createSearchScope() {
+		return JDTUtils.createSearchScope(null, preferenceManager);
+	}
+
+	private static void waitUntilReady(TypeNameIndex index) throws InterruptedException {
+		long timeout = System.currentTimeMillis() + 60000;
+		while (!index.isReady() && System.currentTimeMillis() < timeout) {
+			Thread.sleep(50);
+		}
+		assertTrue("The index is not ready", index.isReady());
+	}
+}